@@ -0,0 +1,82 @@
+package org.example.benchmark;
+
+import org.example.model.Role;
+import org.example.model.User;
+import org.example.model.client.ClientOn;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditAllDetails;
+import org.example.model.credit.CreditStatus;
+import org.example.repository.inmemory.InMemoryClientRepository;
+import org.example.repository.inmemory.InMemoryCreditRepository;
+import org.example.repository.inmemory.InMemoryUserRepository;
+import org.example.service.CreditRiskService;
+import org.example.service.CreditService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// @desc CreditService.getCredits (analyst view) end to end minus Mongo: findAll, the batched client/RM name
+// lookups and the CreditAllDetails mapping, against the inmemory profile's repositories. Those copy documents
+// through the Mongo converter like a driver round trip would, so mapping cost is included; network is not.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditMappingBenchmark {
+
+    static final int CLIENTS = 200;
+    static final int RMS = 20;
+
+    @Param({"10", "100", "1000"})
+    private int credits;
+
+    private CreditService creditService;
+
+    @Setup
+    public void setUp() {
+        InMemoryClientRepository clients = new InMemoryClientRepository();
+        InMemoryUserRepository users = new InMemoryUserRepository();
+        InMemoryCreditRepository creditRepository = new InMemoryCreditRepository();
+
+        List<User> rms = users.saveAll(IntStream.range(0, RMS)
+                .mapToObj(i -> User.builder().username("rm" + i).email("rm" + i + "@bank.com")
+                        .role(Role.RELATIONSHIP_MANAGER).build())
+                .toList());
+        List<ClientOn> companies = clients.saveAll(IntStream.range(0, CLIENTS)
+                .mapToObj(i -> ClientOn.builder().companyName("Company " + i)
+                        .rmId(rms.get(i % RMS).getId()).build())
+                .toList());
+        for (int i = 0; i < credits; i++) {
+            creditRepository.save(Credit.builder()
+                    .clientId(companies.get(i % CLIENTS).getId())
+                    .submittedBy(rms.get(i % RMS).getId())
+                    .requestAmount(10_000.0 + i)
+                    .tenureMonths(12)
+                    .purpose("Working Capital")
+                    .status(CreditStatus.values()[i % CreditStatus.values().length])
+                    .remarks("")
+                    .createdAt(Instant.ofEpochSecond(1_700_000_000L + i))
+                    .build());
+        }
+
+        creditService = new CreditService();
+        DirectFieldAccessor fields = new DirectFieldAccessor(creditService);
+        fields.setPropertyValue("creditRepository", creditRepository);
+        fields.setPropertyValue("clientRepository", clients);
+        fields.setPropertyValue("userRepository", users);
+        // @desc a fresh cache per invocation would measure scoring; this one measures the steady state
+        fields.setPropertyValue("creditRiskService", new CreditRiskService(Duration.ofMinutes(10), 10_000));
+    }
+
+    @Benchmark
+    public List<CreditAllDetails> getCreditsAnalyst() {
+        return creditService.getCredits("analyst-1", true);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.benchmark;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.example.kafka.events.CreditEvent;
+import org.example.kafka.serialization.EventDeserializer;
+import org.example.kafka.serialization.EventSerializer;
+import org.example.model.credit.CreditStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// @desc Kafka value encoding: legacy Spring JSON (with type headers) vs EventBinaryCodec.
+// Bytes per event are printed once in setUp; throughput is ops/ms per serialize or deserialize.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+    private final EventSerializer binarySerializer = new EventSerializer();
+    private final EventDeserializer binaryDeserializer = new EventDeserializer();
+
+    private CreditEvent event;
+    private RecordHeaders jsonHeaders;
+    private byte[] jsonBytes;
+    private RecordHeaders binaryHeaders;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> config = Map.of(JsonDeserializer.TRUSTED_PACKAGES, "org.example.kafka.events");
+        jsonDeserializer.configure(config, false);
+        binaryDeserializer.configure(config, false);
+        // the shared headers are reused every invocation, so keep the JSON type headers in place
+        jsonDeserializer.setRemoveTypeHeaders(false);
+
+        event = CreditEvent.builder()
+                .eventType("STATUS_UPDATED")
+                .clientId("65a0000000000000000000c1")
+                .amount(500000.0)
+                .status(CreditStatus.APPROVED)
+                .previousStatus("PENDING")
+                .actionBy("65a0000000000000000000r1")
+                .comments("All documents verified")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        jsonHeaders = new RecordHeaders();
+        jsonBytes = jsonSerializer.serialize("credit-events-top", jsonHeaders, event);
+        binaryHeaders = new RecordHeaders();
+        binaryBytes = binarySerializer.serialize("credit-events-top", binaryHeaders, event);
+
+        System.out.printf("%nbytes/event: json=%d (+%d header bytes), binary=%d (+%d header bytes)%n",
+                jsonBytes.length, headerBytes(jsonHeaders), binaryBytes.length, headerBytes(binaryHeaders));
+    }
+
+    private static int headerBytes(RecordHeaders headers) {
+        int total = 0;
+        for (var header : headers) {
+            total += header.key().length() + header.value().length;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize("credit-events-top", new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize("credit-events-top", new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public void deserializeJson(Blackhole bh) {
+        bh.consume(jsonDeserializer.deserialize("credit-events-top", jsonHeaders, jsonBytes));
+    }
+
+    @Benchmark
+    public void deserializeBinary(Blackhole bh) {
+        bh.consume(binaryDeserializer.deserialize("credit-events-top", binaryHeaders, binaryBytes));
+    }
+}
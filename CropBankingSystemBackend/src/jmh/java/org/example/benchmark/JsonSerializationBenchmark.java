@@ -0,0 +1,77 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.client.ClientOn;
+import org.example.model.client.PrimaryContact;
+import org.example.model.credit.CreditAllDetails;
+import org.example.model.credit.CreditStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// @desc response body cost of the client and credit list endpoints, with Spring Boot's default ObjectMapper setup
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ClientOn> clients;
+    private List<CreditAllDetails> credits;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        clients = IntStream.range(0, size)
+                .mapToObj(i -> ClientOn.builder()
+                        .id("65a00000000000000000" + String.format("%04d", i))
+                        .companyName("Company " + i)
+                        .industry(i % 2 == 0 ? "Technology" : "Retail")
+                        .address(i + " Market Street")
+                        .primaryContact(PrimaryContact.builder()
+                                .name("Contact " + i)
+                                .email("contact" + i + "@example.com")
+                                .phone("9876543210")
+                                .build())
+                        .annualTurnover(1_000_000.0 + i)
+                        .documentsSubmitted(true)
+                        .rmId("rm-1")
+                        .build())
+                .toList();
+        credits = IntStream.range(0, size)
+                .mapToObj(i -> CreditAllDetails.builder()
+                        .id("credit-" + i)
+                        .clientId("client-" + i)
+                        .clientName("Company " + i)
+                        .submittedBy("rm-1")
+                        .rmName("rm1")
+                        .requestAmount(10_000.0 + i)
+                        .tenureMonths(24)
+                        .purpose("Working Capital")
+                        .status(CreditStatus.PENDING)
+                        .remarks("")
+                        .createdAt(Instant.ofEpochSecond(1_700_000_000L + i))
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] clientList() throws Exception {
+        return objectMapper.writeValueAsBytes(clients);
+    }
+
+    @Benchmark
+    public byte[] creditDetailsList() throws Exception {
+        return objectMapper.writeValueAsBytes(credits);
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.example.model.Role;
+import org.example.model.User;
+import org.example.security.CustomUserDetails;
+import org.example.security.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+// @desc per-request JWT cost: the old filter path (3 parses, parser + key rebuilt each time) vs one parse
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "jdksmemkfdsthisdnnsisd323secretkey4j3ndk74828jddkkc";
+
+    private JwtService jwtService;
+    private CustomUserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtService = newJwtService();
+        userDetails = new CustomUserDetails(User.builder()
+                .id("65a0000000000000000000aa")
+                .email("rm@bank.com")
+                .username("rm")
+                .role(Role.RELATIONSHIP_MANAGER)
+                .active(true)
+                .build());
+        token = jwtService.generateToken(userDetails);
+    }
+
+    // @func helper method, wires the @Value fields and runs the @PostConstruct outside Spring
+    static JwtService newJwtService() throws Exception {
+        JwtService service = new JwtService();
+        DirectFieldAccessor fields = new DirectFieldAccessor(service);
+        fields.setPropertyValue("SECRET_KEY", SECRET);
+        fields.setPropertyValue("EXPIRATION_TIME", 7_200_000L);
+        Method init = JwtService.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(service);
+        return service;
+    }
+
+    // @desc what JwtAuthenticationFilter did before: extractUsername, isTokenValid, extractClaim(userId)
+    @Benchmark
+    public String filterLegacyTripleParse() {
+        String username = legacyParse(token).getSubject();
+        boolean valid = legacyParse(token).getSubject().equals(userDetails.getUsername());
+        String userId = legacyParse(token).get("userId", String.class);
+        return valid ? username + userId : null;
+    }
+
+    @Benchmark
+    public String filterSingleParse() {
+        Claims claims = jwtService.extractAllClaims(token);
+        boolean valid = jwtService.isTokenValid(claims, userDetails);
+        String userId = claims.get("userId", String.class);
+        return valid ? claims.getSubject() + userId : null;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(SECRET.getBytes())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.benchmark;
+
+import org.example.service.RiskScoringEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// @desc RiskScoringEngine.score on a filled batch, i.e. the CPU part of scoring an analyst queue with every
+// score a cache miss. Batches above RiskScoringEngine.PARALLEL_CHUNK rows are split across the common pool.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RiskScoringBenchmark {
+
+    static final String[] INDUSTRIES = {"Technology", "Retail", "Manufacturing", "Energy", "Healthcare", "Other"};
+
+    @Param({"200", "10000", "100000"})
+    private int credits;
+
+    private RiskScoringEngine.Batch batch;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        batch = new RiskScoringEngine.Batch(credits);
+        for (int i = 0; i < credits; i++) {
+            batch.set(i, 10_000.0 + random.nextInt(1_000_000), 12 * (1 + random.nextInt(10)),
+                    100_000.0 + random.nextInt(5_000_000), random.nextInt(2_000_000),
+                    INDUSTRIES[i % INDUSTRIES.length], random.nextBoolean());
+        }
+    }
+
+    @Benchmark
+    public double[] score() {
+        return RiskScoringEngine.score(batch);
+    }
+}
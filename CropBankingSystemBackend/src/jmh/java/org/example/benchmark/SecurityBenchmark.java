@@ -0,0 +1,57 @@
+package org.example.benchmark;
+
+import org.example.model.Role;
+import org.example.model.User;
+import org.example.security.CustomUserDetails;
+import org.example.security.SecurityConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+// @desc per-request authority lookup and the login-time password check. The encoder comes from
+// SecurityConfig.passwordEncoder(), so a change of BCrypt strength shows up here.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private CustomUserDetails userDetails;
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        userDetails = new CustomUserDetails(User.builder()
+                .id("65a0000000000000000000aa")
+                .email("rm@bank.com")
+                .username("rm")
+                .role(Role.RELATIONSHIP_MANAGER)
+                .active(true)
+                .build());
+        passwordEncoder = new SecurityConfig().passwordEncoder();
+        hash = passwordEncoder.encode("rm-password-123");
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return userDetails.getAuthorities();
+    }
+
+    // @desc what every login pays on PasswordVerificationPool
+    @Benchmark
+    public boolean passwordMatches() {
+        return passwordEncoder.matches("rm-password-123", hash);
+    }
+
+    // @desc what register pays
+    @Benchmark
+    public String passwordEncode() {
+        return passwordEncoder.encode("rm-password-123");
+    }
+}
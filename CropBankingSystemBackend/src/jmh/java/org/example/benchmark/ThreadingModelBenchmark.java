@@ -0,0 +1,99 @@
+package org.example.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+// @desc one op = a burst of `concurrency` requests, each blocking on a slow Mongo stand-in (a sleep, i.e. a
+// parked socket read) and then doing a little CPU work. Platform mode runs them on a 200-thread pool, like
+// Tomcat's default server.tomcat.threads.max; virtual mode starts one virtual thread per request, as with
+// spring.threads.virtual.enabled=true. `connections` plays the Mongo connection pool (mongo.pool.max-size).
+// Only platform mode runs by default, so the benchmark profile works on the project's Java 17. Virtual mode needs
+// a Java 21+ JVM: compare the two there with -Djmh.threads=platform,virtual.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadingModelBenchmark {
+
+    static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform"})
+    private String threads;
+
+    @Param({"2000"})
+    private int concurrency;
+
+    @Param({"10"})
+    private int mongoLatencyMs;
+
+    @Param({"100", "1000"})
+    private int connections;
+
+    private ExecutorService executor;
+    private Semaphore connectionPool;
+
+    @Setup
+    public void setUp() throws Exception {
+        connectionPool = new Semaphore(connections, true);
+        if (threads.equals("platform")) {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        } else {
+            try {
+                executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Virtual threads need Java 21+, running on "
+                        + System.getProperty("java.version"), e);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long burst() throws Exception {
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long[] results = new long[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            int request = i;
+            executor.execute(() -> {
+                try {
+                    results[request] = handle(request);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long sum = 0;
+        for (long result : results) {
+            sum += result;
+        }
+        return sum;
+    }
+
+    // @func helper method, "query" then serialize-sized CPU work
+    private long handle(int request) {
+        try {
+            connectionPool.acquire();
+            try {
+                Thread.sleep(mongoLatencyMs);
+            } finally {
+                connectionPool.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        long hash = request;
+        for (int i = 0; i < 2_000; i++) {
+            hash = hash * 31 + i;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.example.repository.inmemory.InMemoryRepository;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// @desc inmemory profile (application-inmemory.properties): repositories come from org.example.repository.inmemory
+// and MongoConfig's MongoTransactionManager is replaced by one without a resource. inmemory.latency adds a fixed
+// delay to every repository call, so load tests see a database that takes time to answer
+@Configuration
+@Profile("inmemory")
+public class InMemoryConfig {
+
+    // @desc keeps @Transactional boundaries and their synchronizations (AfterCommit, ListVersions) working;
+    // writes are applied immediately, so a rollback does not undo them
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return TransactionSynchronizationManager.isActualTransactionActive();
+            }
+
+            @Override
+            protected boolean isExistingTransaction(Object transaction) {
+                return (Boolean) transaction;
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        };
+    }
+
+    // @desc inmemory.latency > 0: each call on a blocking repository sleeps that long first, holding its thread like
+    // a Mongo round trip would. The reactive ones (InMemoryReactiveRepository) delay without blocking instead.
+    @Bean
+    public static BeanPostProcessor repositoryLatency(@Value("${inmemory.latency:0ms}") Duration latency) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (latency.isZero() || !InMemoryRepository.class.isAssignableFrom(AopUtils.getTargetClass(bean))) {
+                    return bean;
+                }
+                ProxyFactory proxy = new ProxyFactory(bean);
+                proxy.addAdvice((MethodInterceptor) invocation -> {
+                    Thread.sleep(latency.toMillis());
+                    return invocation.proceed();
+                });
+                return proxy.getProxy();
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// @desc not in the inmemory profile, which has no MongoClient (see InMemoryConfig)
+@Configuration
+@Profile("!inmemory")
+public class MongoConfig {
+
+    // @desc backs @Transactional so entity + outbox writes commit together; needs a replica set (see docker-compose)
+    @Bean
+    @ConditionalOnProperty(name = "mongo.transactions.enabled", havingValue = "true", matchIfMissing = true)
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
+    // @desc once requests run on virtual threads (spring.threads.virtual.enabled on a 21+ runtime) the servlet pool
+    // no longer caps concurrent queries, the connection pool does; callers past max-size wait at most max-wait for a
+    // connection. Platform threads keep the driver's 120s, virtual threads get a shorter wait so an overloaded node
+    // fails fast instead of parking thousands of requests.
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            Environment environment,
+            @Value("${mongo.pool.max-size:100}") int maxSize,
+            @Value("${mongo.pool.max-wait:120s}") Duration maxWait,
+            @Value("${mongo.pool.virtual-threads.max-wait:10s}") Duration virtualThreadsMaxWait) {
+        Duration wait = Threading.VIRTUAL.isActive(environment) ? virtualThreadsMaxWait : maxWait;
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .maxWaitTime(wait.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// @desc compares the indexes declared on every @Document (@Indexed, @CompoundIndex) with what the server has.
+// Missing ones are reported and, unless mongo.indexes.create-missing=false, created; an existing index whose
+// keys differ from its declaration is only reported, never dropped.
+@Component
+@Profile("!inmemory")
+@Slf4j
+public class MongoIndexVerifier {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${mongo.indexes.create-missing:true}")
+    private boolean createMissing;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        List<String> missing = verify();
+        if (missing.isEmpty()) {
+            log.info("Mongo indexes verified: all declared indexes present");
+        } else if (createMissing) {
+            log.warn("Mongo indexes were missing and have been created: {}", missing);
+        } else {
+            log.warn("Mongo indexes missing (mongo.indexes.create-missing=false): {}", missing);
+        }
+    }
+
+    // @desc returns "collection.indexName" for every declared index the server did not have
+    public List<String> verify() {
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        List<String> missing = new ArrayList<>();
+
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getCollection());
+            Map<String, IndexInfo> existing = indexOps.getIndexInfo().stream()
+                    .collect(Collectors.toMap(IndexInfo::getName, Function.identity()));
+
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                String name = definition.getIndexOptions().getString("name");
+                IndexInfo current = existing.get(name);
+
+                if (current == null) {
+                    missing.add(entity.getCollection() + "." + name);
+                    if (createMissing) {
+                        indexOps.createIndex(definition);
+                    }
+                } else if (!sameKeys(definition.getIndexKeys(), current)) {
+                    log.warn("Mongo index {}.{} exists with different keys than declared {}; leaving it as is",
+                            entity.getCollection(), name, definition.getIndexKeys().toJson());
+                }
+            }
+        }
+        return missing;
+    }
+
+    // @func helper method, compares field names and directions in order
+    private static boolean sameKeys(Document declared, IndexInfo current) {
+        List<String> declaredKeys = declared.entrySet().stream()
+                .map(e -> e.getKey() + ":" + e.getValue())
+                .toList();
+        List<String> currentKeys = current.getIndexFields().stream()
+                .map(f -> f.getKey() + ":" + (f.getDirection() == Sort.Direction.DESC ? "-1" : "1"))
+                .toList();
+        return declaredKeys.equals(currentKeys);
+    }
+}
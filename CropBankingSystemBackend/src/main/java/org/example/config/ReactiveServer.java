@@ -0,0 +1,61 @@
+package org.example.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+// @desc Reactor Netty server for ReactiveServerConfig's routes. Its event loops (reactive.server.threads) are its own,
+// not shared with Tomcat, the reactive Mongo driver or WebClient, so a busy servlet side cannot starve them.
+@Slf4j
+public class ReactiveServer implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private final int threads;
+
+    private volatile LoopResources loops;
+    private volatile DisposableServer server;
+
+    public ReactiveServer(HttpHandler httpHandler, int port, int threads) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+        this.threads = threads;
+    }
+
+    @Override
+    public void start() {
+        loops = LoopResources.create("reactive-http", threads, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loops)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive server started on port {} with {} event loop threads", server.port(), threads);
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+        if (loops != null) {
+            loops.disposeLater().block();
+            loops = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // @desc the bound port; differs from reactive.server.port when that is 0
+    public int getPort() {
+        return server == null ? -1 : server.port();
+    }
+}
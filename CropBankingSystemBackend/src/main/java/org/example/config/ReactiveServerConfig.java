@@ -0,0 +1,42 @@
+package org.example.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.controller.ReactiveCreditController;
+import org.example.security.JwtWebFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+// @desc the reactive endpoints run on their own Reactor Netty server next to Tomcat (reactive.server.port). The
+// application stays a servlet one; these routes never go through Tomcat, Spring MVC or its async executor, and are
+// wired explicitly here so component scanning does not map them into MVC.
+@Configuration
+@ConditionalOnProperty(name = "reactive.server.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveServerConfig {
+
+    @Bean
+    public ReactiveServer reactiveServer(ReactiveCreditController reactiveCreditController,
+                                         JwtWebFilter jwtWebFilter,
+                                         ObjectMapper objectMapper,
+                                         @Value("${reactive.server.port:8889}") int port,
+                                         @Value("${reactive.server.threads:4}") int threads) {
+        RouterFunction<ServerResponse> routes = RouterFunctions
+                .route(GET("/api/credit-requests/reactive/"), reactiveCreditController::getCredits);
+
+        // @desc Boot's ObjectMapper, so the JSON matches the Tomcat endpoints'
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .webFilter(jwtWebFilter)
+                .build();
+
+        return new ReactiveServer(RouterFunctions.toHttpHandler(routes, strategies), port, threads);
+    }
+}
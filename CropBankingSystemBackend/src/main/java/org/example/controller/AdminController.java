@@ -1,12 +1,17 @@
 package org.example.controller;
 
 import org.example.model.UserAdminList;
+import org.example.model.UserPage;
+import org.example.model.UserQuery;
+import org.example.service.ListVersions;
 import org.example.service.UserService;
+import org.springframework.http.CacheControl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,9 +23,35 @@ public class AdminController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ListVersions listVersions;
+
+    // @desc conditional: If-None-Match with the current version is a 304 without a Mongo query
     @GetMapping(value="/users")
-    public ResponseEntity<List<UserAdminList>> getAllUsers() {
-        return ResponseEntity.status(HttpStatus.OK).body(userService.getAllUsers());
+    public ResponseEntity<List<UserAdminList>> getAllUsers(WebRequest request) {
+        String etag = listVersions.etag(ListVersions.USERS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(userService.getAllUsers());
+    }
+
+    // @desc paged directory (role, active, username/email prefix); same conditional GET as /users
+    @GetMapping(value = "/users/search")
+    public ResponseEntity<UserPage> searchUsers(UserQuery query, WebRequest request) {
+        String etag = listVersions.etag(ListVersions.USERS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(userService.searchUsers(query));
     }
 
     @PutMapping(value = "/users/{id}/status")
@@ -1,16 +1,26 @@
 package org.example.controller;
 
 import jakarta.validation.Valid;
+import org.example.model.client.ClientImportReport;
 import org.example.model.client.ClientOn;
 import org.example.model.client.ClientRequest;
+import org.example.model.client.ImportFormat;
+import org.example.security.CustomUserDetails;
+import org.example.service.ClientImportService;
 import org.example.service.ClientService;
+import org.example.service.ListVersions;
+import org.springframework.http.CacheControl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -20,10 +30,26 @@ public class ClientController {
     @Autowired
     private ClientService clientService;
 
+    @Autowired
+    private ClientImportService clientImportService;
+
+    @Autowired
+    private ListVersions listVersions;
+
+    // @desc conditional: If-None-Match with the current version is a 304 without a Mongo query
     @GetMapping(value = "/")
-    public ResponseEntity<List<ClientOn>> getAllClients(Authentication auth) {
+    public ResponseEntity<List<ClientOn>> getAllClients(Authentication auth, WebRequest request) {
+        CustomUserDetails user = (CustomUserDetails) auth.getPrincipal();
+        String etag = listVersions.etag(ListVersions.clients(user.getId()));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
         List<ClientOn> clients = clientService.getMyClients(auth);
-        return ResponseEntity.status(HttpStatus.OK).body(clients);
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(clients);
     }
 
     @PostMapping(value = "/")
@@ -32,6 +58,18 @@ public class ClientController {
         return ResponseEntity.status(HttpStatus.CREATED).body(msg);
     }
 
+    // @desc streamed NDJSON or CSV upload, validated row by row and written in batches; counts plus the first failed
+    // rows (ClientImportReport)
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ClientImportReport> bulkCreateClients(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                InputStream body, Authentication auth) throws IOException {
+        CustomUserDetails user = (CustomUserDetails) auth.getPrincipal();
+        ImportFormat format = ImportFormat.fromContentType(contentType);
+
+        ClientImportReport report = clientImportService.importClients(body, format, user.getId());
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
     @GetMapping(value = "/{id}")
     public ResponseEntity<ClientOn> getClientById(@PathVariable String id, Authentication auth) {
         ClientOn client = clientService.getClientById(id, auth);
@@ -1,18 +1,33 @@
 package org.example.controller;
 
 import jakarta.validation.Valid;
+import org.example.model.credit.BulkCreditDecision;
 import org.example.model.credit.Credit;
 import org.example.model.credit.CreditAllDetails;
+import org.example.model.credit.CreditClaim;
 import org.example.model.credit.CreditDecision;
+import org.example.model.credit.CreditDecisionReport;
+import org.example.model.credit.CreditPage;
+import org.example.model.credit.CreditQuery;
 import org.example.model.credit.CreditRequest;
+import org.example.model.credit.ExportFormat;
+import org.example.model.credit.WorkQueuePriority;
 import org.example.security.CustomUserDetails;
+import org.example.service.CreditExportService;
 import org.example.service.CreditService;
+import org.example.service.CreditWorkQueue;
+import org.example.service.ListVersions;
+import org.springframework.http.CacheControl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,6 +37,15 @@ public class CreditController {
     @Autowired
     private CreditService creditService;
 
+    @Autowired
+    private CreditExportService creditExportService;
+
+    @Autowired
+    private ListVersions listVersions;
+
+    @Autowired
+    private CreditWorkQueue creditWorkQueue;
+
     @PostMapping(value = "/")
     @PreAuthorize("hasRole('RELATIONSHIP_MANAGER')")
     public ResponseEntity<String> createCredit(@Valid @RequestBody CreditRequest request,
@@ -35,16 +59,98 @@ public class CreditController {
 
     @GetMapping(value = "/")
     @PreAuthorize("hasAnyRole('RELATIONSHIP_MANAGER','ANALYST')")
-    public ResponseEntity<List<CreditAllDetails>> getCredits(Authentication authentication) {
+    public ResponseEntity<List<CreditAllDetails>> getCredits(Authentication authentication, WebRequest request) {
         CustomUserDetails user =  (CustomUserDetails) authentication.getPrincipal();
         boolean isAnalyst = authentication.getAuthorities()
                 .stream().anyMatch(a ->
                         a.getAuthority().equals("ROLE_ANALYST"));
 
         assert user != null;
+        // @desc conditional: If-None-Match with the current version is a 304 without a Mongo query
+        String etag = listVersions.etag(isAnalyst ? ListVersions.ALL_CREDITS : ListVersions.credits(user.getId()));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
         List<CreditAllDetails> credits = creditService.getCredits(user.getId(), isAnalyst);
 
-        return ResponseEntity.status(HttpStatus.OK).body(credits);
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(credits);
+    }
+
+    // @desc filtered keyset pages: pass nextCursor back as ?cursor= to continue
+    @GetMapping(value = "/search")
+    @PreAuthorize("hasAnyRole('RELATIONSHIP_MANAGER','ANALYST')")
+    public ResponseEntity<CreditPage> searchCredits(CreditQuery query, Authentication authentication) {
+        CustomUserDetails user =  (CustomUserDetails) authentication.getPrincipal();
+        boolean isAnalyst = authentication.getAuthorities()
+                .stream().anyMatch(a ->
+                        a.getAuthority().equals("ROLE_ANALYST"));
+
+        assert user != null;
+        CreditPage page = creditService.queryCredits(query, user.getId(), isAnalyst);
+
+        return ResponseEntity.status(HttpStatus.OK).body(page);
+    }
+
+    // @desc whole filtered book as NDJSON or CSV, streamed while the Mongo cursor is read
+    @GetMapping(value = "/export")
+    @PreAuthorize("hasAnyRole('RELATIONSHIP_MANAGER','ANALYST')")
+    public ResponseEntity<StreamingResponseBody> exportCredits(CreditQuery query,
+                                                               @RequestParam(defaultValue = "ndjson") String format,
+                                                               Authentication authentication) {
+        CustomUserDetails user =  (CustomUserDetails) authentication.getPrincipal();
+        boolean isAnalyst = authentication.getAuthorities()
+                .stream().anyMatch(a ->
+                        a.getAuthority().equals("ROLE_ANALYST"));
+
+        assert user != null;
+        ExportFormat exportFormat = ExportFormat.from(format);
+        // validated here, while a bad query can still be a 400: the body runs after the headers are committed
+        creditService.applyScope(query, user.getId(), isAnalyst);
+        StreamingResponseBody body = out -> creditExportService.export(query, exportFormat, out);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"credits." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    // @desc many decisions in one request; each applies only if the credit is still PENDING
+    @PostMapping(value = "/decisions")
+    @PreAuthorize("hasRole('ANALYST')")
+    public ResponseEntity<CreditDecisionReport> decideCredits(@Valid @RequestBody BulkCreditDecision request,
+                                                              Authentication authentication) {
+        CustomUserDetails user =  (CustomUserDetails) authentication.getPrincipal();
+        assert user != null;
+        CreditDecisionReport report = creditService.decideCredits(request.getDecisions(), user.getId());
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    // @desc work queue: leases up to `count` PENDING credits to the calling analyst, ordered by ?priority=
+    // age|amount|risk; other analysts cannot decide them until leaseExpiresAt
+    @PostMapping(value = "/claims")
+    @PreAuthorize("hasRole('ANALYST')")
+    public ResponseEntity<CreditClaim> claimCredits(@RequestParam(required = false) Integer count,
+                                                    @RequestParam(defaultValue = "age") String priority,
+                                                    Authentication authentication) {
+        CustomUserDetails user =  (CustomUserDetails) authentication.getPrincipal();
+        assert user != null;
+        CreditClaim claim = creditWorkQueue.claim(user.getId(), count, WorkQueuePriority.from(priority));
+        return ResponseEntity.status(HttpStatus.OK).body(claim);
+    }
+
+    // @desc hands a claimed credit back to the queue before its lease runs out
+    @DeleteMapping(value = "/{id}/claim")
+    @PreAuthorize("hasRole('ANALYST')")
+    public ResponseEntity<String> releaseClaim(@PathVariable String id, Authentication authentication) {
+        CustomUserDetails user =  (CustomUserDetails) authentication.getPrincipal();
+        assert user != null;
+        creditWorkQueue.release(id, user.getId());
+        return ResponseEntity.status(HttpStatus.OK).body("Released credit claim successfully");
     }
 
     @GetMapping(value = "/{id}")
@@ -56,8 +162,11 @@ public class CreditController {
 
     @PutMapping(value = "/{id}")
     @PreAuthorize("hasRole('ANALYST')")
-    public ResponseEntity<String> updateCreditDecision(@PathVariable String id, @Valid @RequestBody CreditDecision decision) {
-        String msg = creditService.updateCreditDecision(id, decision);
+    public ResponseEntity<String> updateCreditDecision(@PathVariable String id, @Valid @RequestBody CreditDecision decision,
+                                                       Authentication authentication) {
+        CustomUserDetails user =  (CustomUserDetails) authentication.getPrincipal();
+        assert user != null;
+        String msg = creditService.updateCreditDecision(id, decision, user.getId());
         return ResponseEntity.status(HttpStatus.OK).body(msg);
     }
 }
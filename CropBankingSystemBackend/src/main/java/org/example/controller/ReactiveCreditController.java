@@ -0,0 +1,50 @@
+package org.example.controller;
+
+import org.example.model.credit.CreditAllDetails;
+import org.example.security.CustomUserDetails;
+import org.example.service.ReactiveCreditService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+// @desc reactive credit listing, a WebFlux handler served by ReactiveServerConfig's Reactor Netty server
+// (reactive.server.port), not by Tomcat: no request thread is held while Mongo is read and the response is written
+// on the event loop as items arrive. application/x-ndjson streams item by item with backpressure,
+// application/json writes one array. The principal comes from JwtWebFilter.
+@Component
+public class ReactiveCreditController {
+
+    @Autowired
+    private ReactiveCreditService reactiveCreditService;
+
+    // GET /api/credit-requests/reactive/ (RELATIONSHIP_MANAGER, ANALYST)
+    public Mono<ServerResponse> getCredits(ServerRequest request) {
+        return request.principal()
+                .cast(Authentication.class)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED)))
+                .flatMap(authentication -> {
+                    boolean isAnalyst = hasRole(authentication, "ROLE_ANALYST");
+                    if (!isAnalyst && !hasRole(authentication, "ROLE_RELATIONSHIP_MANAGER")) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN));
+                    }
+
+                    CustomUserDetails user = (CustomUserDetails) authentication.getPrincipal();
+                    boolean ndjson = request.headers().accept().stream()
+                            .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+                    return ServerResponse.ok()
+                            .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                            .body(reactiveCreditService.getCredits(user.getId(), isAnalyst), CreditAllDetails.class);
+                });
+    }
+
+    // @func helper method
+    private static boolean hasRole(Authentication authentication, String role) {
+        return authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals(role));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.controller;
+
+import org.example.model.stats.CreditRollupQuery;
+import org.example.model.stats.CreditRollupRow;
+import org.example.model.stats.DashboardStats;
+import org.example.security.CustomUserDetails;
+import org.example.service.CreditRollupService;
+import org.example.service.StatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private CreditRollupService creditRollupService;
+
+    // @desc dashboard counters from memory, scoped to the caller's role
+    @GetMapping
+    public ResponseEntity<DashboardStats> getStats(Authentication authentication) {
+        CustomUserDetails user = (CustomUserDetails) authentication.getPrincipal();
+
+        assert user != null;
+        DashboardStats stats = statsService.snapshot(user.getId(), user.getRole());
+
+        return ResponseEntity.status(HttpStatus.OK).body(stats);
+    }
+
+    // @desc credit count and amount per month range from the credit_rollups buckets, e.g.
+    // ?from=2025-01&to=2025-12&groupBy=month,industry; RMs get their own credits only
+    @GetMapping("/credits")
+    public ResponseEntity<List<CreditRollupRow>> getCreditRollups(CreditRollupQuery query,
+                                                                  Authentication authentication) {
+        CustomUserDetails user = (CustomUserDetails) authentication.getPrincipal();
+
+        assert user != null;
+        List<CreditRollupRow> rows = creditRollupService.report(query, user.getId(), user.getRole());
+
+        return ResponseEntity.status(HttpStatus.OK).body(rows);
+    }
+}
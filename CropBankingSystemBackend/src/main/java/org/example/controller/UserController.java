@@ -1,6 +1,6 @@
 package org.example.controller;
 
-import org.example.model.User;
+import org.example.model.UserAdminList;
 import org.example.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -17,9 +17,10 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    // @desc the caller's own summary; the password hash is not part of it
     @GetMapping("/me")
-    public ResponseEntity<User> me(Authentication authentication) {
-        User user = userService.getCurrentUser(authentication.getName());
+    public ResponseEntity<UserAdminList> me(Authentication authentication) {
+        UserAdminList user = userService.getCurrentUser(authentication.getName());
         return ResponseEntity.status(HttpStatus.OK).body(user);
     }
 }
@@ -0,0 +1,7 @@
+package org.example.exception;
+
+public class CreditLeasedException extends RuntimeException {
+    public CreditLeasedException(String message) {
+        super(message);
+    }
+}
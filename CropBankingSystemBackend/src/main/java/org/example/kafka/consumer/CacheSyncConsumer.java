@@ -0,0 +1,76 @@
+package org.example.kafka.consumer;
+
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.kafka.events.UserEvent;
+import org.example.security.PrincipalCache;
+import org.example.service.ClientIndustryCache;
+import org.example.service.CreditRiskService;
+import org.example.service.CreditWorkQueue;
+import org.example.service.ListVersions;
+import org.example.service.StatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+// @desc keeps node-local caches in sync with writes made on other nodes.
+// Each instance joins its own consumer group, so every node receives every event, starting from "now".
+@Service
+public class CacheSyncConsumer {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private ClientIndustryCache clientIndustryCache;
+
+    @Autowired
+    private ListVersions listVersions;
+
+    @Autowired
+    private CreditRiskService creditRiskService;
+
+    @Autowired
+    private CreditWorkQueue creditWorkQueue;
+
+    // @desc credit created/decided anywhere -> move the dashboard counters and list versions, drop the client's risk scores
+    // and queue or drop the credit in the work queue here
+    @KafkaListener(topics = "credit-events-top",
+            groupId = "cache-sync-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onCreditEvent(CreditEvent event) {
+        statsService.onCreditEvent(event);
+        listVersions.onCreditEvent(event);
+        creditRiskService.onCreditEvent(event);
+        creditWorkQueue.onCreditEvent(event);
+    }
+
+    // @desc client onboarded/updated anywhere -> move the dashboard counters and list versions, refresh the RM's industries
+    // and drop the client's risk scores here
+    @KafkaListener(topics = "client-events-top",
+            groupId = "cache-sync-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onClientEvent(ClientEvent event) {
+        statsService.onClientEvent(event);
+        clientIndustryCache.onEvent(event);
+        listVersions.onClientEvent(event);
+        creditRiskService.onClientEvent(event);
+    }
+
+    // @desc user activated/deactivated anywhere -> drop the cached principal here; registrations -> role counts
+    @KafkaListener(topics = "user-events-top",
+            groupId = "cache-sync-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onUserEvent(UserEvent event) {
+        if (event.getEmail() != null) {
+            principalCache.evict(event.getEmail());
+        } else {
+            principalCache.evictById(event.getUserId());
+        }
+        statsService.onUserEvent(event);
+        listVersions.onUserEvent(event);
+    }
+}
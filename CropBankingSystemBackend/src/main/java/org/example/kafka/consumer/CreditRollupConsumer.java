@@ -0,0 +1,29 @@
+package org.example.kafka.consumer;
+
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.service.CreditRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+// @desc moves the credit_rollups buckets. Unlike CacheSyncConsumer the group is shared, so each event is applied
+// by one node only; events are keyed by clientId, so a credit's events arrive in order on one partition.
+@Service
+public class CreditRollupConsumer {
+
+    @Autowired
+    private CreditRollupService creditRollupService;
+
+    // @desc credit created/decided -> move it to its current bucket
+    @KafkaListener(topics = "credit-events-top", groupId = "credit-rollups")
+    public void onCreditEvent(CreditEvent event) {
+        creditRollupService.onCreditEvent(event);
+    }
+
+    // @desc client industry changed -> move its credits to buckets under the new industry
+    @KafkaListener(topics = "client-events-top", groupId = "credit-rollups")
+    public void onClientEvent(ClientEvent event) {
+        creditRollupService.onClientEvent(event);
+    }
+}
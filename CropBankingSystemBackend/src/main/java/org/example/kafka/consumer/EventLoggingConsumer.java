@@ -1,46 +1,112 @@
 package org.example.kafka.consumer;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.example.kafka.events.ClientEvent;
 import org.example.kafka.events.CreditEvent;
 import org.example.kafka.events.UserEvent;
+import org.slf4j.spi.LoggingEventBuilder;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+// @desc writes every business event to the Kafka event log (KAFKA_ASYNC in logback-spring.xml).
+// Listeners receive a whole poll at once; offsets are committed after the batch returns (ack-mode=batch).
 @Service
 @Slf4j
 public class EventLoggingConsumer {
 
     // @desc Listen to credit events topic
-    @KafkaListener(topics = "credit-events-top", groupId = "corporate-banking-group")
-    public void consumeCreditEvent(CreditEvent event) {
-        if ("CREATED".equals(event.getEventType())) {
-            log.info("Credit Request Created: EventType={},ClientID={}, Amount={}, Status={}, By={}, CreatedAt{}",
-                    event.getEventType(), event.getClientId(), event.getAmount(),
-                    event.getStatus(), event.getRmId(), event.getTimestamp());
-        } else if ("STATUS_UPDATED".equals(event.getEventType())) {
-            log.info("Credit Status Updated: ClientID={}, {} -> {}, By={}, Comments={}, CreatedAt{}",
-                    event.getRmId(), event.getPreviousStatus(),
-                    event.getStatus(), event.getRmId(), event.getComments(), event.getTimestamp());
+    @KafkaListener(topics = "credit-events-top", groupId = "corporate-banking-group", batch = "true")
+    public void consumeCreditEvents(List<ConsumerRecord<String, CreditEvent>> records) {
+        for (ConsumerRecord<String, CreditEvent> record : records) {
+            CreditEvent event = record.value();
+            if (event == null) {
+                logUndeserializable(record);
+                continue;
+            }
+            if ("CREATED".equals(event.getEventType())) {
+                withRecord(log.atInfo(), record)
+                        .setMessage("Credit Request Created")
+                        .addKeyValue("eventType", event.getEventType())
+                        .addKeyValue("clientId", event.getClientId())
+                        .addKeyValue("amount", event.getAmount())
+                        .addKeyValue("status", event.getStatus())
+                        .addKeyValue("by", event.getActionBy())
+                        .addKeyValue("createdAt", event.getTimestamp())
+                        .log();
+            } else if ("STATUS_UPDATED".equals(event.getEventType())) {
+                withRecord(log.atInfo(), record)
+                        .setMessage("Credit Status Updated")
+                        .addKeyValue("eventType", event.getEventType())
+                        .addKeyValue("clientId", event.getClientId())
+                        .addKeyValue("previousStatus", event.getPreviousStatus())
+                        .addKeyValue("status", event.getStatus())
+                        .addKeyValue("by", event.getActionBy())
+                        .addKeyValue("comments", event.getComments())
+                        .addKeyValue("createdAt", event.getTimestamp())
+                        .log();
+            }
         }
     }
 
     // @desc Listen to client events topic
-    @KafkaListener(topics = "client-events-top", groupId = "corporate-banking-group")
-    public void consumeClientEvent(ClientEvent event) {
-        log.info("Client Onboarded: EventType={}, ID={}, Name={}, Industry={}, By={}, CreatedAt{}",
-                event.getEventType(),
-                event.getClientId(), event.getClientName(),
-                event.getIndustry(), event.getOnboardedBy(),
-                event.getTimestamp());
+    @KafkaListener(topics = "client-events-top", groupId = "corporate-banking-group", batch = "true")
+    public void consumeClientEvents(List<ConsumerRecord<String, ClientEvent>> records) {
+        for (ConsumerRecord<String, ClientEvent> record : records) {
+            ClientEvent event = record.value();
+            if (event == null) {
+                logUndeserializable(record);
+                continue;
+            }
+            withRecord(log.atInfo(), record)
+                    .setMessage("CLIENT_UPDATED".equals(event.getEventType()) ? "Client Updated" : "Client Onboarded")
+                    .addKeyValue("eventType", event.getEventType())
+                    .addKeyValue("clientId", event.getClientId())
+                    .addKeyValue("name", event.getClientName())
+                    .addKeyValue("industry", event.getIndustry())
+                    .addKeyValue("previousIndustry", event.getPreviousIndustry())
+                    .addKeyValue("by", event.getOnboardedBy())
+                    .addKeyValue("createdAt", event.getTimestamp())
+                    .log();
+        }
     }
 
     // @desc Listen to user events topic
-    @KafkaListener(topics = "user-events-top", groupId = "corporate-banking-group")
-    public void consumeUserEvent(UserEvent event) {
-        log.info("User Status Changed: EventType={}, ID={}, Username={}, Role={}, Active={}, Email={}, CreatedAt{}",
-                event.getEventType(),
-                event.getUserId(), event.getUsername(), event.getRole(),
-                event.getPreviousStatus(), event.getEmail(), event.getTimestamp());
+    @KafkaListener(topics = "user-events-top", groupId = "corporate-banking-group", batch = "true")
+    public void consumeUserEvents(List<ConsumerRecord<String, UserEvent>> records) {
+        for (ConsumerRecord<String, UserEvent> record : records) {
+            UserEvent event = record.value();
+            if (event == null) {
+                logUndeserializable(record);
+                continue;
+            }
+            withRecord(log.atInfo(), record)
+                    .setMessage("USER_REGISTERED".equals(event.getEventType()) ? "User Registered" : "User Status Changed")
+                    .addKeyValue("eventType", event.getEventType())
+                    .addKeyValue("userId", event.getUserId())
+                    .addKeyValue("username", event.getUsername())
+                    .addKeyValue("role", event.getRole())
+                    .addKeyValue("previousActive", event.getPreviousStatus())
+                    .addKeyValue("email", event.getEmail())
+                    .addKeyValue("createdAt", event.getTimestamp())
+                    .log();
+        }
+    }
+
+    // @func helper method, ErrorHandlingDeserializer hands over a null value instead of failing the whole batch
+    private void logUndeserializable(ConsumerRecord<String, ?> record) {
+        withRecord(log.atWarn(), record)
+                .setMessage("Skipped event that could not be deserialized")
+                .log();
+    }
+
+    // @func helper method
+    private static LoggingEventBuilder withRecord(LoggingEventBuilder builder, ConsumerRecord<String, ?> record) {
+        return builder
+                .addKeyValue("topic", record.topic())
+                .addKeyValue("partition", record.partition())
+                .addKeyValue("offset", record.offset());
     }
 }
@@ -18,4 +18,6 @@ public class ClientEvent {
     private String industry;
     private String onboardedBy;
     private LocalDateTime timestamp;
+    private String previousIndustry; // CLIENT_UPDATED only
+    private String eventId; // one per write, unchanged through the outbox and Kafka
 }
\ No newline at end of file
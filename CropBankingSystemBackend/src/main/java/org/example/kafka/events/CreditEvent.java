@@ -23,4 +23,5 @@ public class CreditEvent {
     private String actionBy;
     private String comments;
     private LocalDateTime timestamp;
+    private String creditId;
 }
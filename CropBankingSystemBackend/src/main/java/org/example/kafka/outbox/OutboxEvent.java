@@ -0,0 +1,36 @@
+package org.example.kafka.outbox;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// @desc an event waiting to be published; written in the same Mongo transaction as the entity it describes
+@Document(collection = "outbox")
+@CompoundIndex(name = "createdAt_id", def = "{ 'createdAt': 1, '_id': 1 }")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    private String id;
+
+    private String topic;
+    private String key; // Kafka record key, keeps per-entity ordering on one partition
+    private Object payload; // CreditEvent / ClientEvent / UserEvent, stored with its _class
+    private Instant createdAt;
+
+    public static OutboxEvent of(String topic, String key, Object payload) {
+        return OutboxEvent.builder()
+                .topic(topic)
+                .key(key)
+                .payload(payload)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.kafka.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.kafka.producer.KafkaEventProducer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// @desc drains the outbox to Kafka in insertion order. One node at a time holds the relay lease.
+// Events are deleted only after the broker acked them (at-least-once). Consumers rely on per-key order
+// (topic + record key), so an event is only sent once the one before it with the same key was acked, and a
+// failed send holds back everything behind it on that key until the next tick. Other keys keep flowing.
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    private final String owner = UUID.randomUUID().toString();
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private KafkaEventProducer kafkaEventProducer;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.lease:30s}")
+    private Duration lease;
+
+    @Value("${outbox.relay.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        if (!outboxRepository.tryAcquireRelayLease(owner, lease)) {
+            return;
+        }
+
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxRepository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(batchSize));
+            if (batch.isEmpty() || publish(batch) < batch.size()) {
+                return;
+            }
+        } while (batch.size() == batchSize && outboxRepository.tryAcquireRelayLease(owner, lease));
+    }
+
+    // @desc sends the batch in waves: each wave is the oldest unsent event of every key, sent together (the
+    // producer batches them per partition) and awaited before the next wave. Deletes what was acked.
+    int publish(List<OutboxEvent> batch) {
+        Map<String, Deque<OutboxEvent>> byKey = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            byKey.computeIfAbsent(orderingKey(event), key -> new ArrayDeque<>()).add(event);
+        }
+
+        List<String> acked = new ArrayList<>(batch.size());
+        while (!byKey.isEmpty()) {
+            List<OutboxEvent> wave = new ArrayList<>(byKey.size());
+            List<CompletableFuture<?>> sends = new ArrayList<>(byKey.size());
+            for (Deque<OutboxEvent> events : byKey.values()) {
+                OutboxEvent event = events.poll();
+                wave.add(event);
+                sends.add(send(event));
+            }
+
+            long deadline = System.nanoTime() + sendTimeout.toNanos();
+            for (int i = 0; i < wave.size(); i++) {
+                OutboxEvent event = wave.get(i);
+                if (await(sends.get(i), event, deadline)) {
+                    acked.add(event.getId());
+                } else {
+                    byKey.remove(orderingKey(event)); // the rest of this key waits for the next tick
+                }
+            }
+            byKey.values().removeIf(Deque::isEmpty);
+        }
+
+        if (!acked.isEmpty()) {
+            outboxRepository.deleteAllById(acked);
+        }
+        return acked.size();
+    }
+
+    // @func helper method, a send that throws before returning a future counts as a failed send
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            return kafkaEventProducer.send(event);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    // @func helper method
+    private boolean await(CompletableFuture<?> send, OutboxEvent event, long deadline) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Outbox relay holding back key {} on {} at event {}: {}", event.getKey(), event.getTopic(),
+                    event.getId(), ex.toString());
+            return false;
+        }
+    }
+
+    // @func helper method, Kafka orders records per partition, i.e. per topic and key
+    private static String orderingKey(OutboxEvent event) {
+        return event.getTopic() + '\u0000' + event.getKey();
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.kafka.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface OutboxRepository extends MongoRepository<OutboxEvent, String>, OutboxRepositoryCustom {
+    // @desc oldest first, matching the createdAt_id index
+    List<OutboxEvent> findAllByOrderByCreatedAtAscIdAsc(Limit limit);
+}
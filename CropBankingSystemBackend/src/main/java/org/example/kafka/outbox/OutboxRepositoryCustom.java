@@ -0,0 +1,8 @@
+package org.example.kafka.outbox;
+
+import java.time.Duration;
+
+public interface OutboxRepositoryCustom {
+    // @desc take or extend the single relay lease; true if this owner holds it until now + lease
+    boolean tryAcquireRelayLease(String owner, Duration lease);
+}
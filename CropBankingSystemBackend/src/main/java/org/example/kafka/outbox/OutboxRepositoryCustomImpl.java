@@ -0,0 +1,37 @@
+package org.example.kafka.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class OutboxRepositoryCustomImpl implements OutboxRepositoryCustom {
+
+    static final String LOCK_COLLECTION = "outbox_lock";
+    static final String RELAY_LOCK_ID = "relay";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean tryAcquireRelayLease(String owner, Duration lease) {
+        Instant now = Instant.now();
+        Query free = new Query(Criteria.where("_id").is(RELAY_LOCK_ID)
+                .orOperator(Criteria.where("lockedUntil").lt(now), Criteria.where("owner").is(owner)));
+        Update take = new Update()
+                .set("owner", owner)
+                .set("lockedUntil", now.plus(lease));
+        try {
+            // @desc no match + upsert collides on _id when another owner holds a live lease
+            mongoTemplate.upsert(free, take, LOCK_COLLECTION);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+}
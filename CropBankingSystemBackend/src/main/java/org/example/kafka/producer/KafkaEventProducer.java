@@ -1,29 +1,72 @@
 package org.example.kafka.producer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.kafka.events.ClientEvent;
 import org.example.kafka.events.CreditEvent;
 import org.example.kafka.events.UserEvent;
+import org.example.kafka.outbox.OutboxEvent;
+import org.example.kafka.outbox.OutboxRepository;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// @desc publish* methods only write to the outbox, inside the caller's Mongo transaction;
+// OutboxRelay later ships the records to Kafka through send()
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaEventProducer {
 
+    public static final String CREDIT_TOPIC = "credit-events-top";
+    public static final String CLIENT_TOPIC = "client-events-top";
+    public static final String USER_TOPIC = "user-events-top";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
+    private final OutboxRepository outboxRepository;
+
+    private final MeterRegistry meterRegistry;
+
     public void publishCreditEvent(CreditEvent event) {
-        kafkaTemplate.send("credit-events-top", event.getClientId(), event);
+        outboxRepository.save(OutboxEvent.of(CREDIT_TOPIC, event.getClientId(), event));
+    }
+
+    // @desc one insertMany into the outbox for the whole list
+    public void publishCreditEvents(List<CreditEvent> events) {
+        outboxRepository.saveAll(events.stream()
+                .map(event -> OutboxEvent.of(CREDIT_TOPIC, event.getClientId(), event))
+                .toList());
     }
 
     public void publishClientEvent(ClientEvent event) {
-        kafkaTemplate.send("client-events-top", event.getClientId(), event);
+        outboxRepository.save(OutboxEvent.of(CLIENT_TOPIC, event.getClientId(), event));
+    }
+
+    // @desc one insertMany into the outbox for the whole list
+    public void publishClientEvents(List<ClientEvent> events) {
+        outboxRepository.saveAll(events.stream()
+                .map(event -> OutboxEvent.of(CLIENT_TOPIC, event.getClientId(), event))
+                .toList());
     }
 
     public void publishUserEvent(UserEvent event) {
-        kafkaTemplate.send("user-events-top", event.getUserId(), event);
+        outboxRepository.save(OutboxEvent.of(USER_TOPIC, event.getUserId(), event));
+    }
+
+    // @desc timed from send() to the broker ack (or failure), tagged by topic and outcome
+    public CompletableFuture<SendResult<String, Object>> send(OutboxEvent event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return kafkaTemplate.send(event.getTopic(), event.getKey(), event.getPayload())
+                .whenComplete((result, ex) -> sample.stop(Timer.builder("kafka.outbox.send")
+                        .description("Outbox record send latency until acked by the broker")
+                        .tag("topic", event.getTopic())
+                        .tag("outcome", ex == null ? "success" : "failure")
+                        .register(meterRegistry)));
     }
 }
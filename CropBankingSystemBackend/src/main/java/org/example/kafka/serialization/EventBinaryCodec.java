@@ -0,0 +1,245 @@
+package org.example.kafka.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.kafka.events.UserEvent;
+import org.example.model.Role;
+import org.example.model.credit.CreditStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// @desc schema-based binary encoding for the three event classes.
+// Layout: varint presence bitmap (bit i = field i non-null), then only the present fields, in schema order.
+// Schema rule: fields are only ever appended, never reordered or removed, so any decoder can read
+// every older version (missing trailing bits are just nulls) and the known prefix of every newer one
+// (extra trailing fields are left unread). SCHEMA_VERSION is bumped on each append, and a decoder never rejects
+// a version above its own. Enum values are written by name; a name this decoder does not know (a status or role
+// added later) decodes as null rather than failing the record.
+public final class EventBinaryCodec {
+
+    public static final int SCHEMA_VERSION = 4;
+
+    public static final byte CREDIT_EVENT = 1;
+    public static final byte CLIENT_EVENT = 2;
+    public static final byte USER_EVENT = 3;
+
+    private EventBinaryCodec() {
+    }
+
+    public static byte typeOf(Object event) {
+        if (event instanceof CreditEvent) {
+            return CREDIT_EVENT;
+        }
+        if (event instanceof ClientEvent) {
+            return CLIENT_EVENT;
+        }
+        if (event instanceof UserEvent) {
+            return USER_EVENT;
+        }
+        throw new SerializationException("No binary schema for " + (event == null ? "null" : event.getClass()));
+    }
+
+    public static byte[] encode(Object event) {
+        Writer w = new Writer();
+        switch (typeOf(event)) {
+            // v1: eventType, rmId, clientId, clientName, amount, status, previousStatus, actionBy, comments, timestamp
+            // v3: + creditId
+            case CREDIT_EVENT -> {
+                CreditEvent e = (CreditEvent) event;
+                w.presence(e.getEventType(), e.getRmId(), e.getClientId(), e.getClientName(), e.getAmount(),
+                        e.getStatus(), e.getPreviousStatus(), e.getActionBy(), e.getComments(), e.getTimestamp(),
+                        e.getCreditId());
+                w.string(e.getEventType()).string(e.getRmId()).string(e.getClientId()).string(e.getClientName())
+                        .float64(e.getAmount()).enumName(e.getStatus()).string(e.getPreviousStatus())
+                        .string(e.getActionBy()).string(e.getComments()).dateTime(e.getTimestamp())
+                        .string(e.getCreditId());
+            }
+            // v1: eventType, clientId, clientName, industry, onboardedBy, timestamp
+            // v2: + previousIndustry
+            // v4: + eventId
+            case CLIENT_EVENT -> {
+                ClientEvent e = (ClientEvent) event;
+                w.presence(e.getEventType(), e.getClientId(), e.getClientName(), e.getIndustry(),
+                        e.getOnboardedBy(), e.getTimestamp(), e.getPreviousIndustry(), e.getEventId());
+                w.string(e.getEventType()).string(e.getClientId()).string(e.getClientName())
+                        .string(e.getIndustry()).string(e.getOnboardedBy()).dateTime(e.getTimestamp())
+                        .string(e.getPreviousIndustry()).string(e.getEventId());
+            }
+            // v1: eventType, userId, username, role, previousStatus, email, timestamp
+            default -> {
+                UserEvent e = (UserEvent) event;
+                w.presence(e.getEventType(), e.getUserId(), e.getUsername(), e.getRole(), e.getPreviousStatus(),
+                        e.getEmail(), e.getTimestamp());
+                w.string(e.getEventType()).string(e.getUserId()).string(e.getUsername()).enumName(e.getRole())
+                        .bool(e.getPreviousStatus()).string(e.getEmail()).dateTime(e.getTimestamp());
+            }
+        }
+        return w.toByteArray();
+    }
+
+    public static Object decode(byte type, int version, byte[] data) {
+        if (version < 1) {
+            throw new SerializationException("Unsupported event schema version " + version);
+        }
+        Reader r = new Reader(data);
+        return switch (type) {
+            case CREDIT_EVENT -> CreditEvent.builder()
+                    .eventType(r.string()).rmId(r.string()).clientId(r.string()).clientName(r.string())
+                    .amount(r.float64()).status(r.enumName(CreditStatus.class)).previousStatus(r.string())
+                    .actionBy(r.string()).comments(r.string()).timestamp(r.dateTime())
+                    .creditId(r.string())
+                    .build();
+            case CLIENT_EVENT -> ClientEvent.builder()
+                    .eventType(r.string()).clientId(r.string()).clientName(r.string())
+                    .industry(r.string()).onboardedBy(r.string()).timestamp(r.dateTime())
+                    .previousIndustry(r.string()).eventId(r.string())
+                    .build();
+            case USER_EVENT -> UserEvent.builder()
+                    .eventType(r.string()).userId(r.string()).username(r.string()).role(r.enumName(Role.class))
+                    .previousStatus(r.bool()).email(r.string()).timestamp(r.dateTime())
+                    .build();
+            default -> throw new SerializationException("Unknown event type id " + type);
+        };
+    }
+
+    // @desc appends fields, skipping nulls (their absence is recorded in the presence bitmap)
+    static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(96);
+
+        Writer presence(Object... fields) {
+            long bits = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] != null) {
+                    bits |= 1L << i;
+                }
+            }
+            varLong(bits);
+            return this;
+        }
+
+        Writer string(String value) {
+            if (value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                varLong(bytes.length);
+                out.writeBytes(bytes);
+            }
+            return this;
+        }
+
+        Writer float64(Double value) {
+            if (value != null) {
+                long bits = Double.doubleToLongBits(value);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    out.write((int) (bits >>> shift));
+                }
+            }
+            return this;
+        }
+
+        Writer bool(Boolean value) {
+            if (value != null) {
+                out.write(value ? 1 : 0);
+            }
+            return this;
+        }
+
+        Writer enumName(Enum<?> value) {
+            return string(value == null ? null : value.name());
+        }
+
+        // @desc LocalDateTime carries no zone; stored as UTC epoch seconds + nanos, read back identically
+        Writer dateTime(LocalDateTime value) {
+            if (value != null) {
+                varLong(zigZag(value.toEpochSecond(ZoneOffset.UTC)));
+                varLong(value.getNano());
+            }
+            return this;
+        }
+
+        private void varLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    // @desc mirror of Writer; each read consumes the next presence bit
+    static final class Reader {
+        private final ByteBuffer in;
+        private final long presence;
+        private int field;
+
+        Reader(byte[] data) {
+            this.in = ByteBuffer.wrap(data);
+            this.presence = varLong();
+        }
+
+        private boolean present() {
+            return (presence & (1L << field++)) != 0;
+        }
+
+        String string() {
+            if (!present()) {
+                return null;
+            }
+            int length = (int) varLong();
+            String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+
+        Double float64() {
+            return present() ? in.getDouble() : null;
+        }
+
+        Boolean bool() {
+            return present() ? in.get() != 0 : null;
+        }
+
+        <E extends Enum<E>> E enumName(Class<E> type) {
+            String name = string();
+            try {
+                return name == null ? null : Enum.valueOf(type, name);
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+
+        LocalDateTime dateTime() {
+            if (!present()) {
+                return null;
+            }
+            long zigZagged = varLong();
+            long seconds = (zigZagged >>> 1) ^ -(zigZagged & 1);
+            int nanos = (int) varLong();
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+
+        private long varLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = in.get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.kafka.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+// @desc reads binary events (schema headers present) and, during migration, legacy JSON records
+// written by Spring's JsonSerializer (no schema header -> delegated to JsonDeserializer)
+public class EventDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> legacyJson = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        legacyJson.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        throw new SerializationException("Event records need headers to be deserialized");
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Header version = headers.lastHeader(EventSerializer.SCHEMA_VERSION_HEADER);
+        if (version == null) {
+            return legacyJson.deserialize(topic, headers, data);
+        }
+        Header type = headers.lastHeader(EventSerializer.EVENT_TYPE_HEADER);
+        if (type == null || type.value().length != 1 || version.value().length != 1) {
+            throw new SerializationException("Malformed event schema headers on " + topic);
+        }
+        return EventBinaryCodec.decode(type.value()[0], version.value()[0], data);
+    }
+
+    @Override
+    public void close() {
+        legacyJson.close();
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.kafka.serialization;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+// @desc value serializer for CreditEvent / ClientEvent / UserEvent: binary body plus schema headers
+public class EventSerializer implements Serializer<Object> {
+
+    public static final String SCHEMA_VERSION_HEADER = "event-schema-version";
+    public static final String EVENT_TYPE_HEADER = "event-type";
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return data == null ? null : EventBinaryCodec.encode(data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        headers.remove(SCHEMA_VERSION_HEADER);
+        headers.remove(EVENT_TYPE_HEADER);
+        headers.add(SCHEMA_VERSION_HEADER, new byte[]{(byte) EventBinaryCodec.SCHEMA_VERSION});
+        headers.add(EVENT_TYPE_HEADER, new byte[]{EventBinaryCodec.typeOf(data)});
+        return EventBinaryCodec.encode(data);
+    }
+}
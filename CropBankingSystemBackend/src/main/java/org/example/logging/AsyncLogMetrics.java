@@ -0,0 +1,55 @@
+package org.example.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+// @desc exposes queue depth and dropped events of every BoundedAsyncAppender declared in logback-spring.xml
+@Component
+public class AsyncLogMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (BoundedAsyncAppender appender : findAppenders()) {
+            Gauge.builder("logging.async.queue.depth", appender, BoundedAsyncAppender::getQueueDepth)
+                    .description("Log events waiting for the writer thread")
+                    .tag("appender", appender.getName())
+                    .register(registry);
+            Gauge.builder("logging.async.queue.capacity", appender, BoundedAsyncAppender::getQueueSize)
+                    .description("Maximum log events the queue can hold")
+                    .tag("appender", appender.getName())
+                    .register(registry);
+            FunctionCounter.builder("logging.async.dropped", appender, BoundedAsyncAppender::getDroppedCount)
+                    .description("Log events dropped because the queue was full")
+                    .tag("appender", appender.getName())
+                    .register(registry);
+        }
+    }
+
+    // @func helper method, an appender may be referenced by several loggers; register it once
+    private Iterable<BoundedAsyncAppender> findAppenders() {
+        Map<BoundedAsyncAppender, Boolean> found = new IdentityHashMap<>();
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            for (Logger logger : context.getLoggerList()) {
+                Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders();
+                while (it.hasNext()) {
+                    if (it.next() instanceof BoundedAsyncAppender appender) {
+                        found.put(appender, Boolean.TRUE);
+                    }
+                }
+            }
+        }
+        return found.keySet();
+    }
+}
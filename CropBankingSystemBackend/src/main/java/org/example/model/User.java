@@ -3,10 +3,18 @@ package org.example.model;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "users")
+// @desc one index per directory sort, holding every field the directory filters on and returns, so a
+// directory page is an index-only (covered) scan that never loads a document or its password hash
+@CompoundIndexes({
+        @CompoundIndex(name = "username_directory", def = "{ 'username': 1, 'role': 1, 'active': 1, 'email': 1, '_id': 1 }"),
+        @CompoundIndex(name = "email_directory", def = "{ 'email': 1, 'role': 1, 'active': 1, 'username': 1, '_id': 1 }")
+})
 @Setter
 @Getter
 @NoArgsConstructor
@@ -1,4 +1,5 @@
 package org.example.model;
 
+// @desc what the admin screen and /api/users/me show of a user; read through a projection, never the password
 public record UserAdminList(String id, String username, String email, Role role, Boolean active) {
 }
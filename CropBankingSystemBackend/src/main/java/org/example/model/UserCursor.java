@@ -0,0 +1,29 @@
+package org.example.model;
+
+import org.example.exception.InvalidQueryException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// @desc seek position of the last user on a page: the value of the sort field, which is unique on its own
+public record UserCursor(String sort, String value) {
+
+    public String encode() {
+        String raw = sort + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // @desc a cursor from a page with a different sort would seek on the wrong field, so it is rejected
+    public static UserCursor decode(String cursor, String sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (!raw.substring(0, sep).equals(sort)) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new UserCursor(sort, raw.substring(sep + 1));
+        } catch (RuntimeException ex) {
+            throw new InvalidQueryException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.model;
+
+import java.util.List;
+
+// @desc one keyset page of the user directory; nextCursor is null on the last page
+public record UserPage(List<UserAdminList> items, String nextCursor) {
+}
@@ -0,0 +1,21 @@
+package org.example.model;
+
+import lombok.*;
+
+// @desc admin user directory filters, bound from query params; all fields optional
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserQuery {
+    private Role role;
+    private Boolean active;
+
+    private String username; // prefix, case-sensitive
+    private String email; // prefix, case-sensitive
+
+    private String sort; // "username" (default) or "email", both ascending
+    private String cursor; // opaque, taken from UserPage.nextCursor
+    private Integer limit;
+}
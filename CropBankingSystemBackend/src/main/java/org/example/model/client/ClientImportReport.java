@@ -0,0 +1,11 @@
+package org.example.model.client;
+
+import java.util.List;
+
+// @desc response of POST /api/rm/clients/bulk: counts for the whole upload, and the rows that were not imported, in
+// upload order. failures holds the first clients.import.max-reported-failures of them, failed counts them all; when
+// the two agree, every row not listed was created. New client ids are not returned, as that list would grow with
+// the upload: the clients belong to the uploading RM and are found by their row's companyName through
+// GET /api/rm/clients/search?companyName=.
+public record ClientImportReport(int total, int created, int failed, List<ClientImportRow> failures) {
+}
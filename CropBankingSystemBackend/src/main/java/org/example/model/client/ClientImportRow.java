@@ -0,0 +1,7 @@
+package org.example.model.client;
+
+import java.util.List;
+
+// @desc one uploaded row that was not imported; row is 1-based and counts data rows only (no CSV header)
+public record ClientImportRow(int row, List<String> errors) {
+}
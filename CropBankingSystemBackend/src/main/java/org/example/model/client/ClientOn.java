@@ -3,15 +3,28 @@ package org.example.model.client;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "clients")
+// @desc every ClientRepository query is scoped to one RM, so every index leads with rmId.
+// rmId_industry_ci only serves queries that declare the same CASE_INSENSITIVE collation.
+@CompoundIndexes({
+        @CompoundIndex(name = "rmId_companyName", def = "{ 'rmId': 1, 'companyName': 1 }"),
+        @CompoundIndex(name = "rmId_industry", def = "{ 'rmId': 1, 'industry': 1 }"),
+        @CompoundIndex(name = "rmId_industry_ci", def = "{ 'rmId': 1, 'industry': 1 }",
+                collation = ClientOn.CASE_INSENSITIVE)
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ClientOn {
+    // @desc strength 2: compares letters and accents, ignores case
+    public static final String CASE_INSENSITIVE = "{ 'locale': 'en', 'strength': 2 }";
+
     @Id
     private String id;
 
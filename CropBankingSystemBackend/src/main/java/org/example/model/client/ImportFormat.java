@@ -0,0 +1,34 @@
+package org.example.model.client;
+
+import org.example.exception.InvalidImportException;
+import org.springframework.http.MediaType;
+
+// @desc upload encodings for POST /api/rm/clients/bulk, chosen by the request Content-Type
+public enum ImportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    ImportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    // @desc ignores parameters such as charset
+    public static ImportFormat fromContentType(String value) {
+        if (value != null) {
+            MediaType mediaType = MediaType.parseMediaType(value);
+            for (ImportFormat format : values()) {
+                if (mediaType.isCompatibleWith(MediaType.parseMediaType(format.contentType))) {
+                    return format;
+                }
+            }
+        }
+        throw new InvalidImportException("Unsupported upload type: " + value
+                + " (expected application/x-ndjson or text/csv)");
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.model.credit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreditDecision {
+    @Valid
+    @NotEmpty(message = "At least one decision is required")
+    @Size(max = 500, message = "At most 500 decisions per request")
+    private List<CreditDecisionItem> decisions;
+}
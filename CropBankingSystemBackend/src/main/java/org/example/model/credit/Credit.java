@@ -1,13 +1,25 @@
 package org.example.model.credit;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 
 @Document(collection = "credits")
+// @desc every index ends with createdAt/_id desc so keyset pages are index scans, not sorts
+@CompoundIndexes({
+        @CompoundIndex(name = "createdAt_id", def = "{ 'createdAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "status_createdAt_id", def = "{ 'status': 1, 'createdAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "submittedBy_createdAt_id", def = "{ 'submittedBy': 1, 'createdAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "submittedBy_status_createdAt_id",
+                def = "{ 'submittedBy': 1, 'status': 1, 'createdAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "clientId_createdAt_id", def = "{ 'clientId': 1, 'createdAt': -1, '_id': -1 }")
+})
 @Getter
 @Setter
 @ToString
@@ -26,6 +38,21 @@ public class Credit {
     private CreditStatus status;
     private String remarks;
 
+    // @desc set by the bulk decision that moved this credit out of PENDING, so the request can tell
+    // its own updates apart from ones made concurrently by someone else
+    @JsonIgnore
+    private String decisionBatchId;
+
+    // @desc work-queue lease (CreditWorkQueue): the analyst who claimed this PENDING credit, and until when.
+    // A lease past leaseExpiresAt is as good as none, so expired claims need no cleanup to be claimable again.
+    private String leasedBy;
+    private Instant leaseExpiresAt;
+
+    // @desc the credit_rollups bucket this credit is counted in (CreditRollupService), so a redelivered or
+    // reordered event never counts it twice
+    @JsonIgnore
+    private String rollupKey;
+
     @CreatedDate
     private Instant createdAt;
 }
@@ -26,4 +26,8 @@ public class CreditAllDetails {
     private CreditStatus status;
     private String remarks;
     private Instant createdAt;
+
+    // @desc PENDING credits only (CreditRiskService); null once decided
+    private Double riskScore;
+    private RiskGrade riskGrade;
 }
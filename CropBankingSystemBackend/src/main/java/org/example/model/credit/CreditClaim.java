@@ -0,0 +1,8 @@
+package org.example.model.credit;
+
+import java.time.Instant;
+import java.util.List;
+
+// @desc credits leased to the calling analyst by one claim, all until leaseExpiresAt; empty when the queue is
+public record CreditClaim(List<CreditAllDetails> items, Instant leaseExpiresAt) {
+}
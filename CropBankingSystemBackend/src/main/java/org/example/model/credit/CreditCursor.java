@@ -0,0 +1,36 @@
+package org.example.model.credit;
+
+import org.bson.types.ObjectId;
+import org.example.exception.InvalidQueryException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// @desc seek position of the last credit on a page: (createdAt, _id), sorted descending
+public record CreditCursor(Instant createdAt, String id) {
+
+    public static CreditCursor of(Credit credit) {
+        return new CreditCursor(credit.getCreatedAt(), credit.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CreditCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            Instant createdAt = Instant.ofEpochMilli(Long.parseLong(raw.substring(0, sep)));
+            String id = raw.substring(sep + 1);
+            if (!ObjectId.isValid(id)) {
+                throw new IllegalArgumentException(id);
+            }
+            return new CreditCursor(createdAt, id);
+        } catch (RuntimeException ex) {
+            throw new InvalidQueryException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.model.credit;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+// @desc one entry of a bulk decision (POST /api/credit-requests/decisions)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditDecisionItem {
+    @NotBlank(message = "Credit id is required")
+    private String id;
+
+    @NotNull(message = "Status is required")
+    private String status; // APPROVED or REJECTED
+
+    @NotBlank(message = "Purpose cannot be empty")
+    private String remarks;
+}
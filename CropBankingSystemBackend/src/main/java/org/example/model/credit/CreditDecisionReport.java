@@ -0,0 +1,20 @@
+package org.example.model.credit;
+
+import java.util.List;
+
+// @desc response of POST /api/credit-requests/decisions, results in request order
+public record CreditDecisionReport(int updated, int conflicts, List<CreditDecisionResult> results) {
+
+    public static CreditDecisionReport of(List<CreditDecisionResult> results) {
+        int updated = 0;
+        int conflicts = 0;
+        for (CreditDecisionResult result : results) {
+            if (result.outcome() == CreditDecisionResult.Outcome.UPDATED) {
+                updated++;
+            } else if (result.outcome() == CreditDecisionResult.Outcome.CONFLICT) {
+                conflicts++;
+            }
+        }
+        return new CreditDecisionReport(updated, conflicts, results);
+    }
+}
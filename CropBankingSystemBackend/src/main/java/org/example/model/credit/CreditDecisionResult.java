@@ -0,0 +1,15 @@
+package org.example.model.credit;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// @desc outcome of one bulk decision; status is the credit's status after the request
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CreditDecisionResult(String id, Outcome outcome, CreditStatus status, String message) {
+
+    public enum Outcome {
+        UPDATED,   // was PENDING, decision applied
+        CONFLICT,  // already decided (by another analyst or an earlier request) or claimed by another analyst, left untouched
+        NOT_FOUND,
+        INVALID
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.model.credit;
+
+import java.util.List;
+
+// @desc one keyset page; nextCursor is null on the last page
+public record CreditPage(List<CreditAllDetails> items, String nextCursor) {
+}
@@ -0,0 +1,30 @@
+package org.example.model.credit;
+
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+
+// @desc analyst/RM credit filters, bound from query params; all fields optional
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditQuery {
+    private CreditStatus status;
+    private Double minAmount;
+    private Double maxAmount;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant createdFrom; // inclusive
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant createdTo; // exclusive
+
+    private String clientId;
+    private String submittedBy;
+
+    private String cursor; // opaque, taken from CreditPage.nextCursor
+    private Integer limit;
+}
@@ -0,0 +1,35 @@
+package org.example.model.credit;
+
+import org.example.exception.InvalidQueryException;
+
+// @desc streaming export encodings for GET /api/credit-requests/export
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // @desc case-insensitive, so ?format=csv and ?format=CSV both work
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new InvalidQueryException("Unsupported export format: " + value);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.model.credit;
+
+// @desc risk band of a 0-100 score, A lowest risk
+public enum RiskGrade {
+    A, B, C, D, E;
+
+    public static RiskGrade of(double score) {
+        if (score < 20) {
+            return A;
+        }
+        if (score < 40) {
+            return B;
+        }
+        if (score < 60) {
+            return C;
+        }
+        if (score < 80) {
+            return D;
+        }
+        return E;
+    }
+}
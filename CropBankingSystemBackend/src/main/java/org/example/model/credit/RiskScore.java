@@ -0,0 +1,9 @@
+package org.example.model.credit;
+
+// @desc RiskScoringEngine output for one PENDING credit; higher score = riskier
+public record RiskScore(double score, RiskGrade grade) {
+
+    public static RiskScore of(double score) {
+        return new RiskScore(score, RiskGrade.of(score));
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.model.credit;
+
+import org.example.exception.InvalidQueryException;
+
+// @desc order in which POST /api/credit-requests/claims hands out PENDING credits
+public enum WorkQueuePriority {
+    AGE,    // oldest request first
+    AMOUNT, // largest request first
+    RISK;   // highest risk score first
+
+    // @desc case-insensitive, so ?priority=risk and ?priority=RISK both work
+    public static WorkQueuePriority from(String value) {
+        for (WorkQueuePriority priority : values()) {
+            if (priority.name().equalsIgnoreCase(value)) {
+                return priority;
+            }
+        }
+        throw new InvalidQueryException("Unsupported priority: " + value);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.model.stats;
+
+import lombok.*;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+// @desc credit count and requested amount for one (month, status, industry, RM) bucket. month is the credit's
+// creation month in UTC, status its current status, industry its client's current industry. Every report is a
+// month range, so month leads the index and the equality filters narrow the range behind it.
+@Document(collection = "credit_rollups")
+@CompoundIndex(name = "month_status_industry_rmId", def = "{ 'month': 1, 'status': 1, 'industry': 1, 'rmId': 1 }")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditRollup {
+
+    public static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM").withZone(ZoneOffset.UTC);
+
+    @Id
+    private String id; // keyOf(month, status, industry, rmId)
+
+    private String month; // yyyy-MM
+    private CreditStatus status;
+    private String industry;
+    private String rmId;
+
+    private long count;
+    private double amount;
+
+    // @desc last incremental update or reconcile; buckets the nightly reconcile did not rewrite are removed
+    private Instant updatedAt;
+
+    public static String monthOf(Instant createdAt) {
+        return createdAt == null ? null : MONTH.format(createdAt);
+    }
+
+    // @desc must build the same string as the $concat in CreditRollupRepositoryCustomImpl.ROLLUP_KEY
+    public static String keyOf(String month, CreditStatus status, String industry, String rmId) {
+        return String.join("|", orEmpty(month), status == null ? "" : status.name(), orEmpty(industry),
+                orEmpty(rmId));
+    }
+
+    // @desc the bucket a credit belongs in, given its client's current industry
+    public static CreditRollup of(Credit credit, String industry) {
+        return bucket(monthOf(credit.getCreatedAt()), credit.getStatus(), industry, credit.getSubmittedBy());
+    }
+
+    public static CreditRollup bucket(String month, CreditStatus status, String industry, String rmId) {
+        return CreditRollup.builder()
+                .id(keyOf(month, status, industry, rmId))
+                .month(month)
+                .status(status)
+                .industry(industry)
+                .rmId(rmId)
+                .build();
+    }
+
+    // @func helper method
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
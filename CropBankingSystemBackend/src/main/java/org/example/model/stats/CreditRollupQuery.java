@@ -0,0 +1,27 @@
+package org.example.model.stats;
+
+import lombok.*;
+import org.example.model.credit.CreditStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.YearMonth;
+
+// @desc GET /api/stats/credits filters, bound from query params; all fields optional
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditRollupQuery {
+    @DateTimeFormat(pattern = "yyyy-MM")
+    private YearMonth from; // inclusive
+
+    @DateTimeFormat(pattern = "yyyy-MM")
+    private YearMonth to; // inclusive
+
+    private CreditStatus status;
+    private String industry;
+    private String rmId;
+
+    private String groupBy; // comma-separated: month, status, industry, rm
+}
@@ -0,0 +1,10 @@
+package org.example.model.stats;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.model.credit.CreditStatus;
+
+// @desc one row of a rollup report; dimensions the report was not grouped by are null and left out of the JSON
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CreditRollupRow(String month, CreditStatus status, String industry, String rmId, long count,
+                              double amount) {
+}
@@ -0,0 +1,21 @@
+package org.example.model.stats;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.model.Role;
+import org.example.model.credit.CreditStatus;
+
+import java.util.Map;
+
+// @desc /api/stats body; sections the caller's role may not see are null and left out of the JSON
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DashboardStats(
+        Long totalCredits,
+        Map<CreditStatus, Long> creditsByStatus,
+        Double totalRequestedAmount,
+        Long totalClients,
+        Map<String, Long> clientsByIndustry,
+        Long totalUsers,
+        Map<Role, Long> usersByRole,
+        Long myClients,
+        Long myCreditRequests) {
+}
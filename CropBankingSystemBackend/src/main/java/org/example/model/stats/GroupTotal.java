@@ -0,0 +1,5 @@
+package org.example.model.stats;
+
+// @desc one $group bucket: _id is the grouped value, amount is only set by pipelines that $sum an amount
+public record GroupTotal(String id, long count, Double amount) {
+}
@@ -1,6 +1,7 @@
 package org.example.repository;
 
 import org.example.model.client.ClientOn;
+import org.example.model.stats.GroupTotal;
 import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
@@ -8,19 +9,28 @@ import org.springframework.data.mongodb.repository.Query;
 import java.util.List;
 import java.util.Optional;
 
-public interface ClientRepository extends MongoRepository<ClientOn, String> {
+public interface ClientRepository extends MongoRepository<ClientOn, String>, ClientRepositoryCustom {
     List<ClientOn> findByRmId(String rmId);
 
     Optional<ClientOn> findByIdAndRmId(String id, String rmId);
     List<ClientOn> findByRmIdAndCompanyNameContainingIgnoreCase(String rmId, String companyName);
+
+    // @desc equality under the index's case-insensitive collation (rmId_industry_ci), not an unanchored regex
+    @Query(value = "{ 'rmId': ?0, 'industry': ?1 }", collation = ClientOn.CASE_INSENSITIVE)
     List<ClientOn> findByRmIdAndIndustryIgnoreCase(String rmId, String industry);
 
-    // @desc filter the distinct industries
-    @Query("{ 'rmId': ?0 }")
+    // @desc one bucket per distinct industry with its client count (loads ClientIndustryCache)
     @Aggregation(pipeline = {
             "{ $match: { rmId: ?0 } }",
-            "{ $group: { _id: '$industry' } }",
-            "{ $project: { industry: '$_id', _id: 0 } }"
+            "{ $group: { _id: '$industry', count: { $sum: 1 } } }"
     })
-    List<String> findDistinctIndustriesByRmId(String rmId);
+    List<GroupTotal> countIndustriesByRmId(String rmId);
+
+    // @desc clients per industry (StatsService rebuild)
+    @Aggregation("{ $group: { _id: '$industry', count: { $sum: 1 } } }")
+    List<GroupTotal> countByIndustry();
+
+    // @desc clients per owning RM (StatsService rebuild)
+    @Aggregation("{ $group: { _id: '$rmId', count: { $sum: 1 } } }")
+    List<GroupTotal> countByRmId();
 }
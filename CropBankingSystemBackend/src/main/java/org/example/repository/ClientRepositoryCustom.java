@@ -0,0 +1,11 @@
+package org.example.repository;
+
+import org.example.model.client.ClientOn;
+
+import java.util.List;
+
+// @desc client writes that derived methods cannot express
+public interface ClientRepositoryCustom {
+    // @desc one unordered bulkWrite of inserts; ids must already be assigned by the caller
+    void insertUnordered(List<ClientOn> clients);
+}
@@ -0,0 +1,26 @@
+package org.example.repository;
+
+import org.example.model.client.ClientOn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+// @desc picked up by Spring Data as the ClientRepositoryCustom fragment (Impl suffix)
+public class ClientRepositoryCustomImpl implements ClientRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // @desc unordered: the server may apply the inserts in parallel instead of one after another
+    @Override
+    public void insertUnordered(List<ClientOn> clients) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ClientOn.class)
+                .insert(clients)
+                .execute();
+    }
+}
@@ -1,10 +1,27 @@
 package org.example.repository;
 
 import org.example.model.credit.Credit;
+import org.example.model.stats.GroupTotal;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface CreditRepository extends MongoRepository<Credit, String> {
+public interface CreditRepository extends MongoRepository<Credit, String>, CreditRepositoryCustom {
     List<Credit> findBySubmittedBy(String submittedBy);
+
+    // @desc count and requested amount per status (StatsService rebuild)
+    @Aggregation("{ $group: { _id: '$status', count: { $sum: 1 }, amount: { $sum: '$requestAmount' } } }")
+    List<GroupTotal> totalsByStatus();
+
+    // @desc approved count and amount per client, i.e. each client's existing exposure (risk scoring);
+    // the $in is an index range on clientId_createdAt_id
+    @Aggregation({"{ $match: { clientId: { $in: ?0 }, status: 'APPROVED' } }",
+            "{ $group: { _id: '$clientId', count: { $sum: 1 }, amount: { $sum: '$requestAmount' } } }"})
+    List<GroupTotal> approvedTotalsByClient(Collection<String> clientIds);
+
+    // @desc credit requests per submitting RM (StatsService rebuild)
+    @Aggregation("{ $group: { _id: '$submittedBy', count: { $sum: 1 } } }")
+    List<GroupTotal> countBySubmittedBy();
 }
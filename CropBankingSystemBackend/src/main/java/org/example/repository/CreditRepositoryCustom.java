@@ -0,0 +1,41 @@
+package org.example.repository;
+
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditCursor;
+import org.example.model.credit.CreditDecisionItem;
+import org.example.model.credit.CreditQuery;
+import org.example.model.credit.CreditStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+// @desc hand-written credit queries that derived methods cannot express
+public interface CreditRepositoryCustom {
+    // @desc filtered page sorted by createdAt desc, _id desc, starting after the cursor (null = first page)
+    List<Credit> findPage(CreditQuery query, CreditCursor after, int limit);
+
+    // @desc same filters and order, read lazily from a server cursor; caller must close the stream
+    Stream<Credit> streamCredits(CreditQuery query);
+
+    // @desc one unordered bulkWrite of updateOne(_id, status: PENDING, not leased to someone else); each matched
+    // credit gets its decision and decisionBatchId, and its lease is cleared. Credits that are no longer PENDING,
+    // or that another analyst holds a live lease on, are skipped, not overwritten.
+    void decidePending(List<CreditDecisionItem> decisions, String decisionBatchId, String analystId, Instant now);
+
+    // @desc findAndModify(_id, not leased to someone else) setting the decision and clearing the lease: for a PENDING
+    // credit the lease must be free, expired or the analyst's own; decided credits carry no lease and can be revised.
+    // Returns the credit as it was before, or null if it does not exist or another analyst holds a live lease on it.
+    Credit decide(String id, CreditStatus status, String remarks, String analystId, Instant now);
+
+    // @desc findAndModify(_id, status: PENDING, lease free or expired): leases the credit to the analyst until
+    // `until` and returns it as updated, or null if it was decided or is leased to anyone (the caller included)
+    Credit claimPending(String id, String analystId, Instant now, Instant until);
+
+    // @desc clears the analyst's own lease on a credit; false if the analyst held none on it
+    boolean releaseClaim(String id, String analystId);
+
+    // @desc findAndModify(_id, rollupKey != key) setting rollupKey: the credit as it was before, i.e. the bucket it
+    // was counted in, or null if it is already counted under key (or does not exist)
+    Credit moveRollupKey(String id, String key);
+}
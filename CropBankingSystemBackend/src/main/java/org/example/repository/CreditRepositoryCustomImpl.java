@@ -0,0 +1,170 @@
+package org.example.repository;
+
+import org.bson.types.ObjectId;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditCursor;
+import org.example.model.credit.CreditDecisionItem;
+import org.example.model.credit.CreditQuery;
+import org.example.model.credit.CreditStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// @desc picked up by Spring Data as the CreditRepositoryCustom fragment (Impl suffix)
+public class CreditRepositoryCustomImpl implements CreditRepositoryCustom {
+
+    // @desc the sort every index in Credit's @CompoundIndexes ends with
+    static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+
+    // @desc documents fetched per getMore while streaming
+    static final int STREAM_BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Credit> findPage(CreditQuery query, CreditCursor after, int limit) {
+        Query mongoQuery = new Query(filter(query, after))
+                .with(NEWEST_FIRST)
+                .limit(limit);
+        return mongoTemplate.find(mongoQuery, Credit.class);
+    }
+
+    @Override
+    public Stream<Credit> streamCredits(CreditQuery query) {
+        Query mongoQuery = new Query(filter(query, null))
+                .with(NEWEST_FIRST)
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(mongoQuery, Credit.class);
+    }
+
+    @Override
+    public void decidePending(List<CreditDecisionItem> decisions, String decisionBatchId, String analystId,
+                              Instant now) {
+        if (decisions.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Credit.class);
+        for (CreditDecisionItem decision : decisions) {
+            Query pending = new Query(Criteria.where("id").is(decision.getId())
+                    .and("status").is(CreditStatus.PENDING)
+                    .orOperator(leaseFree(now), Criteria.where("leasedBy").is(analystId)));
+            Update update = new Update()
+                    .set("status", CreditStatus.valueOf(decision.getStatus()))
+                    .set("remarks", decision.getRemarks())
+                    .set("decisionBatchId", decisionBatchId)
+                    .unset("leasedBy")
+                    .unset("leaseExpiresAt");
+            bulk.updateOne(pending, update);
+        }
+        bulk.execute();
+    }
+
+    // @desc the check and the write are one findAndModify, so a claim taken after the analyst loaded the credit
+    // makes this match nothing instead of being overwritten
+    @Override
+    public Credit decide(String id, CreditStatus status, String remarks, String analystId, Instant now) {
+        Query notLeasedToOther = new Query(Criteria.where("id").is(id)
+                .orOperator(Criteria.where("status").ne(CreditStatus.PENDING), leaseFree(now),
+                        Criteria.where("leasedBy").is(analystId)));
+        Update decision = new Update()
+                .set("status", status)
+                .set("remarks", remarks)
+                .unset("leasedBy")
+                .unset("leaseExpiresAt");
+        return mongoTemplate.findAndModify(notLeasedToOther, decision, Credit.class);
+    }
+
+    // @desc a single-document findAndModify by _id: concurrent claims on different credits never touch the same
+    // document, and two claims on the same one are serialized by the document lock, the loser matching nothing
+    @Override
+    public Credit claimPending(String id, String analystId, Instant now, Instant until) {
+        Query unclaimed = new Query(Criteria.where("id").is(id)
+                .and("status").is(CreditStatus.PENDING)
+                .andOperator(leaseFree(now)));
+        Update lease = new Update()
+                .set("leasedBy", analystId)
+                .set("leaseExpiresAt", until);
+        return mongoTemplate.findAndModify(unclaimed, lease, FindAndModifyOptions.options().returnNew(true),
+                Credit.class);
+    }
+
+    @Override
+    public boolean releaseClaim(String id, String analystId) {
+        Query mine = new Query(Criteria.where("id").is(id)
+                .and("status").is(CreditStatus.PENDING)
+                .and("leasedBy").is(analystId));
+        Update release = new Update()
+                .unset("leasedBy")
+                .unset("leaseExpiresAt");
+        return mongoTemplate.updateFirst(mine, release, Credit.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Credit moveRollupKey(String id, String key) {
+        Query elsewhere = new Query(Criteria.where("id").is(id).and("rollupKey").ne(key));
+        return mongoTemplate.findAndModify(elsewhere, new Update().set("rollupKey", key), Credit.class);
+    }
+
+    // @func helper method, no lease or an expired one; { leaseExpiresAt: null } also matches a missing field
+    private static Criteria leaseFree(Instant now) {
+        return new Criteria().orOperator(Criteria.where("leaseExpiresAt").is(null),
+                Criteria.where("leaseExpiresAt").lte(now));
+    }
+
+    // @func helper method, equality filters first, then ranges, then the seek predicate
+    static Criteria filter(CreditQuery query, CreditCursor after) {
+        List<Criteria> and = new ArrayList<>();
+
+        if (query.getSubmittedBy() != null) {
+            and.add(Criteria.where("submittedBy").is(query.getSubmittedBy()));
+        }
+        if (query.getClientId() != null) {
+            and.add(Criteria.where("clientId").is(query.getClientId()));
+        }
+        if (query.getStatus() != null) {
+            and.add(Criteria.where("status").is(query.getStatus()));
+        }
+        if (query.getMinAmount() != null || query.getMaxAmount() != null) {
+            Criteria amount = Criteria.where("requestAmount");
+            if (query.getMinAmount() != null) {
+                amount.gte(query.getMinAmount());
+            }
+            if (query.getMaxAmount() != null) {
+                amount.lte(query.getMaxAmount());
+            }
+            and.add(amount);
+        }
+        if (query.getCreatedFrom() != null || query.getCreatedTo() != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (query.getCreatedFrom() != null) {
+                createdAt.gte(query.getCreatedFrom());
+            }
+            if (query.getCreatedTo() != null) {
+                createdAt.lt(query.getCreatedTo());
+            }
+            and.add(createdAt);
+        }
+
+        // @desc seek: strictly older than the cursor, ties on createdAt broken by _id
+        if (after != null) {
+            and.add(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(after.createdAt()),
+                    new Criteria().andOperator(
+                            Criteria.where("createdAt").is(after.createdAt()),
+                            Criteria.where("id").lt(new ObjectId(after.id())))));
+        }
+
+        return and.isEmpty() ? new Criteria() : new Criteria().andOperator(and);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.repository;
+
+import org.example.model.stats.CreditRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface CreditRollupRepository extends MongoRepository<CreditRollup, String>, CreditRollupRepositoryCustom {
+}
@@ -0,0 +1,33 @@
+package org.example.repository;
+
+import org.example.model.stats.CreditRollup;
+import org.example.model.stats.CreditRollupRow;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// @desc rollup writes and reports that derived methods cannot express
+public interface CreditRollupRepositoryCustom {
+    // @desc upsert on the bucket's _id: $inc count and amount, key fields set on insert
+    void increment(CreditRollup bucket, long count, double amount, Instant now);
+
+    // @desc takes one credit out of an existing bucket; a bucket that is gone is left gone
+    void decrement(String id, double amount, Instant now);
+
+    // @desc buckets with months in [from, to] (yyyy-MM) and the given equality filters (null = any), summed per
+    // distinct combination of the groupBy fields (month, status, industry, rmId) and sorted by them
+    List<CreditRollupRow> summarize(String from, String to, String status, String industry, String rmId,
+                                    List<String> groupBy);
+
+    // @desc recomputes every bucket from the credits collection: stamps each credit with its rollupKey, then
+    // replaces the buckets the credits produce with updatedAt = stamp
+    void rebuildFromCredits(Instant stamp);
+
+    // @desc removes the buckets nothing has written since stamp, i.e. the ones the rebuild found no credits for.
+    // Only safe for the holder of the rebuild lease: another rebuild's buckets carry its own, possibly older, stamp.
+    void removeStale(Instant stamp);
+
+    // @desc take or extend the single rebuild lease; true if this owner holds it until now + lease
+    boolean tryAcquireRebuildLease(String owner, Duration lease);
+}
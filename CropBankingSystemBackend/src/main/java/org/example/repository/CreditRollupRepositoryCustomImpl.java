@@ -0,0 +1,165 @@
+package org.example.repository;
+
+import org.bson.Document;
+import org.example.model.stats.CreditRollup;
+import org.example.model.stats.CreditRollupRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+// @desc picked up by Spring Data as the CreditRollupRepositoryCustom fragment (Impl suffix)
+public class CreditRollupRepositoryCustomImpl implements CreditRollupRepositoryCustom {
+
+    static final String CREDITS = "credits";
+    static final String ROLLUPS = "credit_rollups";
+    static final String LOCK_COLLECTION = "credit_rollups_lock";
+    static final String REBUILD_LOCK_ID = "rebuild";
+
+    // @desc each credit reduced to its bucket fields; the client lookup is an _id index hit per credit. clientId is
+    // stored as a string and clients._id as an ObjectId, hence the $convert.
+    static final List<String> BUCKET_FIELDS = List.of(
+            "{ $project: { status: 1, rmId: '$submittedBy', amount: { $ifNull: ['$requestAmount', 0] },"
+                    + " month: { $dateToString: { format: '%Y-%m', date: '$createdAt', timezone: 'UTC' } },"
+                    + " clientOid: { $convert: { input: '$clientId', to: 'objectId', onError: null, onNull: null } } } }",
+            "{ $lookup: { from: 'clients', localField: 'clientOid', foreignField: '_id', as: 'client' } }",
+            "{ $set: { industry: { $first: '$client.industry' } } }");
+
+    // @desc same string as CreditRollup.keyOf
+    static final String ROLLUP_KEY = "{ $set: { rollupKey: { $concat: [ { $ifNull: ['$month', ''] }, '|',"
+            + " { $ifNull: ['$status', ''] }, '|', { $ifNull: ['$industry', ''] }, '|', { $ifNull: ['$rmId', ''] } ] } } }";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(CreditRollup bucket, long count, double amount, Instant now) {
+        Query byKey = new Query(Criteria.where("id").is(bucket.getId()));
+        Update update = new Update()
+                .inc("count", count)
+                .inc("amount", amount)
+                .set("updatedAt", now)
+                .setOnInsert("month", bucket.getMonth())
+                .setOnInsert("status", bucket.getStatus())
+                .setOnInsert("industry", bucket.getIndustry())
+                .setOnInsert("rmId", bucket.getRmId());
+        mongoTemplate.upsert(byKey, update, CreditRollup.class);
+    }
+
+    @Override
+    public void decrement(String id, double amount, Instant now) {
+        Query byKey = new Query(Criteria.where("id").is(id));
+        Update update = new Update()
+                .inc("count", -1)
+                .inc("amount", -amount)
+                .set("updatedAt", now);
+        mongoTemplate.updateFirst(byKey, update, CreditRollup.class);
+    }
+
+    // @desc $match on the month_status_industry_rmId range, then one $group over the matching buckets; the work
+    // grows with the number of buckets in range, not with the number of credits
+    @Override
+    public List<CreditRollupRow> summarize(String from, String to, String status, String industry, String rmId,
+                                           List<String> groupBy) {
+        Criteria match = Criteria.where("month").gte(from).lte(to);
+        if (status != null) {
+            match.and("status").is(status);
+        }
+        if (industry != null) {
+            match.and("industry").is(industry);
+        }
+        if (rmId != null) {
+            match.and("rmId").is(rmId);
+        }
+        match.and("count").gt(0);
+
+        Document key = new Document();
+        Document sort = new Document();
+        Document project = new Document("_id", 0).append("count", 1).append("amount", 1);
+        for (String field : groupBy) {
+            key.append(field, "$" + field);
+            sort.append("_id." + field, 1);
+            project.append(field, "$_id." + field);
+        }
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(match));
+        stages.add(stage(new Document("$group", new Document("_id", key)
+                .append("count", new Document("$sum", "$count"))
+                .append("amount", new Document("$sum", "$amount")))));
+        if (!sort.isEmpty()) {
+            stages.add(stage(new Document("$sort", sort)));
+        }
+        stages.add(stage(new Document("$project", project)));
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(stages), ROLLUPS, CreditRollupRow.class)
+                .getMappedResults();
+    }
+
+    // @desc two passes over credits, both ending in $merge so nothing streams through the application: the first
+    // writes each credit's rollupKey back onto it, the second replaces every bucket with its recomputed totals.
+    // An incremental update landing between the passes can be counted twice until the next reconcile.
+    @Override
+    public void rebuildFromCredits(Instant stamp) {
+        List<Document> keys = pipeline();
+        keys.add(Document.parse("{ $project: { rollupKey: 1 } }"));
+        keys.add(Document.parse("{ $merge: { into: '" + CREDITS + "', on: '_id',"
+                + " whenMatched: 'merge', whenNotMatched: 'discard' } }"));
+        mongoTemplate.getCollection(CREDITS).aggregate(keys).allowDiskUse(true).toCollection();
+
+        List<Document> buckets = pipeline();
+        buckets.add(Document.parse("{ $group: { _id: '$rollupKey', month: { $first: '$month' },"
+                + " status: { $first: '$status' }, industry: { $first: '$industry' }, rmId: { $first: '$rmId' },"
+                + " count: { $sum: 1 }, amount: { $sum: '$amount' } } }"));
+        buckets.add(new Document("$set", new Document("updatedAt", Date.from(stamp))));
+        buckets.add(Document.parse("{ $merge: { into: '" + ROLLUPS + "', on: '_id',"
+                + " whenMatched: 'replace', whenNotMatched: 'insert' } }"));
+        mongoTemplate.getCollection(CREDITS).aggregate(buckets).allowDiskUse(true).toCollection();
+    }
+
+    @Override
+    public void removeStale(Instant stamp) {
+        mongoTemplate.remove(new Query(Criteria.where("updatedAt").lt(stamp)), CreditRollup.class);
+    }
+
+    // @desc same single-document lease as the outbox relay's, in its own collection
+    @Override
+    public boolean tryAcquireRebuildLease(String owner, Duration lease) {
+        Instant now = Instant.now();
+        Query free = new Query(Criteria.where("_id").is(REBUILD_LOCK_ID)
+                .orOperator(Criteria.where("lockedUntil").lt(now), Criteria.where("owner").is(owner)));
+        Update take = new Update()
+                .set("owner", owner)
+                .set("lockedUntil", now.plus(lease));
+        try {
+            // @desc no match + upsert collides on _id when another owner holds a live lease
+            mongoTemplate.upsert(free, take, LOCK_COLLECTION);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    // @func helper method, a fresh mutable copy of the shared stages
+    private static List<Document> pipeline() {
+        List<Document> stages = new ArrayList<>();
+        BUCKET_FIELDS.forEach(stage -> stages.add(Document.parse(stage)));
+        stages.add(Document.parse(ROLLUP_KEY));
+        return stages;
+    }
+
+    // @func helper method, a raw stage passed through as written
+    private static AggregationOperation stage(Document document) {
+        return context -> document;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.repository;
+
+import org.example.model.client.ClientOn;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+// @desc client name lookups for ReactiveCreditService
+public interface ReactiveClientRepository extends ReactiveMongoRepository<ClientOn, String> {
+}
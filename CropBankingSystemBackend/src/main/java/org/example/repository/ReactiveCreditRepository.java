@@ -0,0 +1,19 @@
+package org.example.repository;
+
+import org.example.model.credit.Credit;
+import org.example.model.stats.GroupTotal;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+// @desc non-blocking reads for ReactiveCreditService; writes stay on CreditRepository (outbox transaction)
+public interface ReactiveCreditRepository extends ReactiveMongoRepository<Credit, String> {
+    Flux<Credit> findBySubmittedBy(String submittedBy);
+
+    // @desc same pipeline as CreditRepository.approvedTotalsByClient
+    @Aggregation({"{ $match: { clientId: { $in: ?0 }, status: 'APPROVED' } }",
+            "{ $group: { _id: '$clientId', count: { $sum: 1 }, amount: { $sum: '$requestAmount' } } }"})
+    Flux<GroupTotal> approvedTotalsByClient(Collection<String> clientIds);
+}
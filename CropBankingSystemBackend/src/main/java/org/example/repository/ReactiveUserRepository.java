@@ -0,0 +1,8 @@
+package org.example.repository;
+
+import org.example.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+// @desc RM name lookups for ReactiveCreditService
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+}
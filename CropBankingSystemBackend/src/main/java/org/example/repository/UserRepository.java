@@ -1,14 +1,21 @@
 package org.example.repository;
 
 import org.example.model.User;
+import org.example.model.stats.GroupTotal;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 // @desc handles retrieval of data from mongoDB
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
     // @desc jdk8 handles null pointer exception
     Optional<User> findUserByEmail(String email);
+
+    // @desc users per role (StatsService rebuild)
+    @Aggregation("{ $group: { _id: '$role', count: { $sum: 1 } } }")
+    List<GroupTotal> countByRole();
 }
@@ -0,0 +1,17 @@
+package org.example.repository;
+
+import org.example.model.UserAdminList;
+import org.example.model.UserCursor;
+import org.example.model.UserQuery;
+
+import java.util.List;
+import java.util.Optional;
+
+// @desc user directory reads; return the projected UserAdminList, never a User with its password hash
+public interface UserRepositoryCustom {
+    // @desc filtered page sorted ascending by query.sort, starting after the cursor (null = first page);
+    // limit 0 means no limit
+    List<UserAdminList> findDirectoryPage(UserQuery query, UserCursor after, int limit);
+
+    Optional<UserAdminList> findSummaryByEmail(String email);
+}
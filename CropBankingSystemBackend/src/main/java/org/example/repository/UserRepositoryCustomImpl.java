@@ -0,0 +1,71 @@
+package org.example.repository;
+
+import org.example.model.User;
+import org.example.model.UserAdminList;
+import org.example.model.UserCursor;
+import org.example.model.UserQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// @desc picked up by Spring Data as the UserRepositoryCustom fragment (Impl suffix)
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    // @desc the fields of UserAdminList; with _id these are all in User's directory indexes
+    static final String[] SUMMARY_FIELDS = {"username", "email", "role", "active"};
+
+    // @desc prefix + this is the exclusive upper bound of a prefix range (above every BMP character)
+    private static final char PREFIX_END = Character.MAX_VALUE;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<UserAdminList> findDirectoryPage(UserQuery query, UserCursor after, int limit) {
+        Query mongoQuery = summary(new Query(filter(query, after)))
+                .with(Sort.by(Sort.Direction.ASC, query.getSort()))
+                .limit(limit);
+        return mongoTemplate.query(User.class).as(UserAdminList.class).matching(mongoQuery).all();
+    }
+
+    @Override
+    public Optional<UserAdminList> findSummaryByEmail(String email) {
+        Query mongoQuery = summary(new Query(Criteria.where("email").is(email)));
+        return mongoTemplate.query(User.class).as(UserAdminList.class).matching(mongoQuery).one();
+    }
+
+    // @func helper method
+    private static Query summary(Query query) {
+        query.fields().include(SUMMARY_FIELDS);
+        return query;
+    }
+
+    // @func helper method, prefixes are index ranges rather than regexes; the seek is a range on the sort field
+    static Criteria filter(UserQuery query, UserCursor after) {
+        List<Criteria> and = new ArrayList<>();
+
+        if (query.getRole() != null) {
+            and.add(Criteria.where("role").is(query.getRole()));
+        }
+        if (query.getActive() != null) {
+            and.add(Criteria.where("active").is(query.getActive()));
+        }
+        if (query.getUsername() != null) {
+            and.add(Criteria.where("username").gte(query.getUsername()).lt(query.getUsername() + PREFIX_END));
+        }
+        if (query.getEmail() != null) {
+            and.add(Criteria.where("email").gte(query.getEmail()).lt(query.getEmail() + PREFIX_END));
+        }
+        if (after != null) {
+            and.add(Criteria.where(after.sort()).gt(after.value()));
+        }
+
+        return and.isEmpty() ? new Criteria() : new Criteria().andOperator(and);
+    }
+}
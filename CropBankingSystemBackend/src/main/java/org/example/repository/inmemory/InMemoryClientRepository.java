@@ -0,0 +1,108 @@
+package org.example.repository.inmemory;
+
+import org.example.model.client.ClientOn;
+import org.example.model.stats.GroupTotal;
+import org.example.repository.ClientRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+// @desc ClientRepository for the inmemory profile. Indexes mirror the Mongo ones: rmId, industry (the
+// countByIndustry buckets) and rmId + case-folded industry (rmId_industry_ci).
+@Repository
+@Profile("inmemory")
+public class InMemoryClientRepository extends InMemoryRepository<ClientOn> implements ClientRepository {
+
+    private record RmIndustry(String rmId, String industry) {
+    }
+
+    private final Index<ClientOn, String> byRmId = index(ClientOn::getRmId);
+    private final Index<ClientOn, String> byIndustry = index(ClientOn::getIndustry);
+    private final Index<ClientOn, String> byRmIdAndIndustry = index(
+            client -> new RmIndustry(client.getRmId(), fold(client.getIndustry())));
+
+    public InMemoryClientRepository() {
+        super(ClientOn.class, ClientOn::getId, ClientOn::setId);
+    }
+
+    @Override
+    public List<ClientOn> findByRmId(String rmId) {
+        return find(byRmId.get(rmId), client -> Objects.equals(client.getRmId(), rmId));
+    }
+
+    @Override
+    public Optional<ClientOn> findByIdAndRmId(String id, String rmId) {
+        ClientOn client = stored(id);
+        if (client == null || !Objects.equals(client.getRmId(), rmId)) {
+            return Optional.empty();
+        }
+        return Optional.of(copy(client));
+    }
+
+    @Override
+    public List<ClientOn> findByRmIdAndCompanyNameContainingIgnoreCase(String rmId, String companyName) {
+        String part = fold(companyName);
+        return find(byRmId.get(rmId), client -> Objects.equals(client.getRmId(), rmId)
+                && client.getCompanyName() != null && fold(client.getCompanyName()).contains(part));
+    }
+
+    @Override
+    public List<ClientOn> findByRmIdAndIndustryIgnoreCase(String rmId, String industry) {
+        String folded = fold(industry);
+        return find(byRmIdAndIndustry.get(new RmIndustry(rmId, folded)),
+                client -> Objects.equals(client.getRmId(), rmId) && Objects.equals(fold(client.getIndustry()), folded));
+    }
+
+    @Override
+    public List<GroupTotal> countIndustriesByRmId(String rmId) {
+        Map<String, Long> counts = new TreeMap<>();
+        for (String id : byRmId.get(rmId)) {
+            ClientOn client = stored(id);
+            if (client != null && Objects.equals(client.getRmId(), rmId) && client.getIndustry() != null) {
+                counts.merge(client.getIndustry(), 1L, Long::sum);
+            }
+        }
+        List<GroupTotal> totals = new ArrayList<>();
+        counts.forEach((industry, count) -> totals.add(new GroupTotal(industry, count, null)));
+        return totals;
+    }
+
+    @Override
+    public List<GroupTotal> countByIndustry() {
+        return byIndustry.groupCounts();
+    }
+
+    @Override
+    public List<GroupTotal> countByRmId() {
+        return byRmId.groupCounts();
+    }
+
+    // @desc unordered: every client is attempted, a duplicate id is reported after the rest went in
+    @Override
+    public void insertUnordered(List<ClientOn> clients) {
+        DuplicateKeyException first = null;
+        for (ClientOn client : clients) {
+            try {
+                insert(client);
+            } catch (DuplicateKeyException ex) {
+                first = first == null ? ex : first;
+            }
+        }
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    // @func helper method, approximates the strength-2 'en' collation (case-insensitive)
+    private static String fold(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ENGLISH);
+    }
+}
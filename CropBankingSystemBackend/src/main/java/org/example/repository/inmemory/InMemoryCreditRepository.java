@@ -0,0 +1,229 @@
+package org.example.repository.inmemory;
+
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditCursor;
+import org.example.model.credit.CreditDecisionItem;
+import org.example.model.credit.CreditQuery;
+import org.example.model.credit.CreditStatus;
+import org.example.model.stats.GroupTotal;
+import org.example.repository.CreditRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// @desc CreditRepository for the inmemory profile. Like the Mongo indexes, every index is ordered newest first
+// (createdAt desc, _id desc), so a keyset page is a tailSet walk from the cursor that stops after `limit` hits.
+@Repository
+@Profile("inmemory")
+public class InMemoryCreditRepository extends InMemoryRepository<Credit> implements CreditRepository {
+
+    // @desc ObjectId hex strings sort like the ObjectIds themselves
+    static final Comparator<CreditCursor> NEWEST_FIRST = Comparator
+            .comparing(CreditCursor::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(CreditCursor::id, Comparator.reverseOrder());
+
+    private final SortedIndex<Credit, CreditCursor> byCreatedAt = sortedIndex(CreditCursor::of, NEWEST_FIRST);
+    private final Index<Credit, CreditCursor> bySubmittedBy = sorted(Credit::getSubmittedBy);
+    private final Index<Credit, CreditCursor> byClientId = sorted(Credit::getClientId);
+    private final Index<Credit, CreditCursor> byStatus = sorted(
+            credit -> credit.getStatus() == null ? null : credit.getStatus().name());
+
+    public InMemoryCreditRepository() {
+        super(Credit.class, Credit::getId, Credit::setId);
+    }
+
+    @Override
+    public List<Credit> findBySubmittedBy(String submittedBy) {
+        return copies(stream(bySubmittedBy.get(submittedBy))
+                .filter(credit -> Objects.equals(credit.getSubmittedBy(), submittedBy)));
+    }
+
+    @Override
+    public List<GroupTotal> totalsByStatus() {
+        List<GroupTotal> totals = new ArrayList<>();
+        for (CreditStatus status : CreditStatus.values()) {
+            long count = 0;
+            double amount = 0;
+            for (Credit credit : stream(byStatus.get(status.name())).filter(c -> c.getStatus() == status).toList()) {
+                count++;
+                amount += credit.getRequestAmount() == null ? 0 : credit.getRequestAmount();
+            }
+            if (count > 0) {
+                totals.add(new GroupTotal(status.name(), count, amount));
+            }
+        }
+        return totals;
+    }
+
+    @Override
+    public List<GroupTotal> approvedTotalsByClient(Collection<String> clientIds) {
+        List<GroupTotal> totals = new ArrayList<>();
+        for (String clientId : new HashSet<>(clientIds)) {
+            long count = 0;
+            double amount = 0;
+            for (Credit credit : stream(byClientId.get(clientId))
+                    .filter(c -> Objects.equals(c.getClientId(), clientId) && c.getStatus() == CreditStatus.APPROVED)
+                    .toList()) {
+                count++;
+                amount += credit.getRequestAmount() == null ? 0 : credit.getRequestAmount();
+            }
+            if (count > 0) {
+                totals.add(new GroupTotal(clientId, count, amount));
+            }
+        }
+        return totals;
+    }
+
+    @Override
+    public List<GroupTotal> countBySubmittedBy() {
+        return bySubmittedBy.groupCounts();
+    }
+
+    @Override
+    public List<Credit> findPage(CreditQuery query, CreditCursor after, int limit) {
+        NavigableSet<CreditCursor> candidates = candidates(query);
+        if (after != null) {
+            candidates = candidates.tailSet(after, false);
+        }
+        return copies(stream(candidates).filter(credit -> matches(query, credit)).limit(limit));
+    }
+
+    @Override
+    public Stream<Credit> streamCredits(CreditQuery query) {
+        return stream(candidates(query)).filter(credit -> matches(query, credit)).map(this::copy);
+    }
+
+    // @desc a credit is decided only if it is still PENDING, and not leased to someone else, at the moment its own
+    // entry is updated
+    @Override
+    public void decidePending(List<CreditDecisionItem> decisions, String decisionBatchId, String analystId,
+                              Instant now) {
+        for (CreditDecisionItem decision : decisions) {
+            updateIf(decision.getId(), credit -> credit.getStatus() == CreditStatus.PENDING
+                    && (leaseFree(credit, now) || Objects.equals(credit.getLeasedBy(), analystId)), credit -> {
+                credit.setStatus(CreditStatus.valueOf(decision.getStatus()));
+                credit.setRemarks(decision.getRemarks());
+                credit.setDecisionBatchId(decisionBatchId);
+                credit.setLeasedBy(null);
+                credit.setLeaseExpiresAt(null);
+            });
+        }
+    }
+
+    @Override
+    public Credit decide(String id, CreditStatus status, String remarks, String analystId, Instant now) {
+        Credit[] previous = {null};
+        updateIf(id, credit -> credit.getStatus() != CreditStatus.PENDING || leaseFree(credit, now)
+                || Objects.equals(credit.getLeasedBy(), analystId), credit -> {
+            previous[0] = copy(credit);
+            credit.setStatus(status);
+            credit.setRemarks(remarks);
+            credit.setLeasedBy(null);
+            credit.setLeaseExpiresAt(null);
+        });
+        return previous[0];
+    }
+
+    @Override
+    public Credit claimPending(String id, String analystId, Instant now, Instant until) {
+        Credit[] claimed = {null};
+        updateIf(id, credit -> credit.getStatus() == CreditStatus.PENDING && leaseFree(credit, now), credit -> {
+            credit.setLeasedBy(analystId);
+            credit.setLeaseExpiresAt(until);
+            claimed[0] = copy(credit);
+        });
+        return claimed[0];
+    }
+
+    @Override
+    public boolean releaseClaim(String id, String analystId) {
+        return updateIf(id, credit -> credit.getStatus() == CreditStatus.PENDING
+                && Objects.equals(credit.getLeasedBy(), analystId), credit -> {
+            credit.setLeasedBy(null);
+            credit.setLeaseExpiresAt(null);
+        });
+    }
+
+    @Override
+    public Credit moveRollupKey(String id, String key) {
+        Credit[] previous = {null};
+        updateIf(id, credit -> !Objects.equals(credit.getRollupKey(), key), credit -> {
+            previous[0] = copy(credit);
+            credit.setRollupKey(key);
+        });
+        return previous[0];
+    }
+
+    // @func helper method, the most selective equality filter's index, as the Mongo planner would pick
+    private NavigableSet<CreditCursor> candidates(CreditQuery query) {
+        if (query.getClientId() != null) {
+            return byClientId.get(query.getClientId());
+        }
+        if (query.getSubmittedBy() != null) {
+            return bySubmittedBy.get(query.getSubmittedBy());
+        }
+        if (query.getStatus() != null) {
+            return byStatus.get(query.getStatus().name());
+        }
+        return byCreatedAt.entries();
+    }
+
+    // @func helper method, stored documents in index order; entries left behind by a concurrent update are skipped
+    private Stream<Credit> stream(NavigableSet<CreditCursor> entries) {
+        return entries.stream()
+                .map(entry -> {
+                    Credit credit = stored(entry.id());
+                    return credit != null && Objects.equals(credit.getCreatedAt(), entry.createdAt()) ? credit : null;
+                })
+                .filter(Objects::nonNull);
+    }
+
+    // @func helper method, same predicate as CreditRepositoryCustomImpl.leaseFree
+    private static boolean leaseFree(Credit credit, Instant now) {
+        return credit.getLeaseExpiresAt() == null || !credit.getLeaseExpiresAt().isAfter(now);
+    }
+
+    // @func helper method, same filters as CreditRepositoryCustomImpl.filter
+    static boolean matches(CreditQuery query, Credit credit) {
+        if (query.getSubmittedBy() != null && !query.getSubmittedBy().equals(credit.getSubmittedBy())) {
+            return false;
+        }
+        if (query.getClientId() != null && !query.getClientId().equals(credit.getClientId())) {
+            return false;
+        }
+        if (query.getStatus() != null && query.getStatus() != credit.getStatus()) {
+            return false;
+        }
+        if (query.getMinAmount() != null || query.getMaxAmount() != null) {
+            Double amount = credit.getRequestAmount();
+            if (amount == null
+                    || (query.getMinAmount() != null && amount < query.getMinAmount())
+                    || (query.getMaxAmount() != null && amount > query.getMaxAmount())) {
+                return false;
+            }
+        }
+        if (query.getCreatedFrom() != null || query.getCreatedTo() != null) {
+            if (credit.getCreatedAt() == null
+                    || (query.getCreatedFrom() != null && credit.getCreatedAt().isBefore(query.getCreatedFrom()))
+                    || (query.getCreatedTo() != null && !credit.getCreatedAt().isBefore(query.getCreatedTo()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // @func helper method
+    private Index<Credit, CreditCursor> sorted(Function<Credit, ?> field) {
+        return index(field, CreditCursor::of, NEWEST_FIRST);
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.repository.inmemory;
+
+import org.example.model.client.ClientOn;
+import org.example.model.credit.Credit;
+import org.example.model.stats.CreditRollup;
+import org.example.model.stats.CreditRollupRow;
+import org.example.repository.ClientRepository;
+import org.example.repository.CreditRepository;
+import org.example.repository.CreditRollupRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+// @desc CreditRollupRepository for the inmemory profile. There are a few hundred buckets at most (months x statuses
+// x industries x RMs), so summarize filters all of them instead of keeping a month index.
+@Repository
+@Profile("inmemory")
+public class InMemoryCreditRollupRepository extends InMemoryRepository<CreditRollup> implements CreditRollupRepository {
+
+    private record Lease(String owner, Instant until) {
+    }
+
+    // @desc Mongo sorts a missing field before any string
+    private static final Comparator<CreditRollupRow> ROW_ORDER = Comparator
+            .comparing(CreditRollupRow::month, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(row -> row.status() == null ? null : row.status().name(),
+                    Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CreditRollupRow::industry, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CreditRollupRow::rmId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final CreditRepository creditRepository;
+    private final ClientRepository clientRepository;
+
+    private final AtomicReference<Lease> lease = new AtomicReference<>();
+
+    public InMemoryCreditRollupRepository(CreditRepository creditRepository, ClientRepository clientRepository) {
+        super(CreditRollup.class, CreditRollup::getId, CreditRollup::setId);
+        this.creditRepository = creditRepository;
+        this.clientRepository = clientRepository;
+    }
+
+    @Override
+    public void increment(CreditRollup bucket, long count, double amount, Instant now) {
+        upsert(bucket.getId(), () -> CreditRollup.bucket(bucket.getMonth(), bucket.getStatus(), bucket.getIndustry(),
+                bucket.getRmId()), rollup -> {
+            rollup.setCount(rollup.getCount() + count);
+            rollup.setAmount(rollup.getAmount() + amount);
+            rollup.setUpdatedAt(now);
+        });
+    }
+
+    @Override
+    public void decrement(String id, double amount, Instant now) {
+        updateIf(id, rollup -> true, rollup -> {
+            rollup.setCount(rollup.getCount() - 1);
+            rollup.setAmount(rollup.getAmount() - amount);
+            rollup.setUpdatedAt(now);
+        });
+    }
+
+    @Override
+    public List<CreditRollupRow> summarize(String from, String to, String status, String industry, String rmId,
+                                           List<String> groupBy) {
+        // @desc keyed by the grouped dimensions, as a row with zero totals
+        Map<CreditRollupRow, CreditRollupRow> rows = new HashMap<>();
+        for (CreditRollup rollup : findAll()) {
+            if (!matches(rollup, from, to, status, industry, rmId)) {
+                continue;
+            }
+            CreditRollupRow key = new CreditRollupRow(
+                    groupBy.contains("month") ? rollup.getMonth() : null,
+                    groupBy.contains("status") ? rollup.getStatus() : null,
+                    groupBy.contains("industry") ? rollup.getIndustry() : null,
+                    groupBy.contains("rmId") ? rollup.getRmId() : null, 0, 0);
+            rows.merge(key, new CreditRollupRow(key.month(), key.status(), key.industry(), key.rmId(),
+                            rollup.getCount(), rollup.getAmount()),
+                    (a, b) -> new CreditRollupRow(a.month(), a.status(), a.industry(), a.rmId(),
+                            a.count() + b.count(), a.amount() + b.amount()));
+        }
+        List<CreditRollupRow> result = new ArrayList<>(rows.values());
+        result.sort(ROW_ORDER);
+        return result;
+    }
+
+    // @desc same two passes as the Mongo pipelines: stamp each credit with its rollupKey, then replace every bucket
+    // the credits produce
+    @Override
+    public void rebuildFromCredits(Instant stamp) {
+        Map<String, Optional<String>> industries = new HashMap<>();
+        Map<String, CreditRollup> buckets = new HashMap<>();
+        for (Credit credit : creditRepository.findAll()) {
+            String industry = credit.getClientId() == null ? null : industries.computeIfAbsent(credit.getClientId(),
+                    clientId -> clientRepository.findById(clientId).map(ClientOn::getIndustry)).orElse(null);
+            CreditRollup of = CreditRollup.of(credit, industry);
+            CreditRollup bucket = buckets.computeIfAbsent(of.getId(), id -> of);
+            creditRepository.moveRollupKey(credit.getId(), bucket.getId());
+            bucket.setCount(bucket.getCount() + 1);
+            bucket.setAmount(bucket.getAmount() + (credit.getRequestAmount() == null ? 0 : credit.getRequestAmount()));
+        }
+        for (CreditRollup bucket : buckets.values()) {
+            bucket.setUpdatedAt(stamp);
+            save(bucket);
+        }
+    }
+
+    @Override
+    public void removeStale(Instant stamp) {
+        for (CreditRollup rollup : findAll()) {
+            deleteIf(rollup.getId(), stored -> stored.getUpdatedAt() == null || stored.getUpdatedAt().isBefore(stamp));
+        }
+    }
+
+    @Override
+    public boolean tryAcquireRebuildLease(String owner, Duration duration) {
+        Instant now = Instant.now();
+        Lease current = lease.get();
+        if (current != null && !current.owner().equals(owner) && current.until().isAfter(now)) {
+            return false;
+        }
+        return lease.compareAndSet(current, new Lease(owner, now.plus(duration)));
+    }
+
+    // @func helper method, the summarize $match
+    private static boolean matches(CreditRollup rollup, String from, String to, String status, String industry,
+                                   String rmId) {
+        return rollup.getMonth() != null && rollup.getMonth().compareTo(from) >= 0 && rollup.getMonth().compareTo(to) <= 0
+                && (status == null || rollup.getStatus() != null && status.equals(rollup.getStatus().name()))
+                && (industry == null || industry.equals(rollup.getIndustry()))
+                && (rmId == null || rmId.equals(rollup.getRmId()))
+                && rollup.getCount() > 0;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.repository.inmemory;
+
+import org.example.kafka.outbox.OutboxEvent;
+import org.example.kafka.outbox.OutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+// @desc OutboxRepository for the inmemory profile. The relay is off there by default (outbox.relay.enabled), so
+// nothing drains the outbox; past `capacity` the oldest events are dropped to keep long load tests bounded.
+@Repository
+@Profile("inmemory")
+public class InMemoryOutboxRepository extends InMemoryRepository<OutboxEvent> implements OutboxRepository {
+
+    private record Position(Instant createdAt, String id) {
+    }
+
+    private record Lease(String owner, Instant until) {
+    }
+
+    private final SortedIndex<OutboxEvent, Position> byCreatedAt = sortedIndex(
+            event -> new Position(event.getCreatedAt(), event.getId()),
+            Comparator.comparing(Position::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Position::id));
+
+    private final AtomicReference<Lease> lease = new AtomicReference<>();
+
+    private final int capacity;
+
+    public InMemoryOutboxRepository(@Value("${inmemory.outbox.capacity:100000}") int capacity) {
+        super(OutboxEvent.class, OutboxEvent::getId, OutboxEvent::setId);
+        this.capacity = capacity;
+    }
+
+    @Override
+    public <S extends OutboxEvent> S save(S event) {
+        S saved = super.save(event);
+        NavigableSet<Position> oldestFirst = byCreatedAt.entries();
+        while (count() > capacity && !oldestFirst.isEmpty()) {
+            deleteById(oldestFirst.first().id());
+        }
+        return saved;
+    }
+
+    @Override
+    public List<OutboxEvent> findAllByOrderByCreatedAtAscIdAsc(Limit limit) {
+        return copies(byCreatedAt.entries().stream()
+                .limit(limit.isUnlimited() ? Long.MAX_VALUE : limit.max())
+                .map(position -> stored(position.id())));
+    }
+
+    @Override
+    public boolean tryAcquireRelayLease(String owner, Duration duration) {
+        Instant now = Instant.now();
+        Lease current = lease.get();
+        if (current != null && !current.owner().equals(owner) && current.until().isAfter(now)) {
+            return false;
+        }
+        return lease.compareAndSet(current, new Lease(owner, now.plus(duration)));
+    }
+}
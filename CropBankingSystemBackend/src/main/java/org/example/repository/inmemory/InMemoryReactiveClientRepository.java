@@ -0,0 +1,22 @@
+package org.example.repository.inmemory;
+
+import org.example.model.client.ClientOn;
+import org.example.repository.ClientRepository;
+import org.example.repository.ReactiveClientRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+// @desc ReactiveClientRepository for the inmemory profile, reading InMemoryClientRepository
+@Repository
+@Profile("inmemory")
+public class InMemoryReactiveClientRepository extends InMemoryReactiveRepository<ClientOn, ClientRepository>
+        implements ReactiveClientRepository {
+
+    public InMemoryReactiveClientRepository(ClientRepository store,
+                                            @Value("${inmemory.latency:0ms}") Duration latency) {
+        super(store, latency);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.repository.inmemory;
+
+import org.example.model.credit.Credit;
+import org.example.model.stats.GroupTotal;
+import org.example.repository.CreditRepository;
+import org.example.repository.ReactiveCreditRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Collection;
+
+// @desc ReactiveCreditRepository for the inmemory profile, reading InMemoryCreditRepository
+@Repository
+@Profile("inmemory")
+public class InMemoryReactiveCreditRepository extends InMemoryReactiveRepository<Credit, CreditRepository>
+        implements ReactiveCreditRepository {
+
+    public InMemoryReactiveCreditRepository(CreditRepository store,
+                                            @Value("${inmemory.latency:0ms}") Duration latency) {
+        super(store, latency);
+    }
+
+    @Override
+    public Flux<Credit> findBySubmittedBy(String submittedBy) {
+        return flux(() -> store.findBySubmittedBy(submittedBy));
+    }
+
+    @Override
+    public Flux<GroupTotal> approvedTotalsByClient(Collection<String> clientIds) {
+        return flux(() -> store.approvedTotalsByClient(clientIds));
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.repository.inmemory;
+
+import org.reactivestreams.Publisher;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// @desc ReactiveMongoRepository over one of the blocking in-memory repositories, for the inmemory profile. Every
+// call reads the store when subscribed, after inmemory.latency: a non-blocking delay standing in for the driver's
+// round trip, where the blocking repositories sleep instead (InMemoryConfig). Query by example is not supported,
+// as in InMemoryRepository.
+public abstract class InMemoryReactiveRepository<T, R extends MongoRepository<T, String>>
+        implements ReactiveMongoRepository<T, String> {
+
+    protected final R store;
+    private final Duration latency;
+
+    @SuppressWarnings("unchecked")
+    protected InMemoryReactiveRepository(R store, Duration latency) {
+        // @desc InMemoryConfig's latency proxy would sleep on the event loop, so go to the repository behind it
+        Object target = store;
+        while (AopProxyUtils.getSingletonTarget(target) != null) {
+            target = AopProxyUtils.getSingletonTarget(target);
+        }
+        this.store = (R) target;
+        this.latency = latency;
+    }
+
+    protected <V> Mono<V> mono(Supplier<V> read) {
+        return delayed(Mono.fromSupplier(read));
+    }
+
+    protected Mono<Void> run(Runnable write) {
+        return delayed(Mono.fromRunnable(write));
+    }
+
+    protected <V> Flux<V> flux(Supplier<? extends Iterable<V>> read) {
+        Flux<V> flux = Flux.defer(() -> Flux.fromIterable(read.get()));
+        return latency.isZero() ? flux : flux.delaySubscription(latency);
+    }
+
+    @Override
+    public <S extends T> Mono<S> insert(S entity) {
+        return mono(() -> store.insert(entity));
+    }
+
+    @Override
+    public <S extends T> Flux<S> insert(Iterable<S> entities) {
+        return flux(() -> store.insert(entities));
+    }
+
+    @Override
+    public <S extends T> Flux<S> insert(Publisher<S> entities) {
+        return Flux.from(entities).collectList().flatMapMany(this::insert);
+    }
+
+    @Override
+    public <S extends T> Mono<S> save(S entity) {
+        return mono(() -> store.save(entity));
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Iterable<S> entities) {
+        return flux(() -> store.saveAll(entities));
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Publisher<S> entities) {
+        return Flux.from(entities).collectList().flatMapMany(this::saveAll);
+    }
+
+    @Override
+    public Mono<T> findById(String id) {
+        return mono(() -> store.findById(id)).flatMap(Mono::justOrEmpty);
+    }
+
+    @Override
+    public Mono<T> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return mono(() -> store.existsById(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<T> findAll() {
+        return flux(store::findAll);
+    }
+
+    @Override
+    public Flux<T> findAll(Sort sort) {
+        return flux(() -> store.findAll(sort));
+    }
+
+    @Override
+    public Flux<T> findAllById(Iterable<String> ids) {
+        return flux(() -> store.findAllById(ids));
+    }
+
+    @Override
+    public Flux<T> findAllById(Publisher<String> ids) {
+        return Flux.from(ids).collectList().flatMapMany(this::findAllById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return mono(store::count);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return run(() -> store.deleteById(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(T entity) {
+        return run(() -> store.delete(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends String> ids) {
+        return run(() -> store.deleteAllById(ids));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends T> entities) {
+        return run(() -> store.deleteAll(entities));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends T> entities) {
+        return Flux.from(entities).collectList().flatMap(this::deleteAll);
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return run(() -> store.deleteAll());
+    }
+
+    @Override
+    public <S extends T> Mono<S> findOne(Example<S> example) {
+        return Mono.error(unsupported());
+    }
+
+    @Override
+    public <S extends T> Flux<S> findAll(Example<S> example) {
+        return Flux.error(unsupported());
+    }
+
+    @Override
+    public <S extends T> Flux<S> findAll(Example<S> example, Sort sort) {
+        return Flux.error(unsupported());
+    }
+
+    @Override
+    public <S extends T> Mono<Long> count(Example<S> example) {
+        return Mono.error(unsupported());
+    }
+
+    @Override
+    public <S extends T> Mono<Boolean> exists(Example<S> example) {
+        return Mono.error(unsupported());
+    }
+
+    @Override
+    public <S extends T, V, P extends Publisher<V>> P findBy(Example<S> example,
+            Function<FluentQuery.ReactiveFluentQuery<S>, P> queryFunction) {
+        throw unsupported();
+    }
+
+    // @func helper method
+    private UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("query by example is not supported by the inmemory profile");
+    }
+
+    // @func helper method
+    private <V> Mono<V> delayed(Mono<V> mono) {
+        return latency.isZero() ? mono : mono.delaySubscription(latency);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.repository.inmemory;
+
+import org.example.model.User;
+import org.example.repository.ReactiveUserRepository;
+import org.example.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+// @desc ReactiveUserRepository for the inmemory profile, reading InMemoryUserRepository
+@Repository
+@Profile("inmemory")
+public class InMemoryReactiveUserRepository extends InMemoryReactiveRepository<User, UserRepository>
+        implements ReactiveUserRepository {
+
+    public InMemoryReactiveUserRepository(UserRepository store,
+                                          @Value("${inmemory.latency:0ms}") Duration latency) {
+        super(store, latency);
+    }
+}
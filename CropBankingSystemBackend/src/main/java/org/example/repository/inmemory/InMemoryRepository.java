@@ -0,0 +1,332 @@
+package org.example.repository.inmemory;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// @desc MongoRepository over a ConcurrentHashMap, for the inmemory profile (dev without Docker, load tests, JMH).
+// Documents are stored and handed out as copies made by the Mongo mapping converter, so callers get what a round
+// trip through Mongo gives them: ObjectId ids, millisecond timestamps, no shared instances. A write holds the
+// map's lock for its own id only, and updates the secondary indexes under it; there is no repository-wide lock.
+// There is no rollback either: @Transactional (InMemoryConfig) only drives the after-commit callbacks.
+public abstract class InMemoryRepository<T> implements MongoRepository<T, String> {
+
+    static final MappingMongoConverter CONVERTER = converter();
+
+    private final Class<T> type;
+    private final Function<T, String> idOf;
+    private final BiConsumer<T, String> setId;
+    private final ConcurrentHashMap<String, T> documents = new ConcurrentHashMap<>();
+    private final List<UniqueIndex<T>> uniqueIndexes = new ArrayList<>();
+    private final List<Index<T, ?>> indexes = new ArrayList<>();
+    private final List<SortedIndex<T, ?>> sortedIndexes = new ArrayList<>();
+
+    protected InMemoryRepository(Class<T> type, Function<T, String> idOf, BiConsumer<T, String> setId) {
+        this.type = type;
+        this.idOf = idOf;
+        this.setId = setId;
+    }
+
+    // @desc entries are document ids, in id (ObjectId, i.e. insertion) order
+    protected Index<T, String> index(Function<T, ?> field) {
+        return index(field, idOf, Comparator.naturalOrder());
+    }
+
+    protected <K> Index<T, K> index(Function<T, ?> field, Function<T, K> entry, Comparator<? super K> order) {
+        Index<T, K> index = new Index<>(field, entry, order);
+        indexes.add(index);
+        return index;
+    }
+
+    // @desc for a whole-collection order; an Index keyed on a constant would put every write on one map bin
+    protected <K> SortedIndex<T, K> sortedIndex(Function<T, K> entry, Comparator<? super K> order) {
+        SortedIndex<T, K> index = new SortedIndex<>(entry, order);
+        sortedIndexes.add(index);
+        return index;
+    }
+
+    protected UniqueIndex<T> uniqueIndex(String name, Function<T, ?> field) {
+        UniqueIndex<T> index = new UniqueIndex<>(name, field);
+        uniqueIndexes.add(index);
+        return index;
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        T stored = copy(assignId(entity));
+        documents.compute(idOf.apply(entity), (id, previous) -> replace(id, previous, stored));
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        T stored = copy(assignId(entity));
+        documents.compute(idOf.apply(entity), (id, previous) -> {
+            if (previous != null) {
+                throw new DuplicateKeyException("E11000 duplicate key error index: _id_ dup key: " + id);
+            }
+            return replace(id, null, stored);
+        });
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        entities.forEach(entity -> inserted.add(insert(entity)));
+        return inserted;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(documents.get(id)).map(this::copy);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return copies(documents.values().stream().sorted(Comparator.comparing(idOf)));
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        return copies(StreamSupport.stream(ids.spliterator(), false).distinct().map(documents::get));
+    }
+
+    @Override
+    public long count() {
+        return documents.mappingCount();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        documents.computeIfPresent(id, (key, previous) -> replace(key, previous, null));
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf.apply(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        documents.keySet().forEach(this::deleteById);
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        if (sort.isSorted()) {
+            throw unsupported("findAll(Sort)");
+        }
+        return findAll();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            throw unsupported("findAll(Pageable) with a sort");
+        }
+        List<T> all = findAll();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported("query by example");
+    }
+
+    // @desc the stored document itself, for predicates only; never hand it out (see copies)
+    protected T stored(String id) {
+        return id == null ? null : documents.get(id);
+    }
+
+    // @desc stored documents for the given ids that still match, as copies
+    protected List<T> find(Collection<String> ids, Predicate<T> matches) {
+        return copies(ids.stream().map(documents::get).filter(document -> document != null && matches.test(document)));
+    }
+
+    protected List<T> copies(Stream<T> stored) {
+        return stored.filter(Objects::nonNull).map(this::copy).toList();
+    }
+
+    // @desc applies change to a copy of the document if it matches condition, atomically for that id;
+    // false if the document is missing or did not match (findAndModify / updateOne with a filter)
+    protected boolean updateIf(String id, Predicate<T> condition, Consumer<T> change) {
+        boolean[] updated = {false};
+        documents.computeIfPresent(id, (key, previous) -> {
+            if (!condition.test(previous)) {
+                return previous;
+            }
+            T next = copy(previous);
+            change.accept(next);
+            updated[0] = true;
+            return replace(key, previous, next);
+        });
+        return updated[0];
+    }
+
+    // @desc applies change to a copy of the document, or to a fresh one from insert if there is none, atomically
+    // for that id (updateOne with upsert)
+    protected void upsert(String id, Supplier<T> insert, Consumer<T> change) {
+        documents.compute(id, (key, previous) -> {
+            T next = previous == null ? insert.get() : copy(previous);
+            change.accept(next);
+            return replace(key, previous, next);
+        });
+    }
+
+    // @desc removes the document if it matches condition, atomically for that id (deleteOne with a filter)
+    protected boolean deleteIf(String id, Predicate<T> condition) {
+        boolean[] deleted = {false};
+        documents.computeIfPresent(id, (key, previous) -> {
+            if (!condition.test(previous)) {
+                return previous;
+            }
+            deleted[0] = true;
+            return replace(key, previous, null);
+        });
+        return deleted[0];
+    }
+
+    protected T copy(T document) {
+        Document bson = new Document();
+        CONVERTER.write(document, bson);
+        return CONVERTER.read(type, bson);
+    }
+
+    // @func helper method, runs inside compute for id: unique claims first so a duplicate changes nothing
+    private T replace(String id, T previous, T next) {
+        List<UniqueIndex<T>> claimed = new ArrayList<>();
+        try {
+            for (UniqueIndex<T> unique : uniqueIndexes) {
+                if (next != null && unique.claim(next, id)) {
+                    claimed.add(unique);
+                }
+            }
+        } catch (DuplicateKeyException ex) {
+            claimed.forEach(unique -> unique.release(next, id));
+            throw ex;
+        }
+        for (UniqueIndex<T> unique : uniqueIndexes) {
+            if (previous != null && !Objects.equals(unique.value(previous), unique.value(next))) {
+                unique.release(previous, id);
+            }
+        }
+        for (Index<T, ?> index : indexes) {
+            index.update(previous, next);
+        }
+        for (SortedIndex<T, ?> index : sortedIndexes) {
+            index.update(previous, next);
+        }
+        return next;
+    }
+
+    // @func helper method, Mongo assigns an ObjectId to documents saved without an id
+    private <S extends T> S assignId(S entity) {
+        if (idOf.apply(entity) == null) {
+            setId.accept(entity, new ObjectId().toHexString());
+        }
+        return entity;
+    }
+
+    // @func helper method
+    private UnsupportedOperationException unsupported(String operation) {
+        return new UnsupportedOperationException(operation + " is not supported by the in-memory "
+                + type.getSimpleName() + " repository");
+    }
+
+    // @func helper method, same converter setup MongoTemplate gets, minus the database
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.setAutoIndexCreation(false);
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.repository.inmemory;
+
+import org.example.model.User;
+import org.example.model.UserAdminList;
+import org.example.model.UserCursor;
+import org.example.model.UserQuery;
+import org.example.model.stats.GroupTotal;
+import org.example.repository.UserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// @desc UserRepository for the inmemory profile; email and username are unique, as their @Indexed(unique) are.
+// The directory walks the username or email order and builds summaries straight from the stored documents.
+@Repository
+@Profile("inmemory")
+public class InMemoryUserRepository extends InMemoryRepository<User> implements UserRepository {
+
+    private final UniqueIndex<User> byEmail = uniqueIndex("email", User::getEmail);
+    private final UniqueIndex<User> byUsername = uniqueIndex("username", User::getUsername);
+    private final Index<User, String> byRole = index(user -> user.getRole() == null ? null : user.getRole().name());
+    private final SortedIndex<User, String> usernameOrder = sortedIndex(User::getUsername, Comparator.naturalOrder());
+    private final SortedIndex<User, String> emailOrder = sortedIndex(User::getEmail, Comparator.naturalOrder());
+
+    public InMemoryUserRepository() {
+        super(User.class, User::getId, User::setId);
+    }
+
+    @Override
+    public Optional<User> findUserByEmail(String email) {
+        User user = stored(byEmail.owner(email));
+        if (user == null || !Objects.equals(user.getEmail(), email)) {
+            return Optional.empty();
+        }
+        return Optional.of(copy(user));
+    }
+
+    @Override
+    public List<GroupTotal> countByRole() {
+        return byRole.groupCounts();
+    }
+
+    @Override
+    public List<UserAdminList> findDirectoryPage(UserQuery query, UserCursor after, int limit) {
+        boolean byEmailOrder = "email".equals(query.getSort());
+        NavigableSet<String> values = (byEmailOrder ? emailOrder : usernameOrder).entries();
+        if (after != null) {
+            values = values.tailSet(after.value(), false);
+        }
+        UniqueIndex<User> owners = byEmailOrder ? byEmail : byUsername;
+        Stream<UserAdminList> page = values.stream()
+                .map(value -> {
+                    User user = stored(owners.owner(value));
+                    // the entry may be stale by now; only a document still holding the value counts
+                    return user != null && value.equals(owners.value(user)) ? user : null;
+                })
+                .filter(user -> user != null && matches(query, user))
+                .map(InMemoryUserRepository::summary);
+        return (limit > 0 ? page.limit(limit) : page).toList();
+    }
+
+    @Override
+    public Optional<UserAdminList> findSummaryByEmail(String email) {
+        User user = stored(byEmail.owner(email));
+        if (user == null || !Objects.equals(user.getEmail(), email)) {
+            return Optional.empty();
+        }
+        return Optional.of(summary(user));
+    }
+
+    // @desc the same predicate UserRepositoryCustomImpl.filter builds, cursor aside
+    static boolean matches(UserQuery query, User user) {
+        return (query.getRole() == null || query.getRole() == user.getRole())
+                && (query.getActive() == null || query.getActive().equals(user.getActive()))
+                && hasPrefix(user.getUsername(), query.getUsername())
+                && hasPrefix(user.getEmail(), query.getEmail());
+    }
+
+    // @func helper method
+    private static boolean hasPrefix(String value, String prefix) {
+        return prefix == null || (value != null && value.startsWith(prefix));
+    }
+
+    // @func helper method, reads only the projected fields, so nothing is copied
+    private static UserAdminList summary(User user) {
+        return new UserAdminList(user.getId(), user.getUsername(), user.getEmail(), user.getRole(), user.getActive());
+    }
+}
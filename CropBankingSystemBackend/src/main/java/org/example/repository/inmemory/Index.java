@@ -0,0 +1,80 @@
+package org.example.repository.inmemory;
+
+import org.example.model.stats.GroupTotal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+// @desc secondary index: field value -> sorted entries of the documents holding it. Each value's entry set is
+// replaced under that value's bin lock only. Readers see index and document changes a moment apart, so
+// queries treat entries as candidates and re-check the stored document.
+final class Index<T, K> {
+
+    // @desc ConcurrentHashMap has no null keys; documents without the field are indexed under this
+    private static final Object NULL_KEY = new Object();
+
+    private final Function<T, ?> field;
+    private final Function<T, K> entry;
+    private final Comparator<? super K> order;
+    private final ConcurrentHashMap<Object, NavigableSet<K>> entries = new ConcurrentHashMap<>();
+
+    Index(Function<T, ?> field, Function<T, K> entry, Comparator<? super K> order) {
+        this.field = field;
+        this.entry = entry;
+        this.order = order;
+    }
+
+    NavigableSet<K> get(Object value) {
+        NavigableSet<K> set = entries.get(value == null ? NULL_KEY : value);
+        return set == null ? Collections.emptyNavigableSet() : set;
+    }
+
+    // @desc one bucket per indexed value with its document count, i.e. { $group: { _id: '$field', count } }
+    List<GroupTotal> groupCounts() {
+        List<GroupTotal> totals = new ArrayList<>();
+        entries.forEach((value, set) -> {
+            int count = set.size();
+            if (count > 0) {
+                totals.add(new GroupTotal(value == NULL_KEY ? null : value.toString(), count, null));
+            }
+        });
+        return totals;
+    }
+
+    // @desc previous or next may be null (insert, delete); documents whose entry is null are left out
+    void update(T previous, T next) {
+        Object oldKey = previous == null ? null : key(previous);
+        Object newKey = next == null ? null : key(next);
+        K oldEntry = previous == null ? null : entry.apply(previous);
+        K newEntry = next == null ? null : entry.apply(next);
+        if (Objects.equals(oldKey, newKey) && Objects.equals(oldEntry, newEntry)) {
+            return;
+        }
+        if (next != null && newEntry != null) {
+            entries.compute(newKey, (value, set) -> {
+                NavigableSet<K> target = set == null ? new ConcurrentSkipListSet<>(order) : set;
+                target.add(newEntry);
+                return target;
+            });
+        }
+        if (previous != null && oldEntry != null) {
+            entries.computeIfPresent(oldKey, (value, set) -> {
+                set.remove(oldEntry);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    // @func helper method
+    private Object key(T document) {
+        Object value = field.apply(document);
+        return value == null ? NULL_KEY : value;
+    }
+}
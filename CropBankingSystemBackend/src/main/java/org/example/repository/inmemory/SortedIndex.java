@@ -0,0 +1,42 @@
+package org.example.repository.inmemory;
+
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+// @desc the whole collection in one order (newest credits, oldest outbox events, user directory). The entries sit
+// in a single ConcurrentSkipListSet that writers add to and remove from directly: unlike Index there is no map bin
+// to lock, so writes to different documents never wait on each other. Readers re-check the stored document, as
+// with Index.
+final class SortedIndex<T, K> {
+
+    private final Function<T, K> entry;
+    private final Comparator<? super K> order;
+    private final NavigableSet<K> entries;
+
+    SortedIndex(Function<T, K> entry, Comparator<? super K> order) {
+        this.entry = entry;
+        this.order = order;
+        this.entries = new ConcurrentSkipListSet<>(order);
+    }
+
+    NavigableSet<K> entries() {
+        return entries;
+    }
+
+    // @desc previous or next may be null (insert, delete); documents whose entry is null are left out
+    void update(T previous, T next) {
+        K oldEntry = previous == null ? null : entry.apply(previous);
+        K newEntry = next == null ? null : entry.apply(next);
+        if (oldEntry != null && newEntry != null && order.compare(oldEntry, newEntry) == 0) {
+            return;
+        }
+        if (newEntry != null) {
+            entries.add(newEntry);
+        }
+        if (oldEntry != null) {
+            entries.remove(oldEntry);
+        }
+    }
+}
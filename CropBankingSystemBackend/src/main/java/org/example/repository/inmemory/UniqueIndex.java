@@ -0,0 +1,48 @@
+package org.example.repository.inmemory;
+
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// @desc unique index: field value -> id of the one document holding it. Claims are putIfAbsent, so two
+// writers racing for the same value cannot both win. Like a sparse Mongo index, null values are not indexed.
+final class UniqueIndex<T> {
+
+    private final String name;
+    private final Function<T, ?> field;
+    private final ConcurrentHashMap<Object, String> owners = new ConcurrentHashMap<>();
+
+    UniqueIndex(String name, Function<T, ?> field) {
+        this.name = name;
+        this.field = field;
+    }
+
+    String owner(Object value) {
+        return value == null ? null : owners.get(value);
+    }
+
+    Object value(T document) {
+        return document == null ? null : field.apply(document);
+    }
+
+    // @desc true if the value was free and is now held by id; false if id already held it
+    boolean claim(T document, String id) {
+        Object value = value(document);
+        if (value == null) {
+            return false;
+        }
+        String owner = owners.putIfAbsent(value, id);
+        if (owner != null && !owner.equals(id)) {
+            throw new DuplicateKeyException("E11000 duplicate key error index: " + name + " dup key: " + value);
+        }
+        return owner == null;
+    }
+
+    void release(T document, String id) {
+        Object value = value(document);
+        if (value != null) {
+            owners.remove(value, id);
+        }
+    }
+}
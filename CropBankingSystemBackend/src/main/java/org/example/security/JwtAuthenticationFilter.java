@@ -1,5 +1,6 @@
 package org.example.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,7 +8,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -22,6 +22,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
@@ -36,23 +39,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String username = jwtService.extractUsername(token);
+
+        // @desc verify the signature and decode once; sub, userId, role and exp all come from these claims
+        Claims claims = jwtService.extractAllClaims(token);
+        String username = claims.getSubject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // @desc served from PrincipalCache; Mongo is only hit on a miss or after eviction
+            CustomUserDetails userDetails = principalCache.get(username,
+                    email -> (CustomUserDetails) userDetailsService.loadUserByUsername(email));
 
-            if (jwtService.isTokenValid(token, userDetails)) {
+            // @desc deactivated users are rejected even while their token has not expired
+            if (userDetails.isEnabled() && jwtService.isTokenValid(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
                         null,
                         userDetails.getAuthorities());
 
                 // @desc extract the userId from JWT token
-                String userId = jwtService.extractClaim(token,
-                        claims -> claims.get("userId", String.class));
-                // String role = jwtService.extractClaim(token,
-                // claims -> claims.get("role", String.class)
-                // );
+                String userId = claims.get("userId", String.class);
 
                 authToken.setDetails(userId);
                 SecurityContextHolder.getContext().setAuthentication(authToken);
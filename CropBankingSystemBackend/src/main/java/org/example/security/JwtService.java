@@ -1,13 +1,16 @@
 package org.example.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.example.model.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,14 +27,23 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long EXPIRATION_TIME;
 
+    // @desc derived once from SECRET_KEY; JwtParser is immutable and thread-safe, so one instance serves all requests
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     // @desc generating token with new [payload] adding - userId, role, making it scalable
     public String generateToken(UserDetails userDetails) {
         CustomUserDetails customUserDetails = (CustomUserDetails) userDetails;
         User user = customUserDetails.getUser();
 
-//        System.out.println("username jwt service: " + user.getEmail());
-//        System.out.println("username: " + customUserDetails.getUsername());
-
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId());   // Mongo ObjectId
         claims.put("role", user.getRole());   // ADMIN / RM / ANALYST
@@ -41,21 +53,21 @@ public class JwtService {
                 .setSubject(user.getEmail()) // set email
                 .setIssuedAt(new Date()) // now
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME)) // 2 hours
-                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes())) // own secret
+                .signWith(signingKey) // own secret
                 .compact();
     }
 
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return extractAllClaims(token).getSubject();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername());
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    // @desc for already-verified claims: the parser rejected bad signatures and expired tokens, only the subject is left
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername());
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -63,12 +75,10 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    // @desc the single signature check + decode; callers should parse once and reuse the Claims
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY.getBytes())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 }
-
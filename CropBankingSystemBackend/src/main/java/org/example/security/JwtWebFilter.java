@@ -0,0 +1,76 @@
+package org.example.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// @desc JwtAuthenticationFilter for the reactive server (ReactiveServerConfig): same token checks and the same
+// PrincipalCache, but the authentication is attached to the exchange as its principal instead of a thread-local
+// SecurityContext. Requests without a valid token pass through unauthenticated; the handler answers 401.
+@Component
+public class JwtWebFilter implements WebFilter {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(authHeader.substring(7));
+        } catch (JwtException e) {
+            return chain.filter(exchange);
+        }
+        String username = claims.getSubject();
+        if (username == null) {
+            return chain.filter(exchange);
+        }
+
+        return principal(username)
+                .filter(userDetails -> userDetails.isEnabled() && jwtService.isTokenValid(claims, userDetails))
+                .map(userDetails -> {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
+                            null,
+                            userDetails.getAuthorities());
+                    authToken.setDetails(claims.get("userId", String.class));
+                    return exchange.mutate().principal(Mono.just(authToken)).build();
+                })
+                .defaultIfEmpty(exchange)
+                .flatMap(chain::filter);
+    }
+
+    // @func helper method
+    // @desc a cache hit stays on the event loop; a miss reads the users collection through the blocking
+    // repository, so it runs on boundedElastic
+    private Mono<CustomUserDetails> principal(String username) {
+        CustomUserDetails cached = principalCache.getIfPresent(username);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(() -> principalCache.get(username,
+                        email -> (CustomUserDetails) userDetailsService.loadUserByUsername(email)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(UsernameNotFoundException.class, e -> Mono.empty());
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.exception.LoginThrottledException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+// @desc runs BCrypt verification (DaoAuthenticationProvider) on a fixed-size pool with a bounded queue,
+// so a login storm can use at most N cores and never all Tomcat threads. Full queue -> 429 + Retry-After.
+// Stays on platform threads in virtual-thread mode: hashing is CPU-bound, so the caller simply parks on the future.
+@Component
+public class PasswordVerificationPool {
+
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    public PasswordVerificationPool(
+            @Value("${security.login-pool.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${security.login-pool.queue-capacity:64}") int queueCapacity,
+            @Value("${security.login-pool.retry-after:2s}") Duration retryAfter,
+            MeterRegistry meterRegistry) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("login-verify-");
+        threadFactory.setDaemon(true);
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        this.hashTimer = Timer.builder("auth.login.verify")
+                .description("Time spent verifying a password (BCrypt) on the login pool")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.login.rejected")
+                .description("Logins refused with 429 because the verification queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.queue.depth", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a verification thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Verification threads currently hashing")
+                .register(meterRegistry);
+    }
+
+    // @desc blocks the caller until the task ran on the pool; task exceptions are rethrown unchanged
+    public <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new LoginThrottledException("Too many login attempts in progress. Please retry shortly.",
+                    retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginThrottledException("Login interrupted. Please retry.", retryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.utils.UnpinnedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// @desc bounded, TTL-backed email -> CustomUserDetails cache so authenticated requests skip the users lookup.
+// Entries are evicted by UserService.updateStatus locally and by CacheSyncConsumer on every other node. A miss
+// loads outside the cache's lock (UnpinnedCache), so a virtual request thread does not pin its carrier on it.
+@Component
+public class PrincipalCache {
+
+    private final UnpinnedCache<String, CustomUserDetails> byEmail;
+
+    public PrincipalCache(@Value("${security.principal-cache.ttl:60s}") Duration ttl,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.byEmail = new UnpinnedCache<>(Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build());
+    }
+
+    // @desc loader exceptions (e.g. UsernameNotFoundException) propagate and nothing is cached
+    public CustomUserDetails get(String email, Function<String, CustomUserDetails> loader) {
+        return byEmail.get(email, loader);
+    }
+
+    // @desc null on a miss; lets JwtWebFilter decide whether the load has to leave the event loop
+    public CustomUserDetails getIfPresent(String email) {
+        return byEmail.getIfPresent(email);
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    // @desc fallback when only the id is known; linear, but status changes are rare
+    public void evictById(String userId) {
+        if (userId != null) {
+            byEmail.invalidateIf(details -> userId.equals(details.getId()));
+        }
+    }
+}
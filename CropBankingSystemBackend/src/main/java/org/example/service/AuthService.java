@@ -1,22 +1,30 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
 import org.example.exception.EmailAlreadyExistsException;
 import org.example.exception.NotActiveException;
+import org.example.kafka.events.UserEvent;
+import org.example.kafka.producer.KafkaEventProducer;
 import org.example.model.LoginResponse;
 import org.example.model.User;
 import org.example.model.UserLogin;
 import org.example.repository.UserRepository;
 import org.example.security.CustomUserDetails;
 import org.example.security.JwtService;
+import org.example.security.PasswordVerificationPool;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 // @desc Service to handle authentication logic: login and registration
 @Service
+@Timed(value = "app.service", description = "Service method latency")
 public class AuthService {
 
     @Autowired
@@ -31,10 +39,20 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PasswordVerificationPool passwordVerificationPool;
+
+    @Autowired
+    private KafkaEventProducer kafkaEventProducer;
+
+    @Autowired
+    private ListVersions listVersions;
+
     public LoginResponse login(UserLogin req) {
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword()));
+        // @desc BCrypt runs on the bounded login pool, not on the Tomcat request thread
+        Authentication authentication = passwordVerificationPool.run(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())));
 
         CustomUserDetails cud = (CustomUserDetails) authentication.getPrincipal();
 
@@ -50,6 +68,7 @@ public class AuthService {
     }
 
     // ADMIN only
+    @Transactional
     public String register(User user) {
         if (userRepository.findUserByEmail(user.getEmail()).isPresent()) {
             throw new EmailAlreadyExistsException("Email already exists");
@@ -58,6 +77,20 @@ public class AuthService {
         user.setActive(true);
 
         userRepository.save(user);
+
+        UserEvent event = UserEvent.builder()
+                .eventType("USER_REGISTERED")
+                .userId(user.getId())
+                .username(user.getUsername())
+                .role(user.getRole())
+                .previousStatus(user.getActive())
+                .email(user.getEmail())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        kafkaEventProducer.publishUserEvent(event);
+        listVersions.usersChanged();
+
         return "Created successfully, Role: " + user.getRole();
     }
 }
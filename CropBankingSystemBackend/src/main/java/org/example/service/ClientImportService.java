@@ -0,0 +1,383 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.exception.InvalidImportException;
+import org.example.model.client.ClientImportReport;
+import org.example.model.client.ClientImportRow;
+import org.example.model.client.ClientRequest;
+import org.example.model.client.ImportFormat;
+import org.example.model.client.PrimaryContact;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// @desc bulk onboarding: reads an NDJSON or CSV upload row by row, validates each row and hands valid rows to
+// ClientService.addClients in batches. Heap stays bounded whatever the upload: one batch, at most maxRowLength
+// characters of the row being read, and the first maxReportedFailures failed rows (the rest are only counted).
+// Every batch commits on its own; an upload that breaks off midway keeps the batches written before it.
+@Service
+@Slf4j
+public class ClientImportService {
+
+    // @desc CSV header names; columns may come in any order, address may be left out
+    static final List<String> CSV_COLUMNS = List.of("companyName", "industry", "address", "contactName",
+            "contactEmail", "contactPhone", "annualTurnover", "documentsSubmitted");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${clients.import.batch-size:500}")
+    private int batchSize;
+
+    // @desc a longer row (NDJSON line, or CSV record including its quoted line breaks) fails without being kept;
+    // this also stops an unterminated quote from reading the rest of the upload into one field
+    @Value("${clients.import.max-row-length:16384}")
+    private int maxRowLength;
+
+    @Value("${clients.import.max-reported-failures:1000}")
+    private int maxReportedFailures;
+
+    public ClientImportReport importClients(InputStream in, ImportFormat format, String rmId) throws IOException {
+        LineReader reader = new LineReader(new InputStreamReader(in, StandardCharsets.UTF_8), maxRowLength);
+        Map<String, Integer> csvHeader = format == ImportFormat.CSV ? readCsvHeader(reader) : null;
+
+        Failures failures = new Failures(maxReportedFailures);
+        List<ClientRequest> batch = new ArrayList<>(batchSize);
+        List<Integer> batchRows = new ArrayList<>(batchSize);
+        int rows = 0;
+        int created = 0;
+
+        while (true) {
+            ClientRequest request;
+            try {
+                request = format == ImportFormat.CSV ? nextCsvRow(reader, csvHeader) : nextNdjsonRow(reader);
+            } catch (RowFormatException e) {
+                failures.add(new ClientImportRow(++rows, List.of(e.getMessage())));
+                continue;
+            }
+            if (request == null) {
+                break;
+            }
+
+            int row = ++rows;
+            List<String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                failures.add(new ClientImportRow(row, errors));
+                continue;
+            }
+
+            batch.add(request);
+            batchRows.add(row);
+            if (batch.size() == batchSize) {
+                created += flush(batch, batchRows, rmId, failures);
+            }
+        }
+        created += flush(batch, batchRows, rmId, failures);
+
+        return new ClientImportReport(rows, created, failures.count, failures.reported());
+    }
+
+    // @func helper method, returns the rows created; a failed batch marks all of its rows failed and the upload
+    // carries on
+    private int flush(List<ClientRequest> batch, List<Integer> batchRows, String rmId, Failures failures) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int created = 0;
+        try {
+            created = clientService.addClients(List.copyOf(batch), rmId).size();
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Bulk client import: batch of {} rows starting at row {} not saved",
+                    batch.size(), batchRows.get(0), e);
+            for (int row : batchRows) {
+                failures.add(new ClientImportRow(row, List.of("Batch write failed, row not saved")));
+            }
+        }
+        batch.clear();
+        batchRows.clear();
+        return created;
+    }
+
+    // @func helper method, "field: message" sorted so the report is stable
+    private List<String> validate(ClientRequest request) {
+        Set<ConstraintViolation<ClientRequest>> violations = validator.validate(request);
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    // @desc one JSON object per line; blank lines are skipped. Returns null at end of input.
+    private ClientRequest nextNdjsonRow(LineReader reader) throws IOException, RowFormatException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        try {
+            return objectMapper.readValue(line, ClientRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new RowFormatException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // @desc header name -> column position; rejected up front, before anything is written
+    private Map<String, Integer> readCsvHeader(LineReader reader) throws IOException {
+        List<String> header;
+        try {
+            header = readCsvRecord(reader);
+        } catch (RowFormatException e) {
+            throw new InvalidImportException("Invalid CSV header: " + e.getMessage());
+        }
+        if (header == null) {
+            throw new InvalidImportException("CSV upload is empty, a header row is required");
+        }
+
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new InvalidImportException("Unknown CSV column: " + name + ", expected " + CSV_COLUMNS);
+            }
+            if (positions.put(name, i) != null) {
+                throw new InvalidImportException("Duplicate CSV column: " + name);
+            }
+        }
+        List<String> missing = CSV_COLUMNS.stream()
+                .filter(c -> !c.equals("address") && !positions.containsKey(c))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidImportException("Missing CSV columns: " + missing);
+        }
+        return positions;
+    }
+
+    // @desc blank lines are skipped. Returns null at end of input.
+    private ClientRequest nextCsvRow(LineReader reader, Map<String, Integer> header)
+            throws IOException, RowFormatException {
+        List<String> fields;
+        do {
+            fields = readCsvRecord(reader);
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        if (fields.size() != header.size()) {
+            throw new RowFormatException("Expected " + header.size() + " fields, found " + fields.size());
+        }
+
+        return ClientRequest.builder()
+                .companyName(csvValue(fields, header, "companyName"))
+                .industry(csvValue(fields, header, "industry"))
+                .address(csvValue(fields, header, "address"))
+                .primaryContact(PrimaryContact.builder()
+                        .name(csvValue(fields, header, "contactName"))
+                        .email(csvValue(fields, header, "contactEmail"))
+                        .phone(csvValue(fields, header, "contactPhone"))
+                        .build())
+                .annualTurnover(parseDouble(csvValue(fields, header, "annualTurnover")))
+                .documentsSubmitted(parseBoolean(csvValue(fields, header, "documentsSubmitted")))
+                .build();
+    }
+
+    // @func helper method, empty cells are null so @NotNull / @NotBlank report them
+    private static String csvValue(List<String> fields, Map<String, Integer> header, String column) {
+        Integer position = header.get(column);
+        if (position == null) {
+            return null;
+        }
+        String value = fields.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // @func helper method
+    private static Double parseDouble(String value) throws RowFormatException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new RowFormatException("annualTurnover: must be a number");
+        }
+    }
+
+    // @func helper method
+    private static Boolean parseBoolean(String value) throws RowFormatException {
+        if (value == null) {
+            return null;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return Boolean.TRUE;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return Boolean.FALSE;
+        }
+        throw new RowFormatException("documentsSubmitted: must be true or false");
+    }
+
+    // @desc one RFC 4180 record: quoted fields may hold commas, doubled quotes and line breaks, up to maxLength
+    // characters in all. Returns null at end of input.
+    static List<String> readCsvRecord(LineReader reader) throws IOException, RowFormatException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        int length = line.length();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            line = reader.readLine();
+            if (line == null) {
+                throw new RowFormatException("Unterminated quoted field");
+            }
+            length += line.length() + 1;
+            if (length > reader.maxLength) {
+                throw new RowFormatException("Unterminated quoted field or row longer than " + reader.maxLength
+                        + " characters");
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // @desc failed rows: all are counted, the `max` lowest row numbers are kept. A failed batch reports its rows
+    // after later rows that failed validation, so the lowest are not simply the first added.
+    private static final class Failures {
+        private final int max;
+        private final PriorityQueue<ClientImportRow> lowest =
+                new PriorityQueue<>(Comparator.comparingInt(ClientImportRow::row).reversed());
+        private int count;
+
+        Failures(int max) {
+            this.max = max;
+        }
+
+        void add(ClientImportRow row) {
+            count++;
+            lowest.add(row);
+            if (lowest.size() > max) {
+                lowest.poll();
+            }
+        }
+
+        List<ClientImportRow> reported() {
+            List<ClientImportRow> rows = new ArrayList<>(lowest);
+            rows.sort(Comparator.comparingInt(ClientImportRow::row));
+            return rows;
+        }
+    }
+
+    // @desc readLine with a length cap: the rest of a longer line is skipped without being kept and the line is
+    // reported as a RowFormatException, so the next line is read normally. "\n" and "\r\n" end a line.
+    static final class LineReader {
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        // @desc null at end of input
+        String readLine() throws IOException, RowFormatException {
+            StringBuilder line = new StringBuilder();
+            boolean any = false;
+            boolean tooLong = false;
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(in.read(buffer), 0);
+                    position = 0;
+                    if (limit == 0) {
+                        break;
+                    }
+                }
+                any = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                if (!tooLong && line.length() + (position - start) > maxLength + 1) {
+                    tooLong = true;
+                    line = new StringBuilder();
+                }
+                if (!tooLong) {
+                    line.append(buffer, start, position - start);
+                }
+                if (position < limit) {
+                    position++;
+                    break;
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (tooLong || line.length() > maxLength) {
+                throw new RowFormatException("Row longer than " + maxLength + " characters");
+            }
+            return line.toString();
+        }
+    }
+
+    // @desc a row that cannot be turned into a ClientRequest; reported for that row only
+    static class RowFormatException extends Exception {
+        RowFormatException(String message) {
+            super(message);
+        }
+    }
+}
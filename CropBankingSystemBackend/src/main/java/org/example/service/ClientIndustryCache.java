@@ -0,0 +1,107 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.kafka.events.ClientEvent;
+import org.example.model.stats.GroupTotal;
+import org.example.utils.AfterCommit;
+import org.example.utils.UnpinnedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// @desc rmId -> (industry -> number of that RM's clients in it), so the dashboard dropdown skips Mongo.
+// Local writes adjust the counts once their transaction commits; an industry disappears when its last
+// client moves away. Every node also sees the write's event through CacheSyncConsumer: the writing node
+// recognises its own event by eventId and skips it, any other node drops the RM's entry and reloads it on next read.
+// The id is the one field that comes back unchanged; the timestamp, for one, is cut to milliseconds by the outbox.
+// The loader reads Mongo, so it runs outside the cache's lock (UnpinnedCache).
+@Component
+public class ClientIndustryCache {
+
+    private final UnpinnedCache<String, Map<String, Integer>> byRmId;
+    // @desc events already applied here, so their echo from client-events-top is not applied again
+    private final Cache<String, Boolean> appliedLocally;
+
+    public ClientIndustryCache(@Value("${clients.industry-cache.ttl:10m}") Duration ttl,
+                               @Value("${clients.industry-cache.max-size:10000}") long maxSize) {
+        this.byRmId = new UnpinnedCache<>(Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build());
+        this.appliedLocally = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    // @desc sorted industries; the loader returns one (industry, clientCount) bucket per industry
+    public List<String> get(String rmId, Function<String, List<GroupTotal>> loader) {
+        Map<String, Integer> counts = byRmId.get(rmId, id -> {
+            Map<String, Integer> loaded = new ConcurrentHashMap<>();
+            for (GroupTotal total : loader.apply(id)) {
+                if (total.id() != null) {
+                    loaded.put(total.id(), (int) total.count());
+                }
+            }
+            return loaded;
+        });
+        return counts.keySet().stream().sorted().toList();
+    }
+
+    // @desc CLIENT_CREATED written on this node
+    public void clientAdded(ClientEvent event) {
+        remember(event);
+        AfterCommit.run(() -> adjust(event.getOnboardedBy(), event.getIndustry(), 1));
+    }
+
+    // @desc CLIENT_UPDATED written on this node; a rename moves one client between industries
+    public void clientUpdated(ClientEvent event) {
+        remember(event);
+        if (Objects.equals(event.getPreviousIndustry(), event.getIndustry())) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            adjust(event.getOnboardedBy(), event.getPreviousIndustry(), -1);
+            adjust(event.getOnboardedBy(), event.getIndustry(), 1);
+        });
+    }
+
+    // @desc any client event from client-events-top
+    public void onEvent(ClientEvent event) {
+        if (event.getEventId() == null || appliedLocally.asMap().remove(event.getEventId()) == null) {
+            evict(event.getOnboardedBy());
+        }
+    }
+
+    public void evict(String rmId) {
+        if (rmId != null) {
+            byRmId.invalidate(rmId);
+        }
+    }
+
+    // @func helper method, an event without an id (pre-v4 producer) is never recognised, so its echo just evicts
+    private void remember(ClientEvent event) {
+        if (event.getEventId() != null) {
+            appliedLocally.put(event.getEventId(), Boolean.TRUE);
+        }
+    }
+
+    // @func helper method, only touches RMs already cached; the next read of any other RM loads from Mongo
+    private void adjust(String rmId, String industry, int delta) {
+        Map<String, Integer> counts = byRmId.getIfPresent(rmId);
+        if (counts == null || industry == null) {
+            return;
+        }
+        counts.compute(industry, (key, count) -> {
+            int next = (count == null ? 0 : count) + delta;
+            return next > 0 ? next : null;
+        });
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
+import org.bson.types.ObjectId;
 import org.example.exception.ClientNotFoundException;
 import org.example.exception.UnauthAccessDeniedException;
 import org.example.kafka.events.ClientEvent;
@@ -11,12 +13,17 @@ import org.example.security.CustomUserDetails;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
 
 // @desc Service to handle client management logic
 @Service
+@Timed(value = "app.service", description = "Service method latency")
 public class ClientService {
     @Autowired
     private ClientRepository clientRepository;
@@ -24,6 +31,15 @@ public class ClientService {
     @Autowired
     private KafkaEventProducer kafkaEventProducer;
 
+    @Autowired
+    private ClientIndustryCache clientIndustryCache;
+
+    @Autowired
+    private ListVersions listVersions;
+
+    @Autowired
+    private CreditRiskService creditRiskService;
+
     // @desc rmId = MongoDB User _id, no db hit just getting it from JWT (scaled)
     // @func helper method, use customUserDetails
     private String getRmId(Authentication authentication) {
@@ -31,10 +47,47 @@ public class ClientService {
         return cud.getUser().getId();
     }
 
+    @Transactional
     public String addClient(ClientRequest request, Authentication authentication) {
         String rmId = getRmId(authentication);
 
-        ClientOn client = ClientOn.builder()
+        ClientOn client = toClient(request, rmId);
+
+        clientRepository.save(client);
+
+        ClientEvent event = createdEvent(client);
+
+        kafkaEventProducer.publishClientEvent(event);
+        clientIndustryCache.clientAdded(event);
+        listVersions.clientsChanged(rmId);
+
+        return "Client Created successfully";
+    }
+
+    // @desc one batch of a bulk upload (ClientImportService): a single unordered insert and a single
+    // outbox insert, committed together. Returns the new client ids in request order.
+    @Transactional
+    public List<String> addClients(List<ClientRequest> requests, String rmId) {
+        List<ClientOn> clients = new ArrayList<>(requests.size());
+        for (ClientRequest request : requests) {
+            ClientOn client = toClient(request, rmId);
+            client.setId(new ObjectId().toHexString());
+            clients.add(client);
+        }
+
+        clientRepository.insertUnordered(clients);
+
+        List<ClientEvent> events = clients.stream().map(this::createdEvent).toList();
+        kafkaEventProducer.publishClientEvents(events);
+        events.forEach(clientIndustryCache::clientAdded);
+        listVersions.clientsChanged(rmId);
+
+        return clients.stream().map(ClientOn::getId).toList();
+    }
+
+    // @func helper method
+    private ClientOn toClient(ClientRequest request, String rmId) {
+        return ClientOn.builder()
                 .companyName(request.getCompanyName())
                 .industry(request.getIndustry())
                 .address(request.getAddress())
@@ -43,21 +96,19 @@ public class ClientService {
                 .documentsSubmitted(request.getDocumentsSubmitted())
                 .rmId(rmId)
                 .build();
+    }
 
-        clientRepository.save(client);
-
-        ClientEvent event = ClientEvent.builder()
+    // @func helper method
+    private ClientEvent createdEvent(ClientOn client) {
+        return ClientEvent.builder()
                 .eventType("CLIENT_CREATED")
                 .clientId(client.getId())
                 .clientName(client.getCompanyName())
                 .industry(client.getIndustry())
                 .onboardedBy(client.getRmId())
                 .timestamp(LocalDateTime.now())
+                .eventId(UUID.randomUUID().toString())
                 .build();
-
-        kafkaEventProducer.publishClientEvent(event);
-
-        return "Client Created successfully";
     }
 
     public List<ClientOn> getMyClients(Authentication authentication) {
@@ -78,6 +129,7 @@ public class ClientService {
         return client;
     }
 
+    @Transactional
     public String updateClient(String clientId, ClientRequest request, Authentication authentication) {
         String rmId = getRmId(authentication);
 
@@ -88,6 +140,11 @@ public class ClientService {
             throw new UnauthAccessDeniedException("You are not allowed to update this client");
         }
 
+        String previousIndustry = client.getIndustry();
+        boolean riskInputsChanged = !Objects.equals(previousIndustry, request.getIndustry())
+                || !Objects.equals(client.getAnnualTurnover(), request.getAnnualTurnover())
+                || !Objects.equals(client.getDocumentsSubmitted(), request.getDocumentsSubmitted());
+
         client.setCompanyName(request.getCompanyName());
         client.setIndustry(request.getIndustry());
         client.setAddress(request.getAddress());
@@ -96,6 +153,25 @@ public class ClientService {
         client.setDocumentsSubmitted(request.getDocumentsSubmitted());
 
         clientRepository.save(client);
+
+        ClientEvent event = ClientEvent.builder()
+                .eventType("CLIENT_UPDATED")
+                .clientId(client.getId())
+                .clientName(client.getCompanyName())
+                .industry(client.getIndustry())
+                .previousIndustry(previousIndustry)
+                .onboardedBy(client.getRmId())
+                .timestamp(LocalDateTime.now())
+                .eventId(UUID.randomUUID().toString())
+                .build();
+
+        kafkaEventProducer.publishClientEvent(event);
+        clientIndustryCache.clientUpdated(event);
+        listVersions.clientsChanged(rmId);
+        if (riskInputsChanged) {
+            creditRiskService.inputsChanged(clientId); // credit lists carry scores; clientsChanged moves their ETags
+        }
+
         return "Updated Client successfully";
     }
 
@@ -112,9 +188,10 @@ public class ClientService {
         return clientRepository.findByRmId(rmId);
     }
 
+    // @desc served from ClientIndustryCache; Mongo is only read on a miss
     public List<String> getIndustriesDistinct(Authentication authentication) {
         String rmId = getRmId(authentication);
 
-        return clientRepository.findDistinctIndustriesByRmId(rmId);
+        return clientIndustryCache.get(rmId, clientRepository::countIndustriesByRmId);
     }
 }
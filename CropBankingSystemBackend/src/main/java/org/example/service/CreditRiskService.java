@@ -0,0 +1,139 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.model.client.ClientOn;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditStatus;
+import org.example.model.credit.RiskScore;
+import org.example.utils.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// @desc risk scores of PENDING credits, cached per credit and grouped by client: every input apart from the
+// credit's own amount and tenure belongs to the client, so a client edit or a decision on one of its credits
+// (which moves its approved exposure) drops the whole group. Local writes drop it once they commit; other
+// nodes drop it on the write's event through CacheSyncConsumer.
+@Service
+public class CreditRiskService {
+
+    private final Cache<String, Map<String, RiskScore>> byClientId;
+
+    public CreditRiskService(@Value("${credits.risk-cache.ttl:10m}") Duration ttl,
+                             @Value("${credits.risk-cache.max-size:10000}") long maxSize) {
+        this.byClientId = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    // @desc cached scores for the PENDING credits among these; the rest are misses, for Lookup.complete
+    public Lookup lookup(List<Credit> credits) {
+        Lookup lookup = new Lookup();
+        for (Credit credit : credits) {
+            if (credit.getStatus() != CreditStatus.PENDING || credit.getId() == null) {
+                continue;
+            }
+            Map<String, RiskScore> group = credit.getClientId() == null ? null
+                    : byClientId.get(credit.getClientId(), clientId -> new ConcurrentHashMap<>());
+            RiskScore cached = group == null ? null : group.get(credit.getId());
+            if (cached != null) {
+                lookup.scores.put(credit.getId(), cached);
+            } else {
+                lookup.misses.add(credit);
+                lookup.groups.add(group);
+            }
+        }
+        return lookup;
+    }
+
+    // @desc a client's scoring inputs changed in the current transaction
+    public void inputsChanged(String clientId) {
+        AfterCommit.run(() -> evict(clientId));
+    }
+
+    public void evict(String clientId) {
+        if (clientId != null) {
+            byClientId.invalidate(clientId);
+        }
+    }
+
+    // @desc any client event from client-events-top; the event does not say which fields changed
+    public void onClientEvent(ClientEvent event) {
+        if ("CLIENT_UPDATED".equals(event.getEventType())) {
+            evict(event.getClientId());
+        }
+    }
+
+    // @desc any credit event from credit-events-top; a decision moves the client's approved exposure
+    public void onCreditEvent(CreditEvent event) {
+        if ("STATUS_UPDATED".equals(event.getEventType())) {
+            evict(event.getClientId());
+        }
+    }
+
+    // @desc one batch of credits: the scores found in the cache, and the credits still to score. Each miss
+    // remembers the client group it was looked up in, so scores computed from inputs read before an eviction
+    // land in the dropped group rather than in the cache.
+    public static final class Lookup {
+        private final Map<String, RiskScore> scores = new HashMap<>();
+        private final List<Credit> misses = new ArrayList<>();
+        private final List<Map<String, RiskScore>> groups = new ArrayList<>();
+
+        public Map<String, RiskScore> scores() {
+            return scores;
+        }
+
+        public boolean isComplete() {
+            return misses.isEmpty();
+        }
+
+        // @desc the clients whose approved exposure complete() needs
+        public Set<String> missingClientIds() {
+            Set<String> clientIds = new HashSet<>();
+            for (Credit credit : misses) {
+                if (credit.getClientId() != null) {
+                    clientIds.add(credit.getClientId());
+                }
+            }
+            return clientIds;
+        }
+
+        // @desc scores the misses in one engine batch and caches them; clients by id, exposure by client id
+        public Map<String, RiskScore> complete(Map<String, ClientOn> clients, Map<String, Double> exposure) {
+            RiskScoringEngine.Batch batch = new RiskScoringEngine.Batch(misses.size());
+            for (int i = 0; i < misses.size(); i++) {
+                Credit credit = misses.get(i);
+                ClientOn client = credit.getClientId() == null ? null : clients.get(credit.getClientId());
+                batch.set(i, credit.getRequestAmount(), credit.getTenureMonths(),
+                        client == null ? null : client.getAnnualTurnover(),
+                        client == null ? 0 : exposure.getOrDefault(client.getId(), 0.0),
+                        client == null ? null : client.getIndustry(),
+                        client == null ? null : client.getDocumentsSubmitted());
+            }
+
+            double[] computed = RiskScoringEngine.score(batch);
+            for (int i = 0; i < computed.length; i++) {
+                RiskScore score = RiskScore.of(computed[i]);
+                scores.put(misses.get(i).getId(), score);
+                if (groups.get(i) != null) {
+                    groups.get(i).put(misses.get(i).getId(), score);
+                }
+            }
+            misses.clear();
+            groups.clear();
+            return scores;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.exception.InvalidQueryException;
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.model.Role;
+import org.example.model.client.ClientOn;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditQuery;
+import org.example.model.stats.CreditRollup;
+import org.example.model.stats.CreditRollupQuery;
+import org.example.model.stats.CreditRollupRow;
+import org.example.repository.ClientRepository;
+import org.example.repository.CreditRepository;
+import org.example.repository.CreditRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// @desc credit count and requested amount per (creation month, status, client industry, RM), kept in the
+// credit_rollups collection so a report over any month range reads a few hundred buckets instead of the credits.
+// Moved incrementally by credit and client events (CreditRollupConsumer, one shared consumer group, so each event
+// is applied once across the cluster): every credit carries the rollupKey of the bucket it is counted in, and an
+// event re-reads the credit and moves it only if its bucket changed, so redelivered and replayed events are no-ops.
+// A nightly reconcile recomputes every bucket from the credits in Mongo and corrects any drift; one node at a time
+// holds the rebuild lease and runs it.
+@Service
+@Slf4j
+public class CreditRollupService {
+
+    static final String DEFAULT_GROUP_BY = "month,status";
+    static final int DEFAULT_MONTHS = 12;
+    static final int MAX_MONTHS = 120;
+
+    // @desc groupBy names accepted on the endpoint -> CreditRollupRow fields
+    static final Map<String, String> DIMENSIONS = dimensions();
+
+    private final String owner = UUID.randomUUID().toString();
+
+    @Autowired
+    private CreditRollupRepository creditRollupRepository;
+
+    @Autowired
+    private CreditRepository creditRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Value("${credits.rollup.rebuild-lease:30m}")
+    private Duration rebuildLease;
+
+    // @desc the first start against an existing credits collection fills the buckets; later starts keep them, the
+    // consumer group resumes from its committed offsets
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (creditRollupRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${credits.rollup.reconcile-cron:0 30 2 * * *}", zone = "UTC")
+    public void reconcile() {
+        rebuild();
+    }
+
+    // @desc two overlapping rebuilds are not safe: each removes the buckets stamped before its own start, which
+    // deletes everything when the other one wrote its buckets last with an older stamp. So only the holder of the
+    // rebuild lease runs, and it removes stale buckets only if it still holds the lease after writing its own.
+    public void rebuild() {
+        if (!creditRollupRepository.tryAcquireRebuildLease(owner, rebuildLease)) {
+            log.info("Credit rollup rebuild skipped, another node holds the lease");
+            return;
+        }
+        // @desc millisecond precision, as Mongo stores updatedAt
+        Instant stamp = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        creditRollupRepository.rebuildFromCredits(stamp);
+        if (!creditRollupRepository.tryAcquireRebuildLease(owner, rebuildLease)) {
+            log.warn("Credit rollup rebuild lost its lease, stale buckets are kept until the next reconcile");
+            return;
+        }
+        creditRollupRepository.removeStale(stamp);
+        log.info("Credit rollups rebuilt from Mongo");
+    }
+
+    // @desc CREATED counts the credit, STATUS_UPDATED moves it to its new status bucket
+    @Transactional
+    public void onCreditEvent(CreditEvent event) {
+        if (event.getCreditId() == null) {
+            return; // pre-v3 producer; the reconcile counts it
+        }
+        creditRepository.findById(event.getCreditId()).ifPresent(credit -> sync(credit, industryOf(credit)));
+    }
+
+    // @desc an industry change moves all of the client's credits to buckets under the new industry
+    @Transactional
+    public void onClientEvent(ClientEvent event) {
+        if (!"CLIENT_UPDATED".equals(event.getEventType()) || event.getClientId() == null
+                || event.getPreviousIndustry() == null || event.getPreviousIndustry().equals(event.getIndustry())) {
+            return;
+        }
+        String industry = clientRepository.findById(event.getClientId()).map(ClientOn::getIndustry).orElse(null);
+        List<Credit> credits;
+        try (Stream<Credit> stream = creditRepository.streamCredits(
+                CreditQuery.builder().clientId(event.getClientId()).build())) {
+            credits = stream.toList();
+        }
+        credits.forEach(credit -> sync(credit, industry));
+    }
+
+    // @desc month range defaults to the last DEFAULT_MONTHS months, groupBy to DEFAULT_GROUP_BY; RMs only ever
+    // see their own credits
+    public List<CreditRollupRow> report(CreditRollupQuery query, String userId, Role role) {
+        YearMonth to = query.getTo() != null ? query.getTo() : YearMonth.now(ZoneOffset.UTC);
+        YearMonth from = query.getFrom() != null ? query.getFrom() : to.minusMonths(DEFAULT_MONTHS - 1);
+        if (from.isAfter(to)) {
+            throw new InvalidQueryException("from must not be after to");
+        }
+        if (from.until(to, ChronoUnit.MONTHS) >= MAX_MONTHS) {
+            throw new InvalidQueryException("range must not exceed " + MAX_MONTHS + " months");
+        }
+
+        String rmId = role == Role.RELATIONSHIP_MANAGER ? userId : query.getRmId();
+        return creditRollupRepository.summarize(from.toString(), to.toString(),
+                query.getStatus() == null ? null : query.getStatus().name(), query.getIndustry(), rmId,
+                groupBy(query.getGroupBy()));
+    }
+
+    // @func helper method, moves the credit to its current bucket unless it is already counted there
+    private void sync(Credit credit, String industry) {
+        CreditRollup bucket = CreditRollup.of(credit, industry);
+        Credit previous = creditRepository.moveRollupKey(credit.getId(), bucket.getId());
+        if (previous == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        creditRollupRepository.increment(bucket, 1, amountOf(credit), now);
+        if (previous.getRollupKey() != null) {
+            creditRollupRepository.decrement(previous.getRollupKey(), amountOf(previous), now);
+        }
+    }
+
+    // @func helper method
+    private String industryOf(Credit credit) {
+        return credit.getClientId() == null ? null
+                : clientRepository.findById(credit.getClientId()).map(ClientOn::getIndustry).orElse(null);
+    }
+
+    // @func helper method, requests without an amount count as 0, like $ifNull in the reconcile
+    private static double amountOf(Credit credit) {
+        return credit.getRequestAmount() == null ? 0 : credit.getRequestAmount();
+    }
+
+    // @func helper method, the requested fields in DIMENSIONS order, which is also the row order
+    private static List<String> groupBy(String value) {
+        Set<String> names = new HashSet<>();
+        for (String name : (value == null || value.isBlank() ? DEFAULT_GROUP_BY : value).split(",")) {
+            if (!DIMENSIONS.containsKey(name.trim())) {
+                throw new InvalidQueryException("groupBy must be a list of " + DIMENSIONS.keySet());
+            }
+            names.add(name.trim());
+        }
+        List<String> fields = new ArrayList<>();
+        DIMENSIONS.forEach((name, field) -> {
+            if (names.contains(name)) {
+                fields.add(field);
+            }
+        });
+        return fields;
+    }
+
+    // @func helper method
+    private static Map<String, String> dimensions() {
+        Map<String, String> dimensions = new LinkedHashMap<>();
+        dimensions.put("month", "month");
+        dimensions.put("status", "status");
+        dimensions.put("industry", "industry");
+        dimensions.put("rm", "rmId");
+        return dimensions;
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
 import org.example.exception.ClientNotFoundException;
+import org.example.exception.CreditLeasedException;
 import org.example.exception.CreditNotFoundException;
+import org.example.exception.InvalidQueryException;
 import org.example.kafka.events.CreditEvent;
 import org.example.kafka.producer.KafkaEventProducer;
 import org.example.model.client.ClientOn;
@@ -11,13 +14,24 @@ import org.example.repository.CreditRepository;
 import org.example.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 
 @Service
+@Timed(value = "app.service", description = "Service method latency")
 public class CreditService {
+        // @desc max ids per findAllById ($in) round trip when enriching credits
+        static final int ENRICH_BATCH_SIZE = 1000;
+
+        static final int DEFAULT_PAGE_SIZE = 50;
+        static final int MAX_PAGE_SIZE = 200;
+
+        // @desc statuses an analyst may move a PENDING credit to
+        static final Set<String> FINAL_DECISIONS = Set.of(CreditStatus.APPROVED.name(), CreditStatus.REJECTED.name());
+
         @Autowired
         private CreditRepository creditRepository;
 
@@ -30,6 +44,13 @@ public class CreditService {
         @Autowired
         private KafkaEventProducer kafkaEventProducer;
 
+        @Autowired
+        private ListVersions listVersions;
+
+        @Autowired
+        private CreditRiskService creditRiskService;
+
+        @Transactional
         public String createCredit(CreditRequest request, String rmUserId) {
                 ClientOn client = clientRepository.findByIdAndRmId(request.getClientId(), rmUserId).orElseThrow(
                                 () -> new ClientNotFoundException("Client not found: " + request.getClientId()));
@@ -49,6 +70,7 @@ public class CreditService {
 
                 CreditEvent event = CreditEvent.builder()
                                 .eventType("CREATED")
+                                .creditId(credit.getId())
                                 .clientId(credit.getClientId())
                                 .amount(credit.getRequestAmount())
                                 .status(credit.getStatus())
@@ -57,6 +79,7 @@ public class CreditService {
                                 .build();
 
                 kafkaEventProducer.publishCreditEvent(event);
+                listVersions.creditsChanged(rmUserId);
 
                 return "Credit created successfully";
         }
@@ -66,62 +89,243 @@ public class CreditService {
                 List<Credit> credits = isAnalyst ? creditRepository.findAll()
                                 : creditRepository.findBySubmittedBy(userId);
 
+                return toCreditDetails(credits);
+        }
+
+        // @desc keyset page over filtered credits; RMs are always pinned to their own submissions
+        public CreditPage queryCredits(CreditQuery query, String userId, boolean isAnalyst) {
+                applyScope(query, userId, isAnalyst);
+
+                int limit = query.getLimit() == null ? DEFAULT_PAGE_SIZE
+                                : Math.max(1, Math.min(query.getLimit(), MAX_PAGE_SIZE));
+                CreditCursor after = query.getCursor() == null || query.getCursor().isBlank() ? null
+                                : CreditCursor.decode(query.getCursor());
+
+                // @desc fetch one extra row to learn whether another page exists
+                List<Credit> credits = creditRepository.findPage(query, after, limit + 1);
+                String nextCursor = null;
+                if (credits.size() > limit) {
+                        credits = credits.subList(0, limit);
+                        nextCursor = CreditCursor.of(credits.get(limit - 1)).encode();
+                }
+
+                return new CreditPage(toCreditDetails(credits), nextCursor);
+        }
+
+        // @desc RMs only ever see their own submissions; also rejects inverted ranges
+        public void applyScope(CreditQuery query, String userId, boolean isAnalyst) {
+                if (!isAnalyst) {
+                        query.setSubmittedBy(userId);
+                }
+                if (query.getMinAmount() != null && query.getMaxAmount() != null
+                                && query.getMinAmount() > query.getMaxAmount()) {
+                        throw new InvalidQueryException("minAmount must not exceed maxAmount");
+                }
+        }
+
+        // @desc maps credits to DTOs, resolving client and RM names with one findAllById
+        // per ENRICH_BATCH_SIZE distinct ids instead of two findById calls per credit. PENDING credits
+        // also get a risk score: cached ones as they are, the rest scored together from the same clients
+        // plus one approved-exposure aggregation.
+        public List<CreditAllDetails> toCreditDetails(List<Credit> credits) {
+                Set<String> clientIds = new HashSet<>();
+                Set<String> rmIds = new HashSet<>();
+                for (Credit credit : credits) {
+                        if (credit.getClientId() != null) {
+                                clientIds.add(credit.getClientId());
+                        }
+                        if (credit.getSubmittedBy() != null) {
+                                rmIds.add(credit.getSubmittedBy());
+                        }
+                }
+
+                Map<String, ClientOn> clients = new HashMap<>();
+                for (List<String> batch : partition(clientIds)) {
+                        clientRepository.findAllById(batch).forEach(client -> clients.put(client.getId(), client));
+                }
+
+                Map<String, String> rmNames = new HashMap<>();
+                for (List<String> batch : partition(rmIds)) {
+                        userRepository.findAllById(batch)
+                                        .forEach(rm -> rmNames.put(rm.getId(), rm.getUsername()));
+                }
+
+                Map<String, RiskScore> risks = riskScores(credits, clients);
+
                 return credits.stream()
                                 .map(credit -> {
-                                        CreditAllDetails dto = new CreditAllDetails();
-
-                                        // Credit basic fields
-                                        dto.setId(credit.getId());
-                                        dto.setClientId(credit.getClientId());
-                                        dto.setSubmittedBy(credit.getSubmittedBy());
-                                        dto.setRequestAmount(credit.getRequestAmount());
-                                        dto.setTenureMonths(credit.getTenureMonths());
-                                        dto.setPurpose(credit.getPurpose());
-                                        dto.setStatus(CreditStatus.valueOf(String.valueOf(credit.getStatus())));
-                                        dto.setRemarks(credit.getRemarks());
-                                        dto.setCreatedAt(credit.getCreatedAt());
-
-                                        // Client lookup
-                                        clientRepository.findById(credit.getClientId())
-                                                        .ifPresent(client -> dto
-                                                                        .setClientName(client.getCompanyName()));
-
-                                        // RM lookup
-                                        userRepository.findById(credit.getSubmittedBy())
-                                                        .ifPresent(rm -> dto.setRmName(rm.getUsername()));
-
-                                        // Return DTO (only return, no chaining)
-                                        return dto;
+                                        ClientOn client = clients.get(credit.getClientId());
+                                        return toDetails(credit, client == null ? null : client.getCompanyName(),
+                                                        rmNames.get(credit.getSubmittedBy()),
+                                                        risks.get(credit.getId()));
                                 })
                                 .toList();
         }
 
+        // @func helper method, exposure is only aggregated for clients with an uncached PENDING credit
+        private Map<String, RiskScore> riskScores(List<Credit> credits, Map<String, ClientOn> clients) {
+                CreditRiskService.Lookup lookup = creditRiskService.lookup(credits);
+                if (lookup.isComplete()) {
+                        return lookup.scores();
+                }
+                Map<String, Double> exposure = new HashMap<>();
+                for (List<String> batch : partition(lookup.missingClientIds())) {
+                        creditRepository.approvedTotalsByClient(batch)
+                                        .forEach(total -> exposure.put(total.id(), total.amount()));
+                }
+                return lookup.complete(clients, exposure);
+        }
+
+        // @desc one DTO; names and risk come from the caller's batched lookups (also used by
+        // ReactiveCreditService). risk is null for credits that are not PENDING.
+        public static CreditAllDetails toDetails(Credit credit, String clientName, String rmName, RiskScore risk) {
+                CreditAllDetails dto = new CreditAllDetails();
+
+                // Credit basic fields
+                dto.setId(credit.getId());
+                dto.setClientId(credit.getClientId());
+                dto.setSubmittedBy(credit.getSubmittedBy());
+                dto.setRequestAmount(credit.getRequestAmount());
+                dto.setTenureMonths(credit.getTenureMonths());
+                dto.setPurpose(credit.getPurpose());
+                dto.setStatus(credit.getStatus());
+                dto.setRemarks(credit.getRemarks());
+                dto.setCreatedAt(credit.getCreatedAt());
+
+                dto.setClientName(clientName);
+                dto.setRmName(rmName);
+
+                if (risk != null) {
+                        dto.setRiskScore(risk.score());
+                        dto.setRiskGrade(risk.grade());
+                }
+
+                return dto;
+        }
+
+        // @func helper method, splits ids so a single $in never grows unbounded
+        private static List<List<String>> partition(Set<String> ids) {
+                List<String> all = new ArrayList<>(ids);
+                List<List<String>> batches = new ArrayList<>();
+                for (int i = 0; i < all.size(); i += ENRICH_BATCH_SIZE) {
+                        batches.add(all.subList(i, Math.min(i + ENRICH_BATCH_SIZE, all.size())));
+                }
+                return batches;
+        }
+
         public Credit getCreditById(String id) {
                 return creditRepository.findById(id)
                                 .orElseThrow(() -> new CreditNotFoundException("Credit request not found: " + id));
         }
 
-        // Analyst updates status
-        public String updateCreditDecision(String id, CreditDecision decision) {
-                Credit credit = getCreditById(id);
+        // Analyst updates status; a PENDING credit another analyst has claimed (CreditWorkQueue) is theirs to decide.
+        // @desc one conditional update, so a claim taken between reading and writing the credit is never overwritten;
+        // nothing matched means either no such credit (404) or a live claim by someone else (409)
+        @Transactional
+        public String updateCreditDecision(String id, CreditDecision decision, String analystId) {
+                Credit credit = creditRepository.decide(id, CreditStatus.valueOf(decision.getStatus()),
+                                decision.getRemarks(), analystId, Instant.now());
+                if (credit == null) {
+                        Credit current = getCreditById(id);
+                        throw new CreditLeasedException("Credit request " + id + " is claimed by another analyst until "
+                                        + current.getLeaseExpiresAt());
+                }
+                CreditStatus previousStatus = credit.getStatus();
 
                 credit.setStatus(CreditStatus.valueOf(decision.getStatus()));
                 credit.setRemarks(decision.getRemarks());
+                credit.setLeasedBy(null);
+                credit.setLeaseExpiresAt(null);
 
-                creditRepository.save(credit);
+                kafkaEventProducer.publishCreditEvent(statusUpdatedEvent(credit, previousStatus));
+                listVersions.creditsChanged(credit.getSubmittedBy());
+                creditRiskService.inputsChanged(credit.getClientId());
 
-                CreditEvent event = CreditEvent.builder()
+                return "Updated credit successfully";
+        }
+
+        // @desc analyst bulk decision: one conditional bulkWrite (only PENDING credits not claimed by another analyst
+        // change), one findAllById to learn which updates were ours, and one outbox insert for all STATUS_UPDATED events
+        @Transactional
+        public CreditDecisionReport decideCredits(List<CreditDecisionItem> decisions, String analystId) {
+                Instant now = Instant.now();
+                String batchId = UUID.randomUUID().toString();
+                CreditDecisionResult[] results = new CreditDecisionResult[decisions.size()];
+                Map<String, Integer> positions = new HashMap<>();
+                List<CreditDecisionItem> valid = new ArrayList<>();
+
+                for (int i = 0; i < decisions.size(); i++) {
+                        CreditDecisionItem decision = decisions.get(i);
+                        if (!FINAL_DECISIONS.contains(decision.getStatus())) {
+                                results[i] = new CreditDecisionResult(decision.getId(),
+                                                CreditDecisionResult.Outcome.INVALID, null,
+                                                "Status must be APPROVED or REJECTED");
+                        } else if (positions.putIfAbsent(decision.getId(), i) != null) {
+                                results[i] = new CreditDecisionResult(decision.getId(),
+                                                CreditDecisionResult.Outcome.INVALID, null,
+                                                "Credit appears more than once in this request");
+                        } else {
+                                valid.add(decision);
+                        }
+                }
+
+                creditRepository.decidePending(valid, batchId, analystId, now);
+
+                Map<String, Credit> credits = new HashMap<>();
+                creditRepository.findAllById(positions.keySet())
+                                .forEach(credit -> credits.put(credit.getId(), credit));
+
+                List<CreditEvent> events = new ArrayList<>();
+                for (CreditDecisionItem decision : valid) {
+                        int i = positions.get(decision.getId());
+                        Credit credit = credits.get(decision.getId());
+                        if (credit == null) {
+                                results[i] = new CreditDecisionResult(decision.getId(),
+                                                CreditDecisionResult.Outcome.NOT_FOUND, null,
+                                                "Credit request not found: " + decision.getId());
+                        } else if (batchId.equals(credit.getDecisionBatchId())) {
+                                results[i] = new CreditDecisionResult(credit.getId(),
+                                                CreditDecisionResult.Outcome.UPDATED, credit.getStatus(), null);
+                                // @desc the update only matched PENDING, so that is the real previous status
+                                events.add(statusUpdatedEvent(credit, CreditStatus.PENDING));
+                        } else if (leasedToOther(credit, analystId, now)) {
+                                results[i] = new CreditDecisionResult(credit.getId(),
+                                                CreditDecisionResult.Outcome.CONFLICT, credit.getStatus(),
+                                                "Credit is claimed by another analyst");
+                        } else {
+                                results[i] = new CreditDecisionResult(credit.getId(),
+                                                CreditDecisionResult.Outcome.CONFLICT, credit.getStatus(),
+                                                "Credit is already " + credit.getStatus());
+                        }
+                }
+
+                if (!events.isEmpty()) {
+                        kafkaEventProducer.publishCreditEvents(events);
+                        events.stream().map(CreditEvent::getActionBy).distinct().forEach(listVersions::creditsChanged);
+                        events.stream().map(CreditEvent::getClientId).distinct().forEach(creditRiskService::inputsChanged);
+                }
+
+                return CreditDecisionReport.of(Arrays.asList(results));
+        }
+
+        // @func helper method, a live lease held by someone other than this analyst
+        private static boolean leasedToOther(Credit credit, String analystId, Instant now) {
+                return credit.getStatus() == CreditStatus.PENDING && credit.getLeasedBy() != null
+                                && !credit.getLeasedBy().equals(analystId)
+                                && credit.getLeaseExpiresAt() != null && credit.getLeaseExpiresAt().isAfter(now);
+        }
+
+        // @func helper method
+        private CreditEvent statusUpdatedEvent(Credit credit, CreditStatus previousStatus) {
+                return CreditEvent.builder()
                                 .eventType("STATUS_UPDATED")
+                                .creditId(credit.getId())
                                 .clientId(credit.getClientId())
-                                .previousStatus("PENDING")
+                                .previousStatus(previousStatus != null ? previousStatus.name() : null)
                                 .status(credit.getStatus())
                                 .actionBy(credit.getSubmittedBy())
                                 .comments(credit.getRemarks())
                                 .timestamp(LocalDateTime.now())
                                 .build();
-
-                kafkaEventProducer.publishCreditEvent(event);
-
-                return "Updated credit successfully";
         }
 }
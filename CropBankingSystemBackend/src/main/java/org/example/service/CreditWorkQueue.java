@@ -0,0 +1,321 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.exception.CreditLeasedException;
+import org.example.kafka.events.CreditEvent;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditAllDetails;
+import org.example.model.credit.CreditClaim;
+import org.example.model.credit.CreditQuery;
+import org.example.model.credit.CreditStatus;
+import org.example.model.credit.WorkQueuePriority;
+import org.example.repository.CreditRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+// @desc analyst work queue: PENDING credits handed out under time-limited leases. The lease lives on the credit
+// document and is taken by a single-document findAndModify, so Mongo alone decides who holds what. In front of it
+// sits a node-local index of the PENDING credits, one skip list per WorkQueuePriority, so a claim walks the head
+// of an ordering instead of querying and sorting the collection. Rebuilt on startup and on a reconcile schedule,
+// and moved by credit events (CacheSyncConsumer): created credits are indexed by the next claim, in one read,
+// decided ones are dropped. Claimed credits stay in the index; once a lease expires the credit is simply
+// claimable again, here and in the findAndModify filter.
+//
+// Contention: claimers on one node reserve a candidate in leasedUntil before the findAndModify, so they never
+// race for the same document; across nodes each claim tries its candidates in random order within a window a
+// few times the requested count, so concurrent analysts spread over the head of the queue instead of all
+// colliding on its first entry. Misses (decided, or leased on another node) are re-read in one findAllById.
+@Service
+@Slf4j
+public class CreditWorkQueue {
+
+    static final int DEFAULT_CLAIM = 10;
+    static final int MAX_CLAIM = 50;
+
+    // @desc a claim for n credits draws its candidates from the next n * CANDIDATE_SPREAD free entries
+    static final int CANDIDATE_SPREAD = 4;
+
+    // @desc PENDING credits read and scored per toCreditDetails call while indexing
+    static final int INDEX_BATCH_SIZE = 1000;
+
+    @Autowired
+    private CreditRepository creditRepository;
+
+    @Autowired
+    private CreditService creditService;
+
+    private final Duration lease;
+
+    private volatile Orderings orderings = new Orderings();
+
+    // @desc credits created since the last claim, by id; the next claim reads and indexes them
+    private final Set<String> unindexed = ConcurrentHashMap.newKeySet();
+
+    // @desc leases known to this node (its own claims, and ones learned from misses), by credit id; a hint only,
+    // the credit document is the truth
+    private final ConcurrentHashMap<String, Instant> leasedUntil = new ConcurrentHashMap<>();
+
+    public CreditWorkQueue(@Value("${credits.work-queue.lease:15m}") Duration lease) {
+        this.lease = lease;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${credits.work-queue.reconcile-interval-ms:300000}",
+            fixedDelayString = "${credits.work-queue.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild();
+        Instant now = Instant.now();
+        leasedUntil.values().removeIf(until -> !until.isAfter(now));
+    }
+
+    // @desc indexes every PENDING credit into a fresh set of orderings, then swaps it in; risk scores are
+    // refreshed here too, so the RISK order follows client edits within one reconcile interval
+    public void rebuild() {
+        Orderings fresh = new Orderings();
+        CreditQuery pending = CreditQuery.builder().status(CreditStatus.PENDING).build();
+        try (Stream<Credit> credits = creditRepository.streamCredits(pending)) {
+            Iterator<Credit> it = credits.iterator();
+            List<Credit> batch = new ArrayList<>(INDEX_BATCH_SIZE);
+            while (it.hasNext()) {
+                batch.add(it.next());
+                if (batch.size() == INDEX_BATCH_SIZE || !it.hasNext()) {
+                    index(fresh, batch, Instant.now());
+                    batch.clear();
+                }
+            }
+        }
+        orderings = fresh;
+        log.info("Credit work queue rebuilt with {} pending credits", fresh.size());
+    }
+
+    // @desc any credit event from credit-events-top; events from producers older than schema v3 carry no
+    // creditId and are left to the reconcile
+    public void onCreditEvent(CreditEvent event) {
+        String creditId = event.getCreditId();
+        if (creditId == null) {
+            return;
+        }
+        if ("CREATED".equals(event.getEventType())
+                || ("STATUS_UPDATED".equals(event.getEventType()) && event.getStatus() == CreditStatus.PENDING)) {
+            unindexed.add(creditId);
+        } else if ("STATUS_UPDATED".equals(event.getEventType())) {
+            forget(creditId);
+        }
+    }
+
+    // @desc leases up to count PENDING credits to the analyst, best first by priority; fewer if the queue runs dry
+    public CreditClaim claim(String analystId, Integer count, WorkQueuePriority priority) {
+        int wanted = count == null ? DEFAULT_CLAIM : Math.max(1, Math.min(count, MAX_CLAIM));
+        indexCreated();
+
+        Orderings current = orderings;
+        Instant now = Instant.now();
+        Instant until = now.plus(lease);
+        Map<Entry, Credit> claimed = new HashMap<>();
+        List<String> missed = new ArrayList<>();
+
+        Iterator<Entry> walk = current.get(priority).iterator();
+        while (claimed.size() < wanted && walk.hasNext()) {
+            List<Entry> window = nextFree(walk, (wanted - claimed.size()) * CANDIDATE_SPREAD, now);
+            Collections.shuffle(window, ThreadLocalRandom.current());
+            for (Entry entry : window) {
+                if (claimed.size() == wanted) {
+                    break;
+                }
+                if (!reserve(entry.id(), now, until)) {
+                    continue;
+                }
+                Credit credit = creditRepository.claimPending(entry.id(), analystId, now, until);
+                if (credit != null) {
+                    claimed.put(entry, credit);
+                } else {
+                    leasedUntil.remove(entry.id(), until);
+                    missed.add(entry.id());
+                }
+            }
+        }
+        if (!missed.isEmpty()) {
+            refresh(current, missed, now);
+        }
+
+        // @desc the window was tried in random order; hand the credits back in priority order
+        List<Credit> credits = claimed.keySet().stream()
+                .sorted(ORDERS.get(priority))
+                .map(claimed::get)
+                .toList();
+        List<CreditAllDetails> items = creditService.toCreditDetails(credits);
+        return new CreditClaim(items, items.isEmpty() ? null : until);
+    }
+
+    // @desc gives the analyst's lease back early; this node offers the credit again at once, other nodes
+    // that learned of the lease from a miss skip it until the lease would have expired
+    public void release(String creditId, String analystId) {
+        if (!creditRepository.releaseClaim(creditId, analystId)) {
+            throw new CreditLeasedException("Credit request " + creditId + " is not claimed by you");
+        }
+        leasedUntil.remove(creditId);
+    }
+
+    // @func helper method, drops a credit that left PENDING
+    private void forget(String creditId) {
+        unindexed.remove(creditId);
+        orderings.remove(creditId);
+        leasedUntil.remove(creditId);
+    }
+
+    // @func helper method, reads the credits created since the last claim; concurrent claims may both index
+    // the same ids, which only replaces an entry with an equal one
+    private void indexCreated() {
+        if (unindexed.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(unindexed);
+        unindexed.removeAll(ids);
+        Orderings current = orderings;
+        for (int i = 0; i < ids.size(); i += INDEX_BATCH_SIZE) {
+            List<Credit> pending = creditRepository.findAllById(ids.subList(i, Math.min(i + INDEX_BATCH_SIZE, ids.size())))
+                    .stream()
+                    .filter(credit -> credit.getStatus() == CreditStatus.PENDING)
+                    .toList();
+            index(current, pending, Instant.now());
+        }
+    }
+
+    // @func helper method, entries with their risk score, plus the live leases the documents carry
+    private void index(Orderings target, List<Credit> credits, Instant now) {
+        List<CreditAllDetails> details = creditService.toCreditDetails(credits);
+        for (int i = 0; i < credits.size(); i++) {
+            Credit credit = credits.get(i);
+            CreditAllDetails dto = details.get(i);
+            target.add(new Entry(credit.getId(), credit.getCreatedAt(),
+                    credit.getRequestAmount() == null ? 0 : credit.getRequestAmount(),
+                    dto.getRiskScore() == null ? 0 : dto.getRiskScore()));
+            if (credit.getLeaseExpiresAt() != null && credit.getLeaseExpiresAt().isAfter(now)) {
+                leasedUntil.merge(credit.getId(), credit.getLeaseExpiresAt(), CreditWorkQueue::later);
+            }
+        }
+    }
+
+    // @func helper method, learns why claims missed: decided credits leave the index, leased ones are skipped
+    // until their lease ends
+    private void refresh(Orderings current, List<String> missed, Instant now) {
+        Map<String, Credit> credits = new HashMap<>();
+        creditRepository.findAllById(missed).forEach(credit -> credits.put(credit.getId(), credit));
+        for (String id : missed) {
+            Credit credit = credits.get(id);
+            if (credit == null || credit.getStatus() != CreditStatus.PENDING) {
+                current.remove(id);
+                leasedUntil.remove(id);
+            } else if (credit.getLeaseExpiresAt() != null && credit.getLeaseExpiresAt().isAfter(now)) {
+                leasedUntil.merge(id, credit.getLeaseExpiresAt(), CreditWorkQueue::later);
+            }
+        }
+    }
+
+    // @func helper method, the next entries no lease known here covers
+    private List<Entry> nextFree(Iterator<Entry> walk, int max, Instant now) {
+        List<Entry> window = new ArrayList<>(max);
+        while (window.size() < max && walk.hasNext()) {
+            Entry entry = walk.next();
+            Instant until = leasedUntil.get(entry.id());
+            if (until == null || !until.isAfter(now)) {
+                window.add(entry);
+            }
+        }
+        return window;
+    }
+
+    // @func helper method, true if this thread may try the credit; other claimers on this node then skip it
+    private boolean reserve(String creditId, Instant now, Instant until) {
+        Instant held = leasedUntil.get(creditId);
+        if (held == null) {
+            return leasedUntil.putIfAbsent(creditId, until) == null;
+        }
+        return !held.isAfter(now) && leasedUntil.replace(creditId, held, until);
+    }
+
+    // @func helper method
+    private static Instant later(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    int size() {
+        return orderings.size();
+    }
+
+    // @desc one PENDING credit's sort keys, as of when it was indexed
+    record Entry(String id, Instant createdAt, double amount, double risk) {
+    }
+
+    // @desc ties fall back to age, then id, so every ordering is total and entries are never lost as duplicates
+    static final Comparator<Entry> OLDEST_FIRST = Comparator
+            .comparing(Entry::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Entry::id);
+
+    static final Map<WorkQueuePriority, Comparator<Entry>> ORDERS = new EnumMap<>(Map.of(
+            WorkQueuePriority.AGE, OLDEST_FIRST,
+            WorkQueuePriority.AMOUNT, Comparator.comparingDouble(Entry::amount).reversed().thenComparing(OLDEST_FIRST),
+            WorkQueuePriority.RISK, Comparator.comparingDouble(Entry::risk).reversed().thenComparing(OLDEST_FIRST)));
+
+    // @desc one generation of the index; an entry is swapped in and out of every ordering under its id's lock
+    static final class Orderings {
+        private final Map<WorkQueuePriority, NavigableSet<Entry>> byPriority = new EnumMap<>(WorkQueuePriority.class);
+        private final ConcurrentHashMap<String, Entry> byId = new ConcurrentHashMap<>();
+
+        Orderings() {
+            ORDERS.forEach((priority, order) -> byPriority.put(priority, new ConcurrentSkipListSet<>(order)));
+        }
+
+        NavigableSet<Entry> get(WorkQueuePriority priority) {
+            return byPriority.get(priority);
+        }
+
+        void add(Entry entry) {
+            byId.compute(entry.id(), (id, previous) -> {
+                for (NavigableSet<Entry> ordering : byPriority.values()) {
+                    if (previous != null) {
+                        ordering.remove(previous);
+                    }
+                    ordering.add(entry);
+                }
+                return entry;
+            });
+        }
+
+        void remove(String id) {
+            byId.computeIfPresent(id, (key, previous) -> {
+                byPriority.values().forEach(ordering -> ordering.remove(previous));
+                return null;
+            });
+        }
+
+        int size() {
+            return byId.size();
+        }
+    }
+}
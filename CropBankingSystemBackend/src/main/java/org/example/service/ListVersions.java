@@ -0,0 +1,95 @@
+package org.example.service;
+
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.kafka.events.UserEvent;
+import org.example.utils.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// @desc node-local version per list (an RM's clients, an RM's credits, all credits, all users), used as the
+// list endpoints' ETags so If-None-Match is answered without a Mongo query. Local writes bump after commit;
+// writes on other nodes bump through CacheSyncConsumer. The instance id makes a restart, or a request landing
+// on another node, a plain cache miss instead of a false 304.
+// A remote write can still reach this node late or never (a consumer that joined at the latest offset, a listener
+// that failed), and until it does this node would keep answering 304 with the old list. So every ETag also carries
+// the current max-staleness window, and a validator is never trusted for longer than that.
+@Component
+public class ListVersions {
+
+    public static final String ALL_CREDITS = "credits";
+    public static final String USERS = "users";
+
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public ListVersions(@Value("${lists.etag.max-staleness:30s}") Duration maxStaleness) {
+        this(maxStaleness, System::currentTimeMillis);
+    }
+
+    ListVersions(Duration maxStaleness, LongSupplier clock) {
+        this.windowMillis = maxStaleness.toMillis();
+        this.clock = clock;
+    }
+
+    public static String clients(String rmId) {
+        return "clients:" + rmId;
+    }
+
+    public static String credits(String rmId) {
+        return "credits:" + rmId;
+    }
+
+    // @desc strong ETag; read it before querying, so a write racing the query only costs a later 200
+    public String etag(String key) {
+        AtomicLong version = versions.get(key);
+        return "\"" + instanceId + "-" + key + "-" + (version == null ? 0 : version.get())
+                + "-" + clock.getAsLong() / windowMillis + "\"";
+    }
+
+    // @desc a credit of this RM was created or decided
+    public void creditsChanged(String rmId) {
+        AfterCommit.run(() -> bump(credits(rmId), ALL_CREDITS));
+    }
+
+    // @desc credit lists show client names, so they move with the RM's clients
+    public void clientsChanged(String rmId) {
+        AfterCommit.run(() -> bump(clients(rmId), credits(rmId), ALL_CREDITS));
+    }
+
+    public void usersChanged() {
+        AfterCommit.run(() -> bump(USERS));
+    }
+
+    // @desc events from CacheSyncConsumer; on the writing node this is a second, harmless bump
+    public void onCreditEvent(CreditEvent event) {
+        creditsChanged(event.getActionBy());
+    }
+
+    public void onClientEvent(ClientEvent event) {
+        clientsChanged(event.getOnboardedBy());
+    }
+
+    public void onUserEvent(UserEvent event) {
+        usersChanged();
+    }
+
+    // @func helper method
+    private void bump(String... keys) {
+        for (String key : keys) {
+            versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.service;
+
+import org.example.model.client.ClientOn;
+import org.example.model.User;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditAllDetails;
+import org.example.model.credit.RiskScore;
+import org.example.model.stats.GroupTotal;
+import org.example.repository.ReactiveClientRepository;
+import org.example.repository.ReactiveCreditRepository;
+import org.example.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// @desc non-blocking counterpart of CreditService.getCredits. Credits are read from a Mongo cursor on demand,
+// enriched ENRICH_BATCH_SIZE at a time with one client and one RM findAllById (run concurrently), at most
+// ENRICH_CONCURRENCY batches in flight, in cursor order. Demand from the response writer flows back to the
+// cursor, so a slow client slows the read instead of buffering the whole book.
+@Service
+public class ReactiveCreditService {
+
+    static final int ENRICH_BATCH_SIZE = 200;
+    static final int ENRICH_CONCURRENCY = 4;
+
+    @Autowired
+    private ReactiveCreditRepository creditRepository;
+
+    @Autowired
+    private ReactiveClientRepository clientRepository;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private CreditRiskService creditRiskService;
+
+    // RM → own, Analyst → all
+    public Flux<CreditAllDetails> getCredits(String userId, boolean isAnalyst) {
+        Flux<Credit> credits = isAnalyst ? creditRepository.findAll() : creditRepository.findBySubmittedBy(userId);
+
+        return credits
+                .buffer(ENRICH_BATCH_SIZE)
+                .flatMapSequential(this::toCreditDetails, ENRICH_CONCURRENCY);
+    }
+
+    // @desc one batch: clients and RM names looked up in parallel, PENDING credits scored (exposure is only
+    // aggregated on a cache miss), then mapped in the batch's order
+    Flux<CreditAllDetails> toCreditDetails(List<Credit> credits) {
+        Set<String> clientIds = new HashSet<>();
+        Set<String> rmIds = new HashSet<>();
+        for (Credit credit : credits) {
+            if (credit.getClientId() != null) {
+                clientIds.add(credit.getClientId());
+            }
+            if (credit.getSubmittedBy() != null) {
+                rmIds.add(credit.getSubmittedBy());
+            }
+        }
+
+        Mono<Map<String, ClientOn>> clients = clientRepository.findAllById(clientIds)
+                .collectMap(ClientOn::getId);
+        Mono<Map<String, String>> rmNames = userRepository.findAllById(rmIds)
+                .collectMap(User::getId, User::getUsername);
+
+        return Mono.zip(clients, rmNames)
+                .flatMap(found -> riskScores(credits, found.getT1()).map(risks -> {
+                    Map<String, ClientOn> byId = found.getT1();
+                    return credits.stream()
+                            .map(credit -> {
+                                ClientOn client = byId.get(credit.getClientId());
+                                return CreditService.toDetails(credit, client == null ? null : client.getCompanyName(),
+                                        found.getT2().get(credit.getSubmittedBy()), risks.get(credit.getId()));
+                            })
+                            .toList();
+                }))
+                .flatMapIterable(details -> details);
+    }
+
+    // @func helper method
+    private Mono<Map<String, RiskScore>> riskScores(List<Credit> credits, Map<String, ClientOn> clients) {
+        CreditRiskService.Lookup lookup = creditRiskService.lookup(credits);
+        if (lookup.isComplete()) {
+            return Mono.just(lookup.scores());
+        }
+        return creditRepository.approvedTotalsByClient(lookup.missingClientIds())
+                .collectMap(GroupTotal::id, GroupTotal::amount)
+                .map(exposure -> lookup.complete(clients, exposure));
+    }
+}
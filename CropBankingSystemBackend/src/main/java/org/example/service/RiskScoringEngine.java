@@ -0,0 +1,126 @@
+package org.example.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// @desc scores credits 0-100 (higher = riskier) from five inputs, weighted:
+//   35  debt to turnover       requestAmount / annualTurnover, capped at one year's turnover
+//   20  existing exposure      sum of the client's APPROVED requestAmount / annualTurnover, same cap
+//   15  tenure                 tenureMonths / 120, capped at ten years
+//   15  industry               INDUSTRY_FACTORS, unlisted industries score the midpoint
+//   15  documents              full weight while the client's documents are not submitted
+// A client with no (or zero) turnover maxes both ratios. Inputs are columns of primitive arrays, one row
+// per credit, so a batch is scored without boxing and large batches are split across the common pool.
+public final class RiskScoringEngine {
+
+    static final double DEBT_WEIGHT = 35;
+    static final double EXPOSURE_WEIGHT = 20;
+    static final double TENURE_WEIGHT = 15;
+    static final double INDUSTRY_WEIGHT = 15;
+    static final double DOCUMENTS_WEIGHT = 15;
+
+    static final double MAX_TENURE_MONTHS = 120;
+    static final double UNKNOWN_INDUSTRY_FACTOR = 0.5;
+
+    // @desc rows per task; smaller batches are scored on the calling thread
+    static final int PARALLEL_CHUNK = 4096;
+
+    // @desc keyed by lower-cased industry name; 0 = steadiest, 1 = most cyclical
+    static final Map<String, Double> INDUSTRY_FACTORS = Map.of(
+            "healthcare", 0.2,
+            "utilities", 0.2,
+            "technology", 0.4,
+            "manufacturing", 0.5,
+            "retail", 0.6,
+            "agriculture", 0.7,
+            "energy", 0.7,
+            "construction", 0.8,
+            "hospitality", 0.8);
+
+    private RiskScoringEngine() {
+    }
+
+    // @desc one column per input; fill rows 0..size-1 with set(), then score()
+    public static final class Batch {
+        final double[] requestAmount;
+        final double[] tenureMonths;
+        final double[] annualTurnover;
+        final double[] exposure;
+        final double[] industryFactor;
+        final boolean[] documentsSubmitted;
+
+        public Batch(int size) {
+            requestAmount = new double[size];
+            tenureMonths = new double[size];
+            annualTurnover = new double[size];
+            exposure = new double[size];
+            industryFactor = new double[size];
+            documentsSubmitted = new boolean[size];
+        }
+
+        public int size() {
+            return requestAmount.length;
+        }
+
+        // @desc nulls are the riskiest reading of a missing value, except exposure (none known = none)
+        public void set(int row, Double requestAmount, Integer tenureMonths, Double annualTurnover,
+                        double exposure, String industry, Boolean documentsSubmitted) {
+            this.requestAmount[row] = requestAmount == null ? 0 : requestAmount;
+            this.tenureMonths[row] = tenureMonths == null ? MAX_TENURE_MONTHS : tenureMonths;
+            this.annualTurnover[row] = annualTurnover == null ? 0 : annualTurnover;
+            this.exposure[row] = exposure;
+            this.industryFactor[row] = industryFactor(industry);
+            this.documentsSubmitted[row] = Boolean.TRUE.equals(documentsSubmitted);
+        }
+    }
+
+    public static double[] score(Batch batch) {
+        int size = batch.size();
+        double[] scores = new double[size];
+        if (size <= PARALLEL_CHUNK) {
+            scoreRange(batch, scores, 0, size);
+        } else {
+            int chunks = (size + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = chunk * PARALLEL_CHUNK;
+                scoreRange(batch, scores, from, Math.min(from + PARALLEL_CHUNK, size));
+            });
+        }
+        return scores;
+    }
+
+    static double industryFactor(String industry) {
+        if (industry == null) {
+            return UNKNOWN_INDUSTRY_FACTOR;
+        }
+        return INDUSTRY_FACTORS.getOrDefault(industry.trim().toLowerCase(Locale.ROOT), UNKNOWN_INDUSTRY_FACTOR);
+    }
+
+    // @func helper method, rows [from, to); each task writes its own slice of scores
+    private static void scoreRange(Batch batch, double[] scores, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double turnover = batch.annualTurnover[i];
+            double debt = ratio(batch.requestAmount[i], turnover);
+            double exposure = ratio(batch.exposure[i], turnover);
+            double tenure = Math.min(batch.tenureMonths[i] / MAX_TENURE_MONTHS, 1);
+            double score = DEBT_WEIGHT * debt
+                    + EXPOSURE_WEIGHT * exposure
+                    + TENURE_WEIGHT * Math.max(tenure, 0)
+                    + INDUSTRY_WEIGHT * batch.industryFactor[i]
+                    + (batch.documentsSubmitted[i] ? 0 : DOCUMENTS_WEIGHT);
+            scores[i] = Math.round(score * 10) / 10.0;
+        }
+    }
+
+    // @func helper method, 0..1; nothing owed is 0 whatever the turnover, anything owed on no turnover is 1
+    private static double ratio(double amount, double turnover) {
+        if (amount <= 0) {
+            return 0;
+        }
+        if (turnover <= 0) {
+            return 1;
+        }
+        return Math.min(amount / turnover, 1);
+    }
+}
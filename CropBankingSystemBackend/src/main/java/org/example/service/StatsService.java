@@ -0,0 +1,326 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.kafka.events.UserEvent;
+import org.example.model.Role;
+import org.example.model.credit.CreditStatus;
+import org.example.model.stats.DashboardStats;
+import org.example.model.stats.GroupTotal;
+import org.example.repository.ClientRepository;
+import org.example.repository.CreditRepository;
+import org.example.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// @desc dashboard counters kept in memory and moved by the credit/client/user events (CacheSyncConsumer),
+// so /api/stats never scans a collection. Counters are LongAdders: writers on different consumer threads
+// never contend on a single cell. Rebuilt from Mongo aggregations on startup and on a slow reconcile
+// schedule, which also corrects any drift from missed events.
+// A rebuild takes its snapshot time before the aggregations run. Events that arrive while they run are journaled
+// and replayed into the fresh counters at the swap, and any event stamped before the snapshot time is skipped,
+// since the aggregations already counted it. What is left is a window, not a gap that grows: an event stamped just
+// before the snapshot but committed after the aggregation read its collection is missed, and one stamped after the
+// snapshot but committed before that read is counted twice. Both are bounded by the commit lag plus the time the
+// aggregations take (and clock skew between nodes, as events carry the producer's time), and the next reconcile
+// corrects them.
+@Service
+@Slf4j
+public class StatsService {
+
+    @Autowired
+    private CreditRepository creditRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private volatile Counters counters = new Counters(null);
+
+    // @desc events arriving while a rebuild runs; non-null only between its start and its swap. Handlers add to it
+    // under the read lock, the rebuild opens it and replays it under the write lock, so none falls between the two.
+    private final ReentrantReadWriteLock swap = new ReentrantReadWriteLock();
+    private Queue<Consumer<Counters>> journal;
+
+    private final ReentrantLock rebuilding = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${stats.reconcile-interval-ms:900000}",
+            fixedDelayString = "${stats.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    // @desc fills a fresh set of counters from Mongo, replays the events that arrived meanwhile, then swaps it in.
+    // A tryLock rather than synchronized: the aggregations block on Mongo, and a monitor held across them pins the
+    // carrier thread when @Scheduled runs on virtual threads. A rebuild that finds one running leaves it to finish.
+    public void rebuild() {
+        if (!rebuilding.tryLock()) {
+            log.info("Dashboard stats rebuild already running, skipped");
+            return;
+        }
+        Counters fresh = null;
+        try {
+            swap.writeLock().lock();
+            try {
+                journal = new ConcurrentLinkedQueue<>();
+            } finally {
+                swap.writeLock().unlock();
+            }
+            fresh = aggregate(new Counters(LocalDateTime.now()));
+        } finally {
+            closeJournal(fresh);
+            rebuilding.unlock();
+        }
+        log.info("Dashboard stats rebuilt from Mongo");
+    }
+
+    // @func helper method, the Mongo aggregations behind a rebuild
+    private Counters aggregate(Counters fresh) {
+        for (GroupTotal total : creditRepository.totalsByStatus()) {
+            CreditStatus status = parseStatus(total.id());
+            if (status != null) {
+                fresh.creditsByStatus.get(status).add(total.count());
+            }
+            if (total.amount() != null) {
+                fresh.requestedAmount.add(total.amount());
+            }
+        }
+        for (GroupTotal total : creditRepository.countBySubmittedBy()) {
+            add(fresh.creditsByRm, total.id(), total.count());
+        }
+        for (GroupTotal total : clientRepository.countByIndustry()) {
+            fresh.clients.add(total.count());
+            add(fresh.clientsByIndustry, total.id(), total.count());
+        }
+        for (GroupTotal total : clientRepository.countByRmId()) {
+            add(fresh.clientsByRm, total.id(), total.count());
+        }
+        for (GroupTotal total : userRepository.countByRole()) {
+            Role role = parseRole(total.id());
+            if (role != null) {
+                fresh.usersByRole.get(role).add(total.count());
+            }
+        }
+        return fresh;
+    }
+
+    // @func helper method, replays the journal into fresh and swaps it in; with no fresh counters (the aggregations
+    // failed) the journal is just dropped, so events stop queueing and keep moving the live counters
+    private void closeJournal(Counters fresh) {
+        swap.writeLock().lock();
+        try {
+            if (fresh != null) {
+                journal.forEach(event -> event.accept(fresh));
+                counters = fresh;
+            }
+            journal = null;
+        } finally {
+            swap.writeLock().unlock();
+        }
+    }
+
+    // @desc CREATED adds a pending request; STATUS_UPDATED moves one between statuses
+    public void onCreditEvent(CreditEvent event) {
+        record(event.getTimestamp(), c -> applyCredit(c, event));
+    }
+
+    // @desc CLIENT_CREATED adds a client; CLIENT_UPDATED moves it if the industry changed
+    public void onClientEvent(ClientEvent event) {
+        record(event.getTimestamp(), c -> applyClient(c, event));
+    }
+
+    // @desc only registrations change the role counts; status changes keep the user counted
+    public void onUserEvent(UserEvent event) {
+        record(event.getTimestamp(), c -> applyUser(c, event));
+    }
+
+    // @desc RM: own clients and requests; analyst: credit and client totals; admin: everything
+    public DashboardStats snapshot(String userId, Role role) {
+        Counters c = counters;
+        boolean admin = role == Role.ADMIN;
+        boolean creditView = admin || role == Role.ANALYST;
+
+        if (!creditView) {
+            return new DashboardStats(null, null, null, null, null, null, null,
+                    sum(c.clientsByRm.get(userId)), sum(c.creditsByRm.get(userId)));
+        }
+
+        Map<CreditStatus, Long> byStatus = copyOf(c.creditsByStatus, CreditStatus.class);
+        Map<String, Long> byIndustry = copyOf(c.clientsByIndustry);
+        Map<Role, Long> byRole = admin ? copyOf(c.usersByRole, Role.class) : null;
+
+        return new DashboardStats(
+                total(byStatus),
+                byStatus,
+                c.requestedAmount.sum(),
+                c.clients.sum(),
+                byIndustry,
+                byRole == null ? null : total(byRole),
+                byRole,
+                null,
+                null);
+    }
+
+    // @func helper method, applies the event to the live counters and journals it for a running rebuild
+    private void record(LocalDateTime timestamp, Consumer<Counters> event) {
+        Consumer<Counters> unlessCounted = c -> {
+            if (c.since == null || timestamp == null || !timestamp.isBefore(c.since)) {
+                event.accept(c);
+            }
+        };
+        swap.readLock().lock();
+        try {
+            unlessCounted.accept(counters);
+            if (journal != null) {
+                journal.add(unlessCounted);
+            }
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    // @func helper method
+    private static void applyCredit(Counters c, CreditEvent event) {
+        if ("CREATED".equals(event.getEventType())) {
+            CreditStatus status = event.getStatus() != null ? event.getStatus() : CreditStatus.PENDING;
+            c.creditsByStatus.get(status).increment();
+            if (event.getAmount() != null) {
+                c.requestedAmount.add(event.getAmount());
+            }
+            add(c.creditsByRm, event.getActionBy(), 1);
+        } else if ("STATUS_UPDATED".equals(event.getEventType())) {
+            CreditStatus previous = parseStatus(event.getPreviousStatus());
+            if (previous == null || event.getStatus() == null || previous == event.getStatus()) {
+                return;
+            }
+            c.creditsByStatus.get(previous).decrement();
+            c.creditsByStatus.get(event.getStatus()).increment();
+        }
+    }
+
+    // @func helper method
+    private static void applyClient(Counters c, ClientEvent event) {
+        if ("CLIENT_CREATED".equals(event.getEventType())) {
+            c.clients.increment();
+            add(c.clientsByIndustry, event.getIndustry(), 1);
+            add(c.clientsByRm, event.getOnboardedBy(), 1);
+        } else if ("CLIENT_UPDATED".equals(event.getEventType())
+                && event.getPreviousIndustry() != null
+                && !event.getPreviousIndustry().equals(event.getIndustry())) {
+            add(c.clientsByIndustry, event.getPreviousIndustry(), -1);
+            add(c.clientsByIndustry, event.getIndustry(), 1);
+        }
+    }
+
+    // @func helper method
+    private static void applyUser(Counters c, UserEvent event) {
+        if ("USER_REGISTERED".equals(event.getEventType()) && event.getRole() != null) {
+            c.usersByRole.get(event.getRole()).increment();
+        }
+    }
+
+    // @func helper method, null keys (missing field) are not counted
+    private static void add(ConcurrentHashMap<String, LongAdder> map, String key, long delta) {
+        if (key != null) {
+            map.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    // @func helper method, every key of a fixed (enum) map is reported, zeros included
+    private static <K extends Enum<K>> Map<K, Long> copyOf(Map<K, LongAdder> counters, Class<K> type) {
+        Map<K, Long> result = new EnumMap<>(type);
+        counters.forEach((key, adder) -> result.put(key, adder.sum()));
+        return result;
+    }
+
+    // @func helper method, free-text keys that dropped to zero are left out
+    private static Map<String, Long> copyOf(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new HashMap<>();
+        counters.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value > 0) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    // @func helper method
+    private static long total(Map<?, Long> counts) {
+        long total = 0;
+        for (long value : counts.values()) {
+            total += value;
+        }
+        return total;
+    }
+
+    // @func helper method
+    private static long sum(LongAdder adder) {
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // @func helper method
+    private static CreditStatus parseStatus(String value) {
+        try {
+            return value == null ? null : CreditStatus.valueOf(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    // @func helper method
+    private static Role parseRole(String value) {
+        try {
+            return value == null ? null : Role.valueOf(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    // @desc one generation of counters; fixed-key maps are pre-filled so increments never allocate. since is the
+    // snapshot time of the rebuild that filled it (null before the first), events stamped earlier are already in it.
+    static final class Counters {
+        final LocalDateTime since;
+        final Map<CreditStatus, LongAdder> creditsByStatus = new EnumMap<>(CreditStatus.class);
+        final DoubleAdder requestedAmount = new DoubleAdder();
+        final LongAdder clients = new LongAdder();
+        final Map<Role, LongAdder> usersByRole = new EnumMap<>(Role.class);
+        final ConcurrentHashMap<String, LongAdder> clientsByIndustry = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, LongAdder> clientsByRm = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, LongAdder> creditsByRm = new ConcurrentHashMap<>();
+
+        Counters(LocalDateTime since) {
+            this.since = since;
+            for (CreditStatus status : CreditStatus.values()) {
+                creditsByStatus.put(status, new LongAdder());
+            }
+            for (Role role : Role.values()) {
+                usersByRole.put(role, new LongAdder());
+            }
+        }
+    }
+}
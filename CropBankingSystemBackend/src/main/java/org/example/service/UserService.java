@@ -1,5 +1,7 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
+import org.example.exception.InvalidQueryException;
 import org.example.exception.UserNotFoundException;
 //import org.example.kafka.events.UserEvent;
 //import org.example.kafka.producer.UserEventProducer;
@@ -7,35 +9,87 @@ import org.example.kafka.events.UserEvent;
 import org.example.kafka.producer.KafkaEventProducer;
 import org.example.model.User;
 import org.example.model.UserAdminList;
+import org.example.model.UserCursor;
+import org.example.model.UserPage;
+import org.example.model.UserQuery;
 import org.example.repository.UserRepository;
+import org.example.security.PrincipalCache;
+import org.example.utils.AfterCommit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Service
+@Timed(value = "app.service", description = "Service method latency")
 public class UserService {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    // @desc directory sorts, each backed by one of User's directory indexes
+    static final Set<String> SORTS = Set.of("username", "email");
+    static final String DEFAULT_SORT = "username";
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private KafkaEventProducer kafkaEventProducer;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ListVersions listVersions;
+
+    // @desc whole directory in username order, projected (no password hashes); prefer searchUsers for large sets
     public List<UserAdminList> getAllUsers() {
-        return userRepository.findAll().stream().map(this::mapToUserAdminDTO).toList();
+        UserQuery query = new UserQuery();
+        query.setSort(DEFAULT_SORT);
+        return userRepository.findDirectoryPage(query, null, 0);
     }
 
-    public User getCurrentUser(String email) {
-        User user = userRepository.findUserByEmail(email).orElseThrow(() -> new UserNotFoundException("User not found with this email"));
-        return user;
+    // @desc one keyset page of the directory; the cursor is only valid with the sort it was issued for
+    public UserPage searchUsers(UserQuery query) {
+        if (query.getSort() == null || query.getSort().isBlank()) {
+            query.setSort(DEFAULT_SORT);
+        } else if (!SORTS.contains(query.getSort())) {
+            throw new InvalidQueryException("sort must be one of " + SORTS);
+        }
+        int limit = query.getLimit() == null ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(query.getLimit(), MAX_PAGE_SIZE));
+        UserCursor after = query.getCursor() == null || query.getCursor().isBlank() ? null
+                : UserCursor.decode(query.getCursor(), query.getSort());
+
+        // @desc fetch one extra row to learn whether another page exists
+        List<UserAdminList> users = userRepository.findDirectoryPage(query, after, limit + 1);
+        String nextCursor = null;
+        if (users.size() > limit) {
+            users = users.subList(0, limit);
+            UserAdminList last = users.get(limit - 1);
+            String value = query.getSort().equals("email") ? last.email() : last.username();
+            nextCursor = new UserCursor(query.getSort(), value).encode();
+        }
+
+        return new UserPage(users, nextCursor);
+    }
+
+    public UserAdminList getCurrentUser(String email) {
+        return userRepository.findSummaryByEmail(email).orElseThrow(() -> new UserNotFoundException("User not found with this email"));
     }
 
+    @Transactional
     public String updateStatus(String id, boolean active) {
         User user = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
         user.setActive(active);
 
         userRepository.save(user);
+        // after commit, or a request in between would reload and cache the old status; other nodes evict via
+        // CacheSyncConsumer
+        AfterCommit.run(() -> principalCache.evict(user.getEmail()));
 
         UserEvent event = UserEvent.builder()
                 .eventType("USER_STATUS_UPDATED")
@@ -48,17 +102,8 @@ public class UserService {
                 .build();
 
         kafkaEventProducer.publishUserEvent(event);
+        listVersions.usersChanged();
 
         return active ? "User activated successfully" : "User deactivated successfully";
     }
-
-    private UserAdminList mapToUserAdminDTO(User user) {
-        return new UserAdminList(user.getId(), // MongoDB _id
-                user.getUsername(),
-                user.getEmail(),
-                user.getRole(),
-                user.getActive()
-        );
-    }
 }
-
@@ -0,0 +1,49 @@
+package org.example.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// @desc Caffeine cache whose loaders may block on Mongo. Cache.get(key, loader) runs the loader inside
+// ConcurrentHashMap.compute, i.e. holding a monitor, and a virtual thread blocked under a monitor pins its carrier
+// (Java 21-23). Here the loader runs outside the cache; its value is published only if no invalidation ran since
+// the load started, so an evict still wins over a load that read the old state. Concurrent misses on one key each
+// load, where Caffeine would have made them wait for one load.
+public final class UnpinnedCache<K, V> {
+
+    private final Cache<K, V> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UnpinnedCache(Cache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    // @desc loader exceptions propagate and nothing is cached
+    public V get(K key, Function<K, V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = invalidations.get();
+        V loaded = loader.apply(key);
+        V current = cache.asMap().compute(key, (k, existing) ->
+                existing != null ? existing : invalidations.get() == seen ? loaded : null);
+        return current != null ? current : loaded;
+    }
+
+    public V getIfPresent(K key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void invalidate(K key) {
+        invalidations.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    public void invalidateIf(Predicate<V> stale) {
+        invalidations.incrementAndGet();
+        cache.asMap().values().removeIf(stale);
+    }
+}
@@ -1,9 +1,13 @@
 package org.example;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// @desc needs a live mongod, so it runs only with -Dmongo.test.uri=mongodb://host:port (see RepositoryIndexUsageTest);
+// InMemoryProfileTests covers the context without one
+@SpringBootTest(properties = "spring.data.mongodb.uri=${mongo.test.uri}")
+@EnabledIfSystemProperty(named = "mongo.test.uri", matches = "mongodb.*")
 class CropBankingSystemBackendApplicationTests {
 
     @Test
@@ -0,0 +1,138 @@
+package org.example;
+
+import org.example.config.ReactiveServer;
+import org.example.kafka.outbox.OutboxRepository;
+import org.example.model.Role;
+import org.example.model.User;
+import org.example.model.client.ClientOn;
+import org.example.model.credit.CreditAllDetails;
+import org.example.model.credit.CreditDecisionItem;
+import org.example.model.credit.CreditDecisionResult;
+import org.example.model.credit.CreditRequest;
+import org.example.repository.ClientRepository;
+import org.example.repository.UserRepository;
+import org.example.repository.inmemory.InMemoryUserRepository;
+import org.example.security.CustomUserDetails;
+import org.example.security.JwtService;
+import org.example.service.CreditService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// @desc the whole application on the inmemory profile: no MongoDB or Kafka needed
+@SpringBootTest(properties = "reactive.server.port=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("inmemory")
+class InMemoryProfileTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private CreditService creditService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReactiveServer reactiveServer;
+
+    @Test
+    @DisplayName("Should start on in-memory repositories and run credit flows through the real services")
+    void creditFlow() {
+        assertInstanceOf(InMemoryUserRepository.class, userRepository);
+        assertTrue(userRepository.findUserByEmail("adminOne@gmail.com").isPresent()); // DataIntializer
+        User rm = userRepository.save(User.builder().username("rm-inmemory").email("rm@inmemory.test")
+                .password("x").role(Role.RELATIONSHIP_MANAGER).active(true).build());
+        ClientOn client = clientRepository.save(ClientOn.builder().rmId(rm.getId()).companyName("Acme")
+                .industry("Retail").build());
+        long outboxBefore = outboxRepository.count();
+
+        creditService.createCredit(new CreditRequest(client.getId(), 50_000.0, 12, "Working capital"), rm.getId());
+        List<CreditAllDetails> credits = creditService.getCredits(rm.getId(), false);
+        CreditDecisionResult decision = creditService.decideCredits(List.of(
+                new CreditDecisionItem(credits.get(0).getId(), "APPROVED", "Fine")), "analyst-inmemory").results().get(0);
+
+        assertEquals(1, credits.size());
+        assertEquals("Acme", credits.get(0).getClientName());
+        assertEquals(CreditDecisionResult.Outcome.UPDATED, decision.outcome());
+        assertEquals(outboxBefore + 2, outboxRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should finish a streamed export on the async dispatch, which carries no JWT context")
+    void export_asyncDispatch() throws Exception {
+        User analyst = userRepository.save(User.builder().username("analyst-export").email("analyst@export.test")
+                .password("x").role(Role.ANALYST).active(true).build());
+        String token = jwtService.generateToken(new CustomUserDetails(analyst));
+
+        MvcResult started = mockMvc.perform(get("/api/credit-requests/export").param("format", "csv")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("id,clientId,clientName,")));
+    }
+
+    @Test
+    @DisplayName("Should serve the reactive listing from its own server, authenticated by the same JWT")
+    void reactiveListing_separateServer() {
+        User rm = userRepository.save(User.builder().username("rm-reactive").email("rm@reactive.test")
+                .password("x").role(Role.RELATIONSHIP_MANAGER).active(true).build());
+        ClientOn client = clientRepository.save(ClientOn.builder().rmId(rm.getId()).companyName("Reactive Co")
+                .industry("Retail").build());
+        creditService.createCredit(new CreditRequest(client.getId(), 75_000.0, 24, "Expansion"), rm.getId());
+        String token = jwtService.generateToken(new CustomUserDetails(rm));
+        WebTestClient reactive = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveServer.getPort())
+                .build();
+
+        reactive.get().uri("/api/credit-requests/reactive/")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        List<CreditAllDetails> credits = reactive.get().uri("/api/credit-requests/reactive/")
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(CreditAllDetails.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(credits);
+        assertEquals(1, credits.size());
+        assertEquals("Reactive Co", credits.get(0).getClientName());
+        assertEquals("rm-reactive", credits.get(0).getRmName());
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.controller;
+
+import org.example.exception.ExceptionMessageHandler;
+import org.example.model.Role;
+import org.example.model.User;
+import org.example.model.credit.CreditQuery;
+import org.example.security.CustomUserDetails;
+import org.example.service.CreditExportService;
+import org.example.service.CreditService;
+import org.example.service.CreditWorkQueue;
+import org.example.service.ListVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class CreditControllerTest {
+
+    @Mock
+    private CreditService creditService;
+
+    @Mock
+    private CreditExportService creditExportService;
+
+    @Mock
+    private ListVersions listVersions;
+
+    @Mock
+    private CreditWorkQueue creditWorkQueue;
+
+    @InjectMocks
+    private CreditController creditController;
+
+    private MockMvc mockMvc;
+
+    private Authentication rm;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(creditController)
+                .setControllerAdvice(new ExceptionMessageHandler())
+                .build();
+        CustomUserDetails user = new CustomUserDetails(User.builder().id("rm-001").email("rm@example.com")
+                .role(Role.RELATIONSHIP_MANAGER).build());
+        rm = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should answer an export with an inverted amount range with 400, before any body is streamed")
+    void exportCredits_invertedRange() throws Exception {
+        // Arrange
+        doCallRealMethod().when(creditService).applyScope(any(CreditQuery.class), anyString(), anyBoolean());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/credit-requests/export").param("format", "csv")
+                        .param("minAmount", "5000").param("maxAmount", "1000").principal(rm))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("Content-Disposition"))
+                .andExpect(jsonPath("$.message").value("minAmount must not exceed maxAmount"));
+        verifyNoInteractions(creditExportService);
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.kafka.outbox;
+
+import org.example.kafka.events.CreditEvent;
+import org.example.kafka.producer.KafkaEventProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private KafkaEventProducer kafkaEventProducer;
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 3);
+        ReflectionTestUtils.setField(outboxRelay, "lease", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofSeconds(1));
+    }
+
+    private static OutboxEvent event(String id) {
+        return event(id, "client-001");
+    }
+
+    private static OutboxEvent event(String id, String clientId) {
+        OutboxEvent event = OutboxEvent.of(KafkaEventProducer.CREDIT_TOPIC, clientId,
+                CreditEvent.builder().eventType("CREATED").clientId(clientId).build());
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    @DisplayName("Should do nothing while another node holds the relay lease")
+    void relay_leaseHeldElsewhere() {
+        when(outboxRepository.tryAcquireRelayLease(anyString(), any())).thenReturn(false);
+
+        outboxRelay.relay();
+
+        verify(outboxRepository, never()).findAllByOrderByCreatedAtAscIdAsc(any());
+        verifyNoInteractions(kafkaEventProducer);
+    }
+
+    @Test
+    @DisplayName("Should send events oldest first and delete them once acked")
+    void relay_sendsInOrderThenDeletes() {
+        OutboxEvent first = event("e1");
+        OutboxEvent second = event("e2");
+        when(outboxRepository.tryAcquireRelayLease(anyString(), any())).thenReturn(true);
+        when(outboxRepository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(3))).thenReturn(List.of(first, second));
+        when(kafkaEventProducer.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxRelay.relay();
+
+        InOrder inOrder = inOrder(kafkaEventProducer, outboxRepository);
+        inOrder.verify(kafkaEventProducer).send(first);
+        inOrder.verify(kafkaEventProducer).send(second);
+        inOrder.verify(outboxRepository).deleteAllById(List.of("e1", "e2"));
+    }
+
+    @Test
+    @DisplayName("Should keep a failed event and everything after it on the same key unsent for the next run")
+    void publish_stopsAtFirstFailure() {
+        OutboxEvent first = event("e1");
+        OutboxEvent failed = event("e2");
+        OutboxEvent third = event("e3");
+        when(kafkaEventProducer.send(first)).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaEventProducer.send(failed)).thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        int acked = outboxRelay.publish(List.of(first, failed, third));
+
+        assertEquals(1, acked);
+        verify(kafkaEventProducer, never()).send(third);
+        verify(outboxRepository).deleteAllById(List.of("e1"));
+    }
+
+    @Test
+    @DisplayName("Should send a key's next event only after its previous one was acked, while other keys keep going")
+    void publish_ordersPerKey() {
+        OutboxEvent a1 = event("e1", "client-a");
+        OutboxEvent b1 = event("e2", "client-b");
+        OutboxEvent a2 = event("e3", "client-a");
+        OutboxEvent b2 = event("e4", "client-b");
+        OutboxEvent c1 = event("e5", "client-c");
+        CompletableFuture<SendResult<String, Object>> a1Ack = CompletableFuture.supplyAsync(() -> null,
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+        when(kafkaEventProducer.send(a1)).thenReturn(a1Ack);
+        when(kafkaEventProducer.send(b1)).thenThrow(new IllegalStateException("producer closed"));
+        when(kafkaEventProducer.send(a2)).thenAnswer(invocation -> {
+            assertTrue(a1Ack.isDone());
+            return CompletableFuture.completedFuture(null);
+        });
+        when(kafkaEventProducer.send(c1)).thenReturn(CompletableFuture.completedFuture(null));
+
+        int acked = outboxRelay.publish(List.of(a1, b1, a2, b2, c1));
+
+        assertEquals(3, acked);
+        InOrder inOrder = inOrder(kafkaEventProducer);
+        inOrder.verify(kafkaEventProducer).send(a1);
+        inOrder.verify(kafkaEventProducer).send(a2);
+        verify(kafkaEventProducer, never()).send(b2);
+        verify(outboxRepository).deleteAllById(List.of("e1", "e5", "e3"));
+    }
+
+    @Test
+    @DisplayName("Should keep draining full batches while the lease is held")
+    void relay_drainsFullBatches() {
+        when(outboxRepository.tryAcquireRelayLease(anyString(), any())).thenReturn(true);
+        when(outboxRepository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(3)))
+                .thenReturn(List.of(event("e1"), event("e2"), event("e3")))
+                .thenReturn(List.of(event("e4")));
+        when(kafkaEventProducer.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxRelay.relay();
+
+        verify(outboxRepository).deleteAllById(List.of("e1", "e2", "e3"));
+        verify(outboxRepository).deleteAllById(List.of("e4"));
+    }
+}
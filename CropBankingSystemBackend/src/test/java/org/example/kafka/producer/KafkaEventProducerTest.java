@@ -0,0 +1,71 @@
+package org.example.kafka.producer;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.outbox.OutboxEvent;
+import org.example.kafka.outbox.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaEventProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private KafkaEventProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        producer = new KafkaEventProducer(kafkaTemplate, outboxRepository, meterRegistry);
+    }
+
+    private static OutboxEvent event() {
+        return OutboxEvent.of(KafkaEventProducer.CLIENT_TOPIC, "client-001",
+                ClientEvent.builder().eventType("CLIENT_CREATED").clientId("client-001").build());
+    }
+
+    @Test
+    @DisplayName("Should time acked and failed sends separately, per topic")
+    void send_recordsLatencyByOutcome() {
+        // Arrange
+        CompletableFuture<SendResult<String, Object>> acked = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, Object>> failed = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(acked, failed);
+
+        // Act
+        producer.send(event());
+        producer.send(event());
+        acked.complete(null);
+        failed.completeExceptionally(new IllegalStateException("broker unavailable"));
+
+        // Assert
+        Timer success = meterRegistry.find("kafka.outbox.send")
+                .tags("topic", KafkaEventProducer.CLIENT_TOPIC, "outcome", "success").timer();
+        Timer failure = meterRegistry.find("kafka.outbox.send")
+                .tags("topic", KafkaEventProducer.CLIENT_TOPIC, "outcome", "failure").timer();
+        assertNotNull(success);
+        assertNotNull(failure);
+        assertEquals(1, success.count());
+        assertEquals(1, failure.count());
+    }
+}
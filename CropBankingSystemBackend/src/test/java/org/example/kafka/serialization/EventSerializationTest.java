@@ -0,0 +1,149 @@
+package org.example.kafka.serialization;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.kafka.events.UserEvent;
+import org.example.model.Role;
+import org.example.model.credit.CreditStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSerializationTest {
+
+    private final EventSerializer serializer = new EventSerializer();
+    private final EventDeserializer deserializer = new EventDeserializer();
+
+    private CreditEvent creditEvent;
+
+    @BeforeEach
+    void setUp() {
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "org.example.kafka.events"), false);
+        creditEvent = CreditEvent.builder()
+                .eventType("STATUS_UPDATED")
+                .creditId("65a0000000000000000000d1")
+                .clientId("65a0000000000000000000c1")
+                .amount(500000.0)
+                .status(CreditStatus.APPROVED)
+                .previousStatus("PENDING")
+                .actionBy("65a0000000000000000000r1")
+                .comments("All documents verified, ü ✓")
+                .timestamp(LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000))
+                .build();
+    }
+
+    private Object roundTrip(Object event) {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] bytes = serializer.serialize("topic", headers, event);
+        return deserializer.deserialize("topic", headers, bytes);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a credit event including nulls and non-ASCII text")
+    void creditEvent_roundTrip() {
+        assertEquals(creditEvent, roundTrip(creditEvent));
+    }
+
+    @Test
+    @DisplayName("Should round-trip client and user events")
+    void clientAndUserEvents_roundTrip() {
+        ClientEvent clientEvent = ClientEvent.builder()
+                .eventType("CLIENT_CREATED")
+                .clientId("c-1")
+                .clientName("ABC Corp")
+                .industry("Technology")
+                .onboardedBy("rm-001")
+                .timestamp(LocalDateTime.of(1969, 12, 31, 23, 59, 59))
+                .eventId("0b7c9f5e-3d1a-4c2e-9a61-5f8d2e4b7a10")
+                .build();
+        UserEvent userEvent = UserEvent.builder()
+                .eventType("USER_STATUS_UPDATED")
+                .userId("u-1")
+                .username("john.doe")
+                .role(Role.RELATIONSHIP_MANAGER)
+                .previousStatus(false)
+                .email("john@example.com")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        assertEquals(clientEvent, roundTrip(clientEvent));
+        assertEquals(userEvent, roundTrip(userEvent));
+        assertEquals(new UserEvent(), roundTrip(new UserEvent()));
+    }
+
+    @Test
+    @DisplayName("Should decode the known prefix of payloads written by a newer schema version")
+    void decode_newerSchemaVersion() {
+        ClientEvent updated = ClientEvent.builder()
+                .eventType("CLIENT_UPDATED")
+                .clientId("c-1")
+                .industry("Healthcare")
+                .previousIndustry("Technology")
+                .eventId("e-1")
+                .build();
+        // a producer one version ahead appended a field after eventId
+        EventBinaryCodec.Writer w = new EventBinaryCodec.Writer();
+        w.presence("CLIENT_UPDATED", "c-1", null, "Healthcare", null, null, "Technology", "e-1", "appended");
+        w.string("CLIENT_UPDATED").string("c-1").string("Healthcare").string("Technology").string("e-1")
+                .string("appended");
+
+        Object decoded = EventBinaryCodec.decode(EventBinaryCodec.CLIENT_EVENT,
+                EventBinaryCodec.SCHEMA_VERSION + 1, w.toByteArray());
+
+        assertEquals(updated, decoded);
+    }
+
+    @Test
+    @DisplayName("Should decode an enum constant this version does not know as null")
+    void decode_unknownEnumName() {
+        EventBinaryCodec.Writer w = new EventBinaryCodec.Writer();
+        w.presence("STATUS_UPDATED", null, "c-1", null, null, "ESCALATED", "PENDING");
+        w.string("STATUS_UPDATED").string("c-1").string("ESCALATED").string("PENDING");
+        EventBinaryCodec.Writer user = new EventBinaryCodec.Writer();
+        user.presence("USER_REGISTERED", "u-1", null, "AUDITOR");
+        user.string("USER_REGISTERED").string("u-1").string("AUDITOR");
+
+        CreditEvent credit = (CreditEvent) EventBinaryCodec.decode(EventBinaryCodec.CREDIT_EVENT,
+                EventBinaryCodec.SCHEMA_VERSION + 1, w.toByteArray());
+        UserEvent registered = (UserEvent) EventBinaryCodec.decode(EventBinaryCodec.USER_EVENT,
+                EventBinaryCodec.SCHEMA_VERSION + 1, user.toByteArray());
+
+        assertNull(credit.getStatus());
+        assertEquals("PENDING", credit.getPreviousStatus());
+        assertEquals("c-1", credit.getClientId());
+        assertNull(registered.getRole());
+        assertEquals("u-1", registered.getUserId());
+    }
+
+    @Test
+    @DisplayName("Should still read legacy JSON records that carry no schema header")
+    void legacyJson_fallback() {
+        RecordHeaders headers = new RecordHeaders();
+        try (JsonSerializer<Object> json = new JsonSerializer<>()) {
+            byte[] bytes = json.serialize("credit-events-top", headers, creditEvent);
+
+            assertNull(headers.lastHeader(EventSerializer.SCHEMA_VERSION_HEADER));
+            assertEquals(creditEvent, deserializer.deserialize("credit-events-top", headers, bytes));
+        }
+    }
+
+    @Test
+    @DisplayName("Should be several times smaller than the JSON encoding")
+    void binary_isCompact() {
+        byte[] binary = serializer.serialize("topic", new RecordHeaders(), creditEvent);
+        try (JsonSerializer<Object> json = new JsonSerializer<>()) {
+            byte[] legacy = json.serialize("topic", new RecordHeaders(), creditEvent);
+
+            assertTrue(binary.length * 2 < legacy.length,
+                    "binary=" + binary.length + " bytes, json=" + legacy.length + " bytes");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedAsyncAppenderTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final BoundedAsyncAppender appender = new BoundedAsyncAppender();
+
+    @AfterEach
+    void tearDown() {
+        appender.stop();
+    }
+
+    // @func helper method
+    private ILoggingEvent event(String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), Level.INFO, message, null, null);
+    }
+
+    @Test
+    @DisplayName("Should deliver queued events in order and drain them on stop")
+    void append_deliversInOrder() {
+        // Arrange
+        ListAppender<ILoggingEvent> target = new ListAppender<>();
+        target.setContext(context);
+        target.start();
+        appender.setContext(context);
+        appender.addAppender(target);
+        appender.start();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            appender.doAppend(event("event-" + i));
+        }
+        appender.stop();
+
+        // Assert
+        assertEquals(100, target.list.size());
+        assertEquals("event-0", target.list.get(0).getFormattedMessage());
+        assertEquals("event-99", target.list.get(99).getFormattedMessage());
+        assertEquals(0, appender.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Should drop and count events instead of blocking when the queue is full")
+    void append_dropsWhenFull() throws Exception {
+        // Arrange
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ListAppender<ILoggingEvent> written = new ListAppender<>();
+        written.start();
+        AppenderBase<ILoggingEvent> slowTarget = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                written.doAppend(event);
+            }
+        };
+        slowTarget.setContext(context);
+        slowTarget.start();
+        appender.setContext(context);
+        appender.setQueueSize(2);
+        appender.addAppender(slowTarget);
+        appender.start();
+
+        // the writer thread takes the first event and stalls on it
+        appender.doAppend(event("first"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // Act: two fit in the queue, the rest are dropped
+        for (int i = 0; i < 5; i++) {
+            appender.doAppend(event("burst-" + i));
+        }
+
+        // Assert
+        assertEquals(2, appender.getQueueDepth());
+        assertEquals(3, appender.getDroppedCount());
+
+        release.countDown();
+        appender.stop();
+        assertEquals(3, written.list.size());
+    }
+}
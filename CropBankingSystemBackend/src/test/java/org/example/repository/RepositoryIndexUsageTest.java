@@ -0,0 +1,410 @@
+package org.example.repository;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.example.config.MongoIndexVerifier;
+import org.example.model.Role;
+import org.example.model.User;
+import org.example.model.UserAdminList;
+import org.example.model.UserCursor;
+import org.example.model.UserQuery;
+import org.example.model.client.ClientOn;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditCursor;
+import org.example.model.credit.CreditQuery;
+import org.example.model.credit.CreditStatus;
+import org.example.model.stats.CreditRollup;
+import org.example.model.stats.CreditRollupRow;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// @desc runs every repository query against generated data with the declared indexes in place, captures the
+// command the driver actually sent, explains it and fails if the winning plan contains a COLLSCAN.
+// Opt-in, as it needs a mongod: -Dmongo.test.uri=mongodb://host:port runs it against that server,
+// -Dmongo.test.uri=embedded against a flapdoodle mongod (downloaded to ~/.embedmongo on first use). Without the
+// property the default build skips it.
+@EnabledIfSystemProperty(named = RepositoryIndexUsageTest.URI_PROPERTY, matches = ".+")
+class RepositoryIndexUsageTest {
+
+    static final String URI_PROPERTY = "mongo.test.uri";
+
+
+    private static final Set<String> QUERY_COMMANDS = Set.of("find", "aggregate", "count", "distinct");
+
+    private static final int RMS = 20;
+    private static final String[] INDUSTRIES = {"Technology", "Healthcare", "Manufacturing", "Retail", "Energy"};
+
+    private static final List<BsonDocument> captured = new CopyOnWriteArrayList<>();
+    private static volatile boolean capturing;
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> embedded;
+    private static MongoClient client;
+    private static MongoTemplate template;
+    private static String databaseName;
+
+    private static ClientRepository clientRepository;
+    private static CreditRepository creditRepository;
+    private static UserRepository userRepository;
+    private static CreditRollupRepository creditRollupRepository;
+
+    @BeforeAll
+    static void setUp() {
+        String uri = System.getProperty(URI_PROPERTY);
+        if (uri.equals("embedded")) {
+            embedded = Mongod.instance().start(Version.Main.V6_0);
+            ServerAddress address = embedded.current().getServerAddress();
+            uri = "mongodb://" + address.getHost() + ":" + address.getPort();
+        }
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(10, TimeUnit.SECONDS))
+                .addCommandListener(new CommandListener() {
+                    @Override
+                    public void commandStarted(CommandStartedEvent event) {
+                        if (capturing && QUERY_COMMANDS.contains(event.getCommandName())) {
+                            captured.add(event.getCommand().clone());
+                        }
+                    }
+                })
+                .build();
+        client = MongoClients.create(settings);
+
+        databaseName = "index_usage_" + System.nanoTime();
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.setInitialEntitySet(Set.of(ClientOn.class, Credit.class, User.class, CreditRollup.class));
+        mappingContext.setAutoIndexCreation(false);
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        template = new MongoTemplate(new SimpleMongoClientDatabaseFactory(client, databaseName), converter);
+
+        // the same path production takes on startup
+        MongoIndexVerifier verifier = new MongoIndexVerifier();
+        ReflectionTestUtils.setField(verifier, "mongoTemplate", template);
+        ReflectionTestUtils.setField(verifier, "createMissing", true);
+        assertFalse(verifier.verify().isEmpty(), "fresh database should have had every index created");
+        assertTrue(verifier.verify().isEmpty(), "second pass should find nothing missing");
+
+        generateData();
+
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(template);
+        CreditRepositoryCustomImpl creditCustom = new CreditRepositoryCustomImpl();
+        ReflectionTestUtils.setField(creditCustom, "mongoTemplate", template);
+        UserRepositoryCustomImpl userCustom = new UserRepositoryCustomImpl();
+        ReflectionTestUtils.setField(userCustom, "mongoTemplate", template);
+        clientRepository = factory.getRepository(ClientRepository.class);
+        creditRepository = factory.getRepository(CreditRepository.class, RepositoryFragments.just(creditCustom));
+        userRepository = factory.getRepository(UserRepository.class, RepositoryFragments.just(userCustom));
+        CreditRollupRepositoryCustomImpl rollupCustom = new CreditRollupRepositoryCustomImpl();
+        ReflectionTestUtils.setField(rollupCustom, "mongoTemplate", template);
+        creditRollupRepository = factory.getRepository(CreditRollupRepository.class,
+                RepositoryFragments.just(rollupCustom));
+        creditRollupRepository.rebuildFromCredits(Instant.now());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (client != null) {
+            client.getDatabase(databaseName).drop();
+            client.close();
+        }
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+
+    // @func helper method, enough rows per RM that an unindexed predicate would have to scan
+    private static void generateData() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < RMS; i++) {
+            users.add(User.builder().username("rm" + i).email("rm" + i + "@bank.test").password("x")
+                    .role(Role.RELATIONSHIP_MANAGER).active(true).build());
+        }
+        template.insert(users, User.class);
+
+        List<ClientOn> clients = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String industry = INDUSTRIES[i % INDUSTRIES.length];
+            clients.add(ClientOn.builder()
+                    .companyName("Company " + i)
+                    .industry((i / RMS) % 2 == 0 ? industry : industry.toUpperCase())
+                    .annualTurnover(1_000_000.0 + i)
+                    .documentsSubmitted(true)
+                    .rmId(users.get(i % RMS).getId())
+                    .build());
+        }
+        template.insert(clients, ClientOn.class);
+
+        List<Credit> credits = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int i = 0; i < 5000; i++) {
+            ClientOn owner = clients.get(i % clients.size());
+            credits.add(Credit.builder()
+                    .clientId(owner.getId())
+                    .submittedBy(owner.getRmId())
+                    .requestAmount(10_000.0 * (i % 100 + 1))
+                    .tenureMonths(12)
+                    .purpose("Working capital")
+                    .status(CreditStatus.values()[i % 3])
+                    .remarks("")
+                    .createdAt(now.minusSeconds(i))
+                    .build());
+        }
+        template.insert(credits, Credit.class);
+    }
+
+    // @func helper method, runs the call and returns the query commands it sent
+    private static List<BsonDocument> capture(Runnable call) {
+        captured.clear();
+        capturing = true;
+        try {
+            call.run();
+        } finally {
+            capturing = false;
+        }
+        assertFalse(captured.isEmpty(), "no query command was captured");
+        return List.copyOf(captured);
+    }
+
+    // @desc index-only: a covered plan has no FETCH stage, i.e. no document (or password hash) is read
+    private static void assertCovered(List<BsonDocument> commands) {
+        for (BsonDocument command : commands) {
+            BsonDocument explain = explain(command);
+            assertFalse(hasStage(explain, "COLLSCAN") || hasStage(explain, "FETCH"),
+                    () -> "not covered by an index: " + command.toJson() + "\n" + explain.toJson());
+        }
+    }
+
+    private static void assertNoCollscan(List<BsonDocument> commands) {
+        for (BsonDocument command : commands) {
+            BsonDocument explain = explain(command);
+            assertFalse(hasStage(explain, "COLLSCAN"), () -> "COLLSCAN in winning plan for " + command.toJson()
+                    + "\n" + explain.toJson());
+        }
+    }
+
+    // @func helper method, strips session/routing fields the driver adds and asks for the query plan
+    private static BsonDocument explain(BsonDocument command) {
+        BsonDocument plain = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!key.startsWith("$") && !key.equals("lsid") && !key.equals("txnNumber")) {
+                plain.put(key, value);
+            }
+        });
+        BsonDocument explainCommand = new BsonDocument("explain", plain)
+                .append("verbosity", new BsonString("queryPlanner"));
+        return client.getDatabase(databaseName).runCommand(explainCommand, BsonDocument.class);
+    }
+
+    // @func helper method, walks the whole explain output but ignores rejected plans
+    private static boolean hasStage(BsonValue value, String stage) {
+        if (value.isDocument()) {
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (entry.getKey().equals("rejectedPlans")) {
+                    continue;
+                }
+                if (entry.getKey().equals("stage") && entry.getValue().isString()
+                        && entry.getValue().asString().getValue().equals(stage)) {
+                    return true;
+                }
+                if (hasStage(entry.getValue(), stage)) {
+                    return true;
+                }
+            }
+        } else if (value.isArray()) {
+            for (BsonValue item : value.asArray()) {
+                if (hasStage(item, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String rmId(int i) {
+        return userRepository.findUserByEmail("rm" + i + "@bank.test").orElseThrow().getId();
+    }
+
+    @Test
+    @DisplayName("Sanity: an unindexed predicate is reported as COLLSCAN")
+    void detectsCollscan() {
+        List<BsonDocument> commands = capture(() ->
+                template.find(new Query(Criteria.where("purpose").is("Working capital")), Credit.class));
+
+        assertTrue(hasStage(explain(commands.get(0)), "COLLSCAN"));
+    }
+
+    @Test
+    @DisplayName("ClientRepository.findByRmId uses an rmId index")
+    void findByRmId() {
+        String rm = rmId(1);
+        assertNoCollscan(capture(() -> assertEquals(100, clientRepository.findByRmId(rm).size())));
+    }
+
+    @Test
+    @DisplayName("ClientRepository.findByIdAndRmId uses the _id index")
+    void findByIdAndRmId() {
+        ClientOn any = clientRepository.findByRmId(rmId(2)).get(0);
+        assertNoCollscan(capture(() ->
+                assertTrue(clientRepository.findByIdAndRmId(any.getId(), any.getRmId()).isPresent())));
+    }
+
+    @Test
+    @DisplayName("ClientRepository.findByRmIdAndCompanyNameContainingIgnoreCase scans only the RM's index range")
+    void findByRmIdAndCompanyNameContainingIgnoreCase() {
+        String rm = rmId(3);
+        assertNoCollscan(capture(() ->
+                assertFalse(clientRepository.findByRmIdAndCompanyNameContainingIgnoreCase(rm, "company 1").isEmpty())));
+    }
+
+    @Test
+    @DisplayName("ClientRepository.findByRmIdAndIndustryIgnoreCase matches any case through the collated index")
+    void findByRmIdAndIndustryIgnoreCase() {
+        String rm = rmId(0);
+        List<BsonDocument> commands = capture(() -> {
+            List<ClientOn> found = clientRepository.findByRmIdAndIndustryIgnoreCase(rm, "technology");
+            // rm0 owns clients 0, 20, 40...; every one of them is Technology, half stored upper-case
+            assertEquals(100, found.size());
+        });
+
+        assertNoCollscan(commands);
+    }
+
+    @Test
+    @DisplayName("ClientRepository.countIndustriesByRmId matches on an rmId index")
+    void countIndustriesByRmId() {
+        String rm = rmId(4);
+        assertNoCollscan(capture(() -> assertFalse(clientRepository.countIndustriesByRmId(rm).isEmpty())));
+    }
+
+    @Test
+    @DisplayName("CreditRepository.findBySubmittedBy uses submittedBy_createdAt_id")
+    void findBySubmittedBy() {
+        String rm = rmId(5);
+        assertNoCollscan(capture(() -> assertEquals(250, creditRepository.findBySubmittedBy(rm).size())));
+    }
+
+    @Test
+    @DisplayName("CreditRepository.findPage uses an index for first and following keyset pages")
+    void findPage() {
+        CreditQuery query = new CreditQuery();
+        query.setSubmittedBy(rmId(6));
+        query.setStatus(CreditStatus.PENDING);
+
+        List<BsonDocument> commands = capture(() -> {
+            List<Credit> first = creditRepository.findPage(query, null, 20);
+            creditRepository.findPage(query, CreditCursor.of(first.get(first.size() - 1)), 20);
+        });
+
+        assertEquals(2, commands.size());
+        assertNoCollscan(commands);
+    }
+
+    @Test
+    @DisplayName("CreditRepository.streamCredits uses an index")
+    void streamCredits() {
+        CreditQuery query = new CreditQuery();
+        query.setStatus(CreditStatus.APPROVED);
+
+        assertNoCollscan(capture(() -> {
+            try (Stream<Credit> stream = creditRepository.streamCredits(query)) {
+                assertTrue(stream.findFirst().isPresent());
+            }
+        }));
+    }
+
+    @Test
+    @DisplayName("CreditRepository.approvedTotalsByClient matches on clientId_createdAt_id")
+    void approvedTotalsByClient() {
+        List<String> clientIds = clientRepository.findByRmId(rmId(9)).stream().map(ClientOn::getId).limit(10).toList();
+        assertNoCollscan(capture(() -> assertFalse(creditRepository.approvedTotalsByClient(clientIds).isEmpty())));
+    }
+
+    @Test
+    @DisplayName("UserRepository.findUserByEmail uses the unique email index")
+    void findUserByEmail() {
+        assertNoCollscan(capture(() -> assertTrue(userRepository.findUserByEmail("rm7@bank.test").isPresent())));
+    }
+
+    @Test
+    @DisplayName("UserRepository.findDirectoryPage is covered by a directory index for both sorts and the seek")
+    void findDirectoryPage() {
+        UserQuery byUsername = UserQuery.builder().sort("username").role(Role.RELATIONSHIP_MANAGER).active(true)
+                .username("rm1").build();
+        UserQuery byEmail = UserQuery.builder().sort("email").email("rm").build();
+
+        List<BsonDocument> commands = capture(() -> {
+            List<UserAdminList> first = userRepository.findDirectoryPage(byUsername, null, 5);
+            assertEquals(5, first.size());
+            userRepository.findDirectoryPage(byUsername, new UserCursor("username", first.get(4).username()), 5);
+            assertEquals(RMS, userRepository.findDirectoryPage(byEmail, null, 0).size());
+        });
+
+        assertEquals(3, commands.size());
+        assertCovered(commands);
+    }
+
+    @Test
+    @DisplayName("UserRepository.findSummaryByEmail is served from an index without reading the document")
+    void findSummaryByEmail() {
+        assertCovered(capture(() -> assertTrue(userRepository.findSummaryByEmail("rm8@bank.test").isPresent())));
+    }
+
+    @Test
+    @DisplayName("CreditRollupRepository.summarize reads a month range of buckets through month_status_industry_rmId")
+    void summarizeRollups() {
+        String from = CreditRollup.monthOf(Instant.now().minus(1, ChronoUnit.DAYS));
+        String to = CreditRollup.monthOf(Instant.now());
+        List<BsonDocument> commands = capture(() -> {
+            List<CreditRollupRow> rows = creditRollupRepository.summarize(from, to, "APPROVED", null, rmId(3),
+                    List.of("month", "industry"));
+            assertFalse(rows.isEmpty());
+            List<CreditRollupRow> all = creditRollupRepository.summarize("0000-01", "9999-12", null, null, null,
+                    List.of());
+            assertEquals(5000, all.get(0).count());
+        });
+
+        assertNoCollscan(commands.stream().filter(command -> command.containsKey("aggregate")).toList());
+    }
+}
@@ -0,0 +1,250 @@
+package org.example.repository.inmemory;
+
+import org.example.model.Role;
+import org.example.model.User;
+import org.example.model.UserAdminList;
+import org.example.model.UserCursor;
+import org.example.model.UserQuery;
+import org.example.model.client.ClientOn;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditCursor;
+import org.example.model.credit.CreditDecisionItem;
+import org.example.model.credit.CreditQuery;
+import org.example.model.credit.CreditStatus;
+import org.example.model.stats.GroupTotal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRepositoryTest {
+
+    private final InMemoryClientRepository clients = new InMemoryClientRepository();
+    private final InMemoryCreditRepository credits = new InMemoryCreditRepository();
+    private final InMemoryUserRepository users = new InMemoryUserRepository();
+
+    // @func helper method
+    private static ClientOn client(String rmId, String companyName, String industry) {
+        return ClientOn.builder().rmId(rmId).companyName(companyName).industry(industry).build();
+    }
+
+    // @func helper method
+    private static Credit credit(String submittedBy, CreditStatus status, double amount, long epochSecond) {
+        return Credit.builder()
+                .clientId("client-" + submittedBy)
+                .submittedBy(submittedBy)
+                .requestAmount(amount)
+                .status(status)
+                .createdAt(Instant.ofEpochSecond(epochSecond))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should assign ObjectIds and hand out copies, not the stored documents")
+    void save_assignsIdAndCopies() {
+        ClientOn saved = clients.save(client("rm-1", "Acme", "Retail"));
+
+        ClientOn found = clients.findById(saved.getId()).orElseThrow();
+        found.setIndustry("Energy");
+
+        assertEquals(24, saved.getId().length());
+        assertNotSame(saved, found);
+        assertEquals("Retail", clients.findById(saved.getId()).orElseThrow().getIndustry());
+    }
+
+    @Test
+    @DisplayName("Should move a client between index buckets when its industry changes")
+    void save_update_reindexes() {
+        ClientOn acme = clients.save(client("rm-1", "Acme", "Retail"));
+        clients.save(client("rm-1", "Globex", "retail"));
+        clients.save(client("rm-2", "Initech", "Retail"));
+
+        acme.setIndustry("Energy");
+        clients.save(acme);
+
+        assertEquals(List.of("Globex"), names(clients.findByRmIdAndIndustryIgnoreCase("rm-1", "RETAIL")));
+        assertEquals(List.of("Acme"), names(clients.findByRmIdAndIndustryIgnoreCase("rm-1", "energy")));
+        assertEquals(List.of(new GroupTotal("Energy", 1, null), new GroupTotal("retail", 1, null)),
+                clients.countIndustriesByRmId("rm-1"));
+        assertEquals(List.of(new GroupTotal("Energy", 1, null), new GroupTotal("Retail", 1, null),
+                        new GroupTotal("retail", 1, null)),
+                clients.countByIndustry().stream().sorted(Comparator.comparing(GroupTotal::id)).toList());
+        assertEquals(List.of("Acme"), names(clients.findByRmIdAndCompanyNameContainingIgnoreCase("rm-1", "cM")));
+        assertTrue(clients.findByIdAndRmId(acme.getId(), "rm-2").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page newest first from the cursor and apply every filter")
+    void findPage_keysetOrder() {
+        for (int i = 0; i < 10; i++) {
+            credits.save(credit(i % 2 == 0 ? "rm-1" : "rm-2", CreditStatus.PENDING, 1_000 * (i + 1), 1_700_000_000L + i));
+        }
+        CreditQuery rm1 = CreditQuery.builder().submittedBy("rm-1").minAmount(2_000.0).build();
+
+        List<Credit> first = credits.findPage(rm1, null, 2);
+        List<Credit> second = credits.findPage(rm1, CreditCursor.of(first.get(1)), 2);
+
+        assertEquals(List.of(9_000.0, 7_000.0), amounts(first));
+        assertEquals(List.of(5_000.0, 3_000.0), amounts(second));
+        assertTrue(credits.findPage(rm1, CreditCursor.of(second.get(1)), 2).isEmpty());
+        try (var all = credits.streamCredits(new CreditQuery())) {
+            assertEquals(10, all.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should decide only credits that are still PENDING and keep the status index current")
+    void decidePending_conditional() {
+        Credit pending = credits.save(credit("rm-1", CreditStatus.PENDING, 5_000, 1_700_000_000L));
+        Credit approved = credits.save(credit("rm-1", CreditStatus.APPROVED, 7_000, 1_700_000_001L));
+
+        credits.decidePending(List.of(
+                new CreditDecisionItem(pending.getId(), "REJECTED", "Too risky"),
+                new CreditDecisionItem(approved.getId(), "REJECTED", "Too late"),
+                new CreditDecisionItem("missing", "APPROVED", "n/a")), "batch-1", "analyst-1", Instant.now());
+
+        Credit decided = credits.findById(pending.getId()).orElseThrow();
+        assertEquals(CreditStatus.REJECTED, decided.getStatus());
+        assertEquals("batch-1", decided.getDecisionBatchId());
+        assertNull(credits.findById(approved.getId()).orElseThrow().getDecisionBatchId());
+        assertTrue(credits.findPage(CreditQuery.builder().status(CreditStatus.PENDING).build(), null, 10).isEmpty());
+        assertEquals(List.of(new GroupTotal("APPROVED", 1, 7_000.0), new GroupTotal("REJECTED", 1, 5_000.0)),
+                credits.totalsByStatus());
+    }
+
+    @Test
+    @DisplayName("Should lease a PENDING credit to one analyst at a time until the lease expires")
+    void claimPending_leases() {
+        Credit pending = credits.save(credit("rm-1", CreditStatus.PENDING, 5_000, 1_700_000_000L));
+        Instant now = Instant.ofEpochSecond(1_800_000_000L);
+        Instant until = now.plusSeconds(900);
+
+        Credit claimed = credits.claimPending(pending.getId(), "analyst-1", now, until);
+
+        assertEquals("analyst-1", claimed.getLeasedBy());
+        assertEquals(until, claimed.getLeaseExpiresAt());
+        assertNull(credits.claimPending(pending.getId(), "analyst-2", now.plusSeconds(60), until));
+        assertNull(credits.claimPending(pending.getId(), "analyst-1", now.plusSeconds(60), until));
+
+        // decisions by anyone but the holder are skipped while the lease is live
+        credits.decidePending(List.of(new CreditDecisionItem(pending.getId(), "APPROVED", "Mine now")),
+                "batch-2", "analyst-2", now.plusSeconds(60));
+        assertEquals(CreditStatus.PENDING, credits.findById(pending.getId()).orElseThrow().getStatus());
+
+        // an expired lease is claimable again without any cleanup
+        assertEquals("analyst-2", credits.claimPending(pending.getId(), "analyst-2", until, until.plusSeconds(900))
+                .getLeasedBy());
+        assertFalse(credits.releaseClaim(pending.getId(), "analyst-1"));
+        assertTrue(credits.releaseClaim(pending.getId(), "analyst-2"));
+        assertNull(credits.findById(pending.getId()).orElseThrow().getLeasedBy());
+    }
+
+    @Test
+    @DisplayName("Should decide a credit only when no other analyst holds a live lease on it, and return it as it was")
+    void decide_conditional() {
+        Credit pending = credits.save(credit("rm-1", CreditStatus.PENDING, 5_000, 1_700_000_000L));
+        Instant now = Instant.ofEpochSecond(1_800_000_000L);
+        Instant until = now.plusSeconds(900);
+        credits.claimPending(pending.getId(), "analyst-1", now, until);
+
+        assertNull(credits.decide(pending.getId(), CreditStatus.APPROVED, "Not mine", "analyst-2", now));
+        assertNull(credits.decide("missing", CreditStatus.APPROVED, "n/a", "analyst-1", now));
+        assertEquals(CreditStatus.PENDING, credits.findById(pending.getId()).orElseThrow().getStatus());
+
+        Credit previous = credits.decide(pending.getId(), CreditStatus.APPROVED, "Mine", "analyst-1", now);
+
+        assertEquals(CreditStatus.PENDING, previous.getStatus());
+        Credit decided = credits.findById(pending.getId()).orElseThrow();
+        assertEquals(CreditStatus.APPROVED, decided.getStatus());
+        assertEquals("Mine", decided.getRemarks());
+        assertNull(decided.getLeasedBy());
+        assertNull(decided.getLeaseExpiresAt());
+
+        // a decided credit carries no lease, so any analyst may revise it
+        assertEquals(CreditStatus.APPROVED, credits.decide(pending.getId(), CreditStatus.REJECTED, "Revised",
+                "analyst-2", now).getStatus());
+        assertEquals(CreditStatus.REJECTED, credits.findById(pending.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject a second user with the same email and keep the first one findable")
+    void save_uniqueEmail() {
+        User admin = users.save(User.builder().username("admin").email("a@bank.com").role(Role.ADMIN).build());
+
+        assertThrows(DuplicateKeyException.class, () -> users.save(
+                User.builder().username("other").email("a@bank.com").role(Role.ANALYST).build()));
+
+        admin.setEmail("b@bank.com");
+        users.save(admin);
+        users.save(User.builder().username("other").email("a@bank.com").role(Role.ANALYST).build());
+        assertEquals("admin", users.findUserByEmail("b@bank.com").orElseThrow().getUsername());
+        assertEquals("other", users.findUserByEmail("a@bank.com").orElseThrow().getUsername());
+        assertEquals(2, users.count());
+    }
+
+    @Test
+    @DisplayName("Should page the user directory in email order with prefix, role and active filters")
+    void findDirectoryPage_emailOrder() {
+        for (String name : List.of("dan", "amy", "cat", "bob", "eve")) {
+            users.save(User.builder().username(name).email(name + "@bank.com").password("hash")
+                    .role(name.equals("eve") ? Role.ADMIN : Role.ANALYST).active(!name.equals("cat")).build());
+        }
+        users.save(User.builder().username("zed").email("zed@other.com").role(Role.ANALYST).active(true).build());
+        UserQuery query = UserQuery.builder().sort("email").role(Role.ANALYST).active(true).build();
+
+        List<UserAdminList> first = users.findDirectoryPage(query, null, 2);
+        List<UserAdminList> rest = users.findDirectoryPage(query, new UserCursor("email", "bob@bank.com"), 0);
+        query.setEmail("d");
+        List<UserAdminList> prefixed = users.findDirectoryPage(query, null, 0);
+
+        assertEquals(List.of("amy", "bob"), first.stream().map(UserAdminList::username).toList());
+        assertEquals(List.of("dan", "zed"), rest.stream().map(UserAdminList::username).toList());
+        assertEquals(List.of("dan"), prefixed.stream().map(UserAdminList::username).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep indexes consistent under concurrent writers")
+    void save_concurrent() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> writes = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String rmId = "rm-" + t;
+            writes.add(pool.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    ClientOn client = clients.save(client(rmId, "Company " + i, "Retail"));
+                    client.setIndustry("Energy");
+                    clients.save(client);
+                }
+            }));
+        }
+        for (Future<?> write : writes) {
+            write.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(4_000, clients.count());
+        assertEquals(List.of(new GroupTotal("Energy", 4_000, null)), clients.countByIndustry());
+        assertEquals(500, clients.findByRmIdAndIndustryIgnoreCase("rm-3", "energy").size());
+        assertTrue(clients.findByRmIdAndIndustryIgnoreCase("rm-3", "retail").isEmpty());
+    }
+
+    // @func helper method
+    private static List<String> names(List<ClientOn> found) {
+        return found.stream().map(ClientOn::getCompanyName).sorted().toList();
+    }
+
+    // @func helper method
+    private static List<Double> amounts(List<Credit> found) {
+        return found.stream().map(Credit::getRequestAmount).toList();
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.security.SignatureException;
+import org.example.model.Role;
+import org.example.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private JwtService jwtService;
+    private CustomUserDetails userDetails;
+
+    private static JwtService newJwtService(String secret) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "SECRET_KEY", secret);
+        ReflectionTestUtils.setField(service, "EXPIRATION_TIME", 7_200_000L);
+        service.init();
+        return service;
+    }
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService("jdksmemkfdsthisdnnsisd323secretkey4j3ndk74828jddkkc");
+        userDetails = new CustomUserDetails(User.builder()
+                .id("user-001")
+                .email("john@example.com")
+                .username("john.doe")
+                .role(Role.ANALYST)
+                .active(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should expose sub, userId, role and exp from a single parse")
+    void extractAllClaims_roundTrip() {
+        String token = jwtService.generateToken(userDetails);
+
+        Claims claims = jwtService.extractAllClaims(token);
+
+        assertEquals("john@example.com", claims.getSubject());
+        assertEquals("user-001", claims.get("userId", String.class));
+        assertEquals("ANALYST", claims.get("role", String.class));
+        assertNotNull(claims.getExpiration());
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+        assertEquals("john@example.com", jwtService.extractUsername(token));
+    }
+
+    @Test
+    @DisplayName("Should reject claims issued for another user")
+    void isTokenValid_otherUser() {
+        CustomUserDetails other = new CustomUserDetails(User.builder()
+                .email("jane@example.com")
+                .role(Role.ANALYST)
+                .build());
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(userDetails));
+
+        assertFalse(jwtService.isTokenValid(claims, other));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with a different key")
+    void extractAllClaims_wrongKey() {
+        String foreign = newJwtService("another-secret-that-is-long-enough-for-hs256-keys")
+                .generateToken(userDetails);
+
+        assertThrows(SignatureException.class, () -> jwtService.extractAllClaims(foreign));
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.exception.LoginThrottledException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordVerificationPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordVerificationPool pool =
+            new PasswordVerificationPool(1, 1, Duration.ofSeconds(3), meterRegistry);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should return the task result and record hash time")
+    void run_success() {
+        assertEquals("ok", pool.run(() -> "ok"));
+        assertEquals(1, meterRegistry.get("auth.login.verify").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should rethrow authentication failures unchanged")
+    void run_rethrowsCause() {
+        assertThrows(BadCredentialsException.class, () -> pool.run(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        }));
+    }
+
+    @Test
+    @DisplayName("Should fast-fail with Retry-After once the thread and queue are taken")
+    void run_rejectsWhenFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // occupies the single thread
+        callers.submit(() -> pool.run(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // occupies the single queue slot
+        callers.submit(() -> pool.run(() -> true));
+        waitForQueueDepth(1);
+
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class, () -> pool.run(() -> true));
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.login.rejected").counter().count());
+
+        release.countDown();
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (meterRegistry.get("auth.login.queue.depth").gauge().value() >= depth) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("queue never reached depth " + depth);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.security;
+
+import org.example.model.Role;
+import org.example.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+    private Function<String, CustomUserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(Duration.ofMinutes(1), 100);
+        loads = new AtomicInteger();
+        loader = email -> {
+            loads.incrementAndGet();
+            return new CustomUserDetails(User.builder()
+                    .id("user-" + email)
+                    .email(email)
+                    .role(Role.ANALYST)
+                    .active(true)
+                    .build());
+        };
+    }
+
+    @Test
+    @DisplayName("Should load a principal once and serve repeats from memory")
+    void get_cachesPrincipal() {
+        CustomUserDetails first = principalCache.get("john@example.com", loader);
+        CustomUserDetails second = principalCache.get("john@example.com", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should reload after eviction by email or by id")
+    void evict_forcesReload() {
+        principalCache.get("john@example.com", loader);
+        principalCache.evict("john@example.com");
+        principalCache.get("john@example.com", loader);
+
+        principalCache.evictById("user-john@example.com");
+        principalCache.get("john@example.com", loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a failed lookup")
+    void get_loaderFailure() {
+        Function<String, CustomUserDetails> missing = email -> {
+            throw new UsernameNotFoundException("Invalid user credentials email");
+        };
+
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("ghost@example.com", missing));
+        principalCache.get("ghost@example.com", loader);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that an eviction overtook, since it may carry the old status")
+    void get_evictedDuringLoad() {
+        Function<String, CustomUserDetails> overtaken = email -> {
+            CustomUserDetails stale = loader.apply(email);
+            principalCache.evict(email); // UserService.updateStatus commits while the users lookup is in flight
+            return stale;
+        };
+
+        CustomUserDetails first = principalCache.get("john@example.com", overtaken);
+        CustomUserDetails second = principalCache.get("john@example.com", loader);
+
+        assertNotSame(first, second);
+        assertEquals(2, loads.get());
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.service;
 
 import org.example.exception.EmailAlreadyExistsException;
+import org.example.exception.LoginThrottledException;
 import org.example.exception.NotActiveException;
+import org.example.kafka.events.UserEvent;
+import org.example.kafka.producer.KafkaEventProducer;
 import org.example.model.LoginResponse;
 import org.example.model.Role;
 import org.example.model.User;
@@ -9,8 +12,10 @@ import org.example.model.UserLogin;
 import org.example.repository.UserRepository;
 import org.example.security.CustomUserDetails;
 import org.example.security.JwtService;
+import org.example.security.PasswordVerificationPool;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -19,6 +24,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -50,8 +56,24 @@ class AuthServiceTest {
     @Mock
     private CustomUserDetails customUserDetails;
 
+    @Mock
+    private PasswordVerificationPool passwordVerificationPool;
+
+    @Mock
+    private KafkaEventProducer kafkaEventProducer;
+
+    @Mock
+    private ListVersions listVersions;
+
+    // @func helper method, runs the submitted verification inline
+    private void runVerificationInline() throws Exception {
+        when(passwordVerificationPool.run(any()))
+                .thenAnswer(invocation -> invocation.<Callable<?>>getArgument(0).call());
+    }
+
     @Test
-    void login_success() {
+    void login_success() throws Exception {
+        runVerificationInline();
 
         UserLogin req = new UserLogin();
         req.setEmail("test@gmail.com");
@@ -74,7 +96,8 @@ class AuthServiceTest {
 
 
     @Test
-    void login_userNotActive() {
+    void login_userNotActive() throws Exception {
+        runVerificationInline();
         User user = new User();
         user.setActive(false);
 
@@ -89,11 +112,24 @@ class AuthServiceTest {
                 () -> authService.login(new UserLogin()));
     }
 
+    @Test
+    void login_throttledWhenPoolIsFull() {
+        when(passwordVerificationPool.run(any()))
+                .thenThrow(new LoginThrottledException("Too many login attempts in progress.", 2));
+
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class,
+                () -> authService.login(new UserLogin()));
+
+        assertEquals("retry after", 2L, ex.getRetryAfterSeconds());
+        verifyNoInteractions(authenticationManager, jwtService);
+    }
+
     @Test
     void register_success() {
         User user = new User();
         user.setEmail("new@gmail.com");
         user.setPassword("123");
+        user.setRole(Role.ANALYST);
 
         when(userRepository.findUserByEmail("new@gmail.com"))
                 .thenReturn(Optional.empty());
@@ -104,6 +140,11 @@ class AuthServiceTest {
 
         verify(userRepository).save(user);
         assertTrue(result.contains("Created successfully"));
+
+        ArgumentCaptor<UserEvent> eventCaptor = ArgumentCaptor.forClass(UserEvent.class);
+        verify(kafkaEventProducer).publishUserEvent(eventCaptor.capture());
+        assertEquals("event type", "USER_REGISTERED", eventCaptor.getValue().getEventType());
+        assertEquals("role", Role.ANALYST, eventCaptor.getValue().getRole());
     }
 
     @Test
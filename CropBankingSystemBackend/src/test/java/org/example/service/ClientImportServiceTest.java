@@ -0,0 +1,205 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.exception.InvalidImportException;
+import org.example.model.client.ClientImportReport;
+import org.example.model.client.ClientImportRow;
+import org.example.model.client.ClientRequest;
+import org.example.model.client.ImportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClientImportServiceTest {
+
+    @Mock
+    private ClientService clientService;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private ClientImportService clientImportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(clientImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(clientImportService, "maxRowLength", 400);
+        ReflectionTestUtils.setField(clientImportService, "maxReportedFailures", 1000);
+    }
+
+    // @func helper method
+    private static InputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // @func helper method
+    private static String ndjsonRow(String companyName) {
+        return "{\"companyName\":\"" + companyName + "\",\"industry\":\"Retail\","
+                + "\"primaryContact\":{\"name\":\"Alice\",\"email\":\"alice@example.com\",\"phone\":\"1234567890\"},"
+                + "\"annualTurnover\":1000.0,\"documentsSubmitted\":true}\n";
+    }
+
+    // @func helper method, ids "c1", "c2", ... in call order
+    @SuppressWarnings("unchecked")
+    private void stubAddClients() {
+        int[] next = {0};
+        when(clientService.addClients(anyList(), eq("rm-001"))).thenAnswer(invocation ->
+                ((List<ClientRequest>) invocation.getArgument(0)).stream()
+                        .map(r -> "c" + (++next[0]))
+                        .toList());
+    }
+
+    @Test
+    @DisplayName("Should write NDJSON rows in batches and report only the failed rows, in upload order")
+    void importClients_ndjsonBatches() throws IOException {
+        // Arrange
+        stubAddClients();
+        String content = ndjsonRow("A") + "{not json\n" + ndjsonRow("B") + "\n"
+                + "{\"companyName\":\"\",\"industry\":\"Retail\"}\n" + ndjsonRow("C");
+
+        // Act
+        ClientImportReport report = clientImportService.importClients(upload(content), ImportFormat.NDJSON, "rm-001");
+
+        // Assert
+        assertEquals(5, report.total());
+        assertEquals(3, report.created());
+        assertEquals(2, report.failed());
+        List<ClientImportRow> failures = report.failures();
+        assertEquals(List.of(2, 4), failures.stream().map(ClientImportRow::row).toList());
+        assertTrue(failures.get(0).errors().get(0).startsWith("Malformed JSON"));
+        assertTrue(failures.get(1).errors().contains("companyName: Company name is required"));
+        assertTrue(failures.get(1).errors().contains("primaryContact: Primary contact details are required"));
+
+        verify(clientService, times(2)).addClients(anyList(), eq("rm-001"));
+    }
+
+    @Test
+    @DisplayName("Should map CSV columns by header, including quoted fields with commas and line breaks")
+    @SuppressWarnings("unchecked")
+    void importClients_csv() throws IOException {
+        // Arrange
+        stubAddClients();
+        String content = "industry,companyName,contactName,contactEmail,contactPhone,annualTurnover,documentsSubmitted,address\n"
+                + "Retail,\"Smith, \"\"Sons\"\"\",Alice,alice@example.com,1234567890,1000,true,\"1 Main St\nSuite 2\"\n"
+                + "Retail,Bad Co,Bob,bob@example.com,123,lots,yes,\n";
+
+        // Act
+        ClientImportReport report = clientImportService.importClients(upload(content), ImportFormat.CSV, "rm-001");
+
+        // Assert
+        assertEquals(1, report.created());
+        assertEquals(List.of(new ClientImportRow(2, List.of("annualTurnover: must be a number"))),
+                report.failures());
+
+        ArgumentCaptor<List<ClientRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(clientService).addClients(captor.capture(), eq("rm-001"));
+        ClientRequest request = captor.getValue().get(0);
+        assertEquals("Smith, \"Sons\"", request.getCompanyName());
+        assertEquals("1 Main St\nSuite 2", request.getAddress());
+        assertEquals("1234567890", request.getPrimaryContact().getPhone());
+        assertTrue(request.getDocumentsSubmitted());
+    }
+
+    @Test
+    @DisplayName("Should count every failed row but keep only the first ones, lowest row numbers first")
+    void importClients_failuresCapped() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(clientImportService, "maxReportedFailures", 2);
+        when(clientService.addClients(anyList(), eq("rm-001")))
+                .thenThrow(new DataAccessResourceFailureException("primary stepped down"))
+                .thenReturn(List.of("c3"));
+        String content = ndjsonRow("Co 1") + ndjsonRow("Co 2") + "{not json\n".repeat(3) + ndjsonRow("Co 3");
+
+        // Act
+        ClientImportReport report = clientImportService.importClients(upload(content), ImportFormat.NDJSON, "rm-001");
+
+        // Assert
+        assertEquals(6, report.total());
+        assertEquals(1, report.created());
+        assertEquals(5, report.failed());
+        assertEquals(List.of(1, 2), report.failures().stream().map(ClientImportRow::row).toList());
+    }
+
+    @Test
+    @DisplayName("Should fail an overlong row or an unterminated quote without keeping it, and read on")
+    void importClients_rowLengthCapped() throws IOException {
+        // Arrange
+        stubAddClients();
+        String header = "companyName,industry,contactName,contactEmail,contactPhone,annualTurnover,documentsSubmitted\n";
+        String valid = "Acme,Retail,Alice,alice@example.com,1234567890,1000,true\n";
+        String content = header + valid + "Long Co," + "x".repeat(500) + "\n" + valid
+                + "\"Open quote,Retail,Bob\n" + "y".repeat(300) + "\n" + "z".repeat(300) + "\n";
+
+        // Act
+        ClientImportReport report = clientImportService.importClients(upload(content), ImportFormat.CSV, "rm-001");
+
+        // Assert
+        assertEquals(4, report.total());
+        assertEquals(2, report.created());
+        assertEquals(List.of(new ClientImportRow(2, List.of("Row longer than 400 characters")),
+                new ClientImportRow(4, List.of("Unterminated quoted field or row longer than 400 characters"))),
+                report.failures());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV upload with an unknown column before writing anything")
+    void importClients_csvUnknownColumn() {
+        // Arrange
+        String content = "companyName,industry,website\nAcme,Retail,acme.com\n";
+
+        // Act & Assert
+        assertThrows(InvalidImportException.class,
+                () -> clientImportService.importClients(upload(content), ImportFormat.CSV, "rm-001"));
+        verifyNoInteractions(clientService);
+    }
+
+    @Test
+    @DisplayName("Should mark a failed batch's rows failed and continue with the next batch")
+    void importClients_batchFailure() throws IOException {
+        // Arrange
+        when(clientService.addClients(anyList(), eq("rm-001")))
+                .thenThrow(new DataAccessResourceFailureException("primary stepped down"))
+                .thenReturn(List.of("c3"));
+        String content = ndjsonRow("Co 1") + "{not json\n" + IntStream.rangeClosed(2, 3)
+                .mapToObj(i -> ndjsonRow("Co " + i)).reduce("", String::concat);
+
+        // Act
+        ClientImportReport report = clientImportService.importClients(upload(content), ImportFormat.NDJSON, "rm-001");
+
+        // Assert
+        assertEquals(4, report.total());
+        assertEquals(1, report.created());
+        assertEquals(3, report.failed());
+        assertEquals(List.of(1, 2, 3), report.failures().stream().map(ClientImportRow::row).toList());
+        assertEquals(List.of("Batch write failed, row not saved"), report.failures().get(0).errors());
+        assertTrue(report.failures().get(1).errors().get(0).startsWith("Malformed JSON"));
+    }
+}
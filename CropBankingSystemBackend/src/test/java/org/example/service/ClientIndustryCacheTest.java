@@ -0,0 +1,81 @@
+package org.example.service;
+
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.outbox.OutboxEvent;
+import org.example.kafka.producer.KafkaEventProducer;
+import org.example.kafka.serialization.EventBinaryCodec;
+import org.example.model.stats.GroupTotal;
+import org.example.repository.inmemory.InMemoryOutboxRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientIndustryCacheTest {
+
+    private final ClientIndustryCache cache = new ClientIndustryCache(Duration.ofMinutes(10), 100);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, List<GroupTotal>> loader = rmId -> {
+        loads.incrementAndGet();
+        return List.of(new GroupTotal("Technology", 2, null), new GroupTotal("Retail", 1, null));
+    };
+
+    // @func helper method
+    private static ClientEvent event(String type, String industry, String previousIndustry) {
+        return ClientEvent.builder()
+                .eventType(type)
+                .clientId("client-001")
+                .industry(industry)
+                .previousIndustry(previousIndustry)
+                .onboardedBy("rm-001")
+                .timestamp(LocalDateTime.now())
+                .eventId(UUID.randomUUID().toString())
+                .build();
+    }
+
+    // @func helper method, the event as CacheSyncConsumer gets it: stored in the outbox, read back, sent through Kafka
+    private static ClientEvent echoOf(ClientEvent event) {
+        InMemoryOutboxRepository outbox = new InMemoryOutboxRepository(10);
+        outbox.save(OutboxEvent.of(KafkaEventProducer.CLIENT_TOPIC, event.getClientId(), event));
+        Object relayed = outbox.findAll().get(0).getPayload();
+        return (ClientEvent) EventBinaryCodec.decode(EventBinaryCodec.CLIENT_EVENT, EventBinaryCodec.SCHEMA_VERSION,
+                EventBinaryCodec.encode(relayed));
+    }
+
+    @Test
+    @DisplayName("Should keep an industry while other clients still reference it")
+    void clientUpdated_keepsReferencedIndustry() {
+        cache.get("rm-001", loader);
+
+        cache.clientUpdated(event("CLIENT_UPDATED", "Retail", "Technology"));
+
+        assertEquals(List.of("Retail", "Technology"), cache.get("rm-001", loader));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should skip the echo of a local write but reload after a write from another node")
+    void onEvent_skipsOwnEchoOnly() {
+        cache.get("rm-001", loader);
+        ClientEvent local = event("CLIENT_CREATED", "Energy", null);
+        local.setTimestamp(LocalDateTime.of(2026, 3, 15, 10, 0, 0, 123_456_789));
+        cache.clientAdded(local);
+        ClientEvent echo = echoOf(local);
+
+        cache.onEvent(echo);
+        assertNotEquals(local.getTimestamp(), echo.getTimestamp());
+        assertEquals(List.of("Energy", "Retail", "Technology"), cache.get("rm-001", loader));
+        assertEquals(1, loads.get());
+
+        cache.onEvent(event("CLIENT_CREATED", "Healthcare", null));
+        cache.get("rm-001", loader);
+        assertEquals(2, loads.get());
+    }
+}
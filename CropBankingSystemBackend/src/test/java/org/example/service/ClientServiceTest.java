@@ -9,6 +9,7 @@ import org.example.model.User;
 import org.example.model.client.ClientOn;
 import org.example.model.client.ClientRequest;
 import org.example.model.client.PrimaryContact;
+import org.example.model.stats.GroupTotal;
 import org.example.repository.ClientRepository;
 import org.example.security.CustomUserDetails;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,9 +19,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -38,6 +41,15 @@ class ClientServiceTest {
     @Mock
     private KafkaEventProducer kafkaEventProducer;
 
+    @Mock
+    private ListVersions listVersions;
+
+    @Spy
+    private ClientIndustryCache clientIndustryCache = new ClientIndustryCache(Duration.ofMinutes(10), 100);
+
+    @Spy
+    private CreditRiskService creditRiskService = new CreditRiskService(Duration.ofMinutes(10), 100);
+
     @Mock
     private Authentication authentication;
 
@@ -91,9 +103,9 @@ class ClientServiceTest {
         mockClientRequest.setAnnualTurnover(2000000.0);
         mockClientRequest.setDocumentsSubmitted(true);
 
-        // Mock authentication
-        when(authentication.getPrincipal()).thenReturn(customUserDetails);
-        when(customUserDetails.getUser()).thenReturn(mockUser);
+        // Mock authentication (lenient: addClients takes the rmId directly)
+        lenient().when(authentication.getPrincipal()).thenReturn(customUserDetails);
+        lenient().when(customUserDetails.getUser()).thenReturn(mockUser);
     }
 
     @Test
@@ -125,6 +137,38 @@ class ClientServiceTest {
         assertEquals("Manufacturing", capturedEvent.getIndustry());
         assertEquals("rm-001", capturedEvent.getOnboardedBy());
         assertNotNull(capturedEvent.getTimestamp());
+
+        // Verify the RM's list ETags move
+        verify(listVersions, times(1)).clientsChanged("rm-001");
+    }
+
+    @Test
+    @DisplayName("Should insert a bulk batch in one call and publish its events together")
+    void addClients_success() {
+        // Arrange
+        ClientRequest second = ClientRequest.builder()
+                .companyName("Retail Co")
+                .industry("Retail")
+                .primaryContact(mockClientRequest.getPrimaryContact())
+                .annualTurnover(500000.0)
+                .documentsSubmitted(false)
+                .build();
+
+        // Act
+        List<String> ids = clientService.addClients(List.of(mockClientRequest, second), "rm-001");
+
+        // Assert
+        ArgumentCaptor<List<ClientOn>> clientsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(clientRepository, times(1)).insertUnordered(clientsCaptor.capture());
+        List<ClientOn> inserted = clientsCaptor.getValue();
+        assertEquals(2, inserted.size());
+        assertEquals(ids, inserted.stream().map(ClientOn::getId).toList());
+        assertTrue(inserted.stream().allMatch(c -> "rm-001".equals(c.getRmId())));
+
+        ArgumentCaptor<List<ClientEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(kafkaEventProducer, times(1)).publishClientEvents(eventsCaptor.capture());
+        assertEquals(ids, eventsCaptor.getValue().stream().map(ClientEvent::getClientId).toList());
+        verify(clientRepository, never()).save(any(ClientOn.class));
     }
 
     @Test
@@ -202,6 +246,16 @@ class ClientServiceTest {
         verify(clientRepository, times(1)).save(any(ClientOn.class));
         assertEquals("XYZ Industries", mockClient.getCompanyName());
         assertEquals("Manufacturing", mockClient.getIndustry());
+
+        // Verify the industry move was published for the dashboard counters
+        ArgumentCaptor<ClientEvent> eventCaptor = ArgumentCaptor.forClass(ClientEvent.class);
+        verify(kafkaEventProducer, times(1)).publishClientEvent(eventCaptor.capture());
+        assertEquals("CLIENT_UPDATED", eventCaptor.getValue().getEventType());
+        assertEquals("Technology", eventCaptor.getValue().getPreviousIndustry());
+        assertEquals("Manufacturing", eventCaptor.getValue().getIndustry());
+
+        // Verify the client's cached risk scores are dropped (industry is a scoring input)
+        verify(creditRiskService, times(1)).inputsChanged("client-001");
     }
 
     @Test
@@ -265,18 +319,40 @@ class ClientServiceTest {
     }
 
     @Test
-    @DisplayName("Should get distinct industries for RM")
+    @DisplayName("Should get distinct industries for RM, loading from Mongo only once")
     void getIndustriesDistinct_success() {
         // Arrange
-        List<String> expectedIndustries = Arrays.asList("Technology", "Manufacturing", "Finance");
-        when(clientRepository.findDistinctIndustriesByRmId("rm-001")).thenReturn(expectedIndustries);
+        when(clientRepository.countIndustriesByRmId("rm-001")).thenReturn(List.of(
+                new GroupTotal("Technology", 2, null),
+                new GroupTotal("Manufacturing", 1, null),
+                new GroupTotal("Finance", 1, null)));
 
         // Act
         List<String> result = clientService.getIndustriesDistinct(authentication);
+        List<String> cached = clientService.getIndustriesDistinct(authentication);
+
+        // Assert
+        assertEquals(List.of("Finance", "Manufacturing", "Technology"), result);
+        assertEquals(result, cached);
+        verify(clientRepository, times(1)).countIndustriesByRmId("rm-001");
+    }
+
+    @Test
+    @DisplayName("Should keep cached industries current on add and on the last client's industry change")
+    void getIndustriesDistinct_updatedByWrites() {
+        // Arrange
+        when(clientRepository.countIndustriesByRmId("rm-001"))
+                .thenReturn(List.of(new GroupTotal("Technology", 1, null)));
+        when(clientRepository.findById("client-001")).thenReturn(Optional.of(mockClient));
+        clientService.getIndustriesDistinct(authentication);
+
+        // Act: Technology's only client moves to Manufacturing, then a Retail client is added
+        clientService.updateClient("client-001", mockClientRequest, authentication);
+        mockClientRequest.setIndustry("Retail");
+        clientService.addClient(mockClientRequest, authentication);
 
         // Assert
-        assertEquals(3, result.size());
-        assertTrue(result.contains("Technology"));
-        verify(clientRepository, times(1)).findDistinctIndustriesByRmId("rm-001");
+        assertEquals(List.of("Manufacturing", "Retail"), clientService.getIndustriesDistinct(authentication));
+        verify(clientRepository, times(1)).countIndustriesByRmId("rm-001");
     }
 }
@@ -0,0 +1,140 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.example.model.credit.*;
+import org.example.repository.CreditRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreditExportServiceTest {
+
+    @Mock
+    private CreditRepository creditRepository;
+
+    @Mock
+    private CreditService creditService;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @InjectMocks
+    private CreditExportService creditExportService;
+
+    private static Credit credit(int i) {
+        return Credit.builder()
+                .id("credit-" + i)
+                .clientId("client-" + i)
+                .submittedBy("rm-001")
+                .requestAmount(1000.0 + i)
+                .tenureMonths(12)
+                .purpose("Working Capital")
+                .status(CreditStatus.PENDING)
+                .createdAt(Instant.ofEpochSecond(1_700_000_000L + i))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubEnrichment() {
+        when(creditService.toCreditDetails(anyList())).thenAnswer(invocation -> ((List<Credit>) invocation
+                .getArgument(0)).stream()
+                .map(c -> CreditAllDetails.builder()
+                        .id(c.getId())
+                        .clientId(c.getClientId())
+                        .clientName("Name, \"" + c.getClientId() + "\"")
+                        .requestAmount(c.getRequestAmount())
+                        .status(c.getStatus())
+                        .createdAt(c.getCreatedAt())
+                        .build())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should stream NDJSON in bounded batches and close the cursor")
+    void export_ndjson_batches() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Credit> cursor = IntStream.range(0, 1_200).mapToObj(CreditExportServiceTest::credit)
+                .onClose(() -> closed.set(true));
+        CreditQuery query = new CreditQuery();
+        when(creditRepository.streamCredits(query)).thenReturn(cursor);
+        stubEnrichment();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        creditExportService.export(query, ExportFormat.NDJSON, out);
+
+        // Assert: 500 + 500 + 200
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1_200, lines.length);
+        assertEquals("credit-0", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("credit-1199", objectMapper.readTree(lines[1_199]).get("id").asText());
+        verify(creditService, times(3)).toCreditDetails(anyList());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote fields containing commas or quotes")
+    void export_csv_escapes() throws Exception {
+        // Arrange
+        CreditQuery query = new CreditQuery();
+        when(creditRepository.streamCredits(query)).thenReturn(Stream.of(credit(1)));
+        stubEnrichment();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        creditExportService.export(query, ExportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(CreditExportService.CSV_HEADER, lines[0]);
+        assertTrue(lines[1].startsWith("credit-1,client-1,\"Name, \"\"client-1\"\"\",,"));
+    }
+
+    @Test
+    @DisplayName("Should write only the CSV header when nothing matches")
+    void export_csv_empty() throws Exception {
+        CreditQuery query = new CreditQuery();
+        when(creditRepository.streamCredits(query)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        creditExportService.export(query, ExportFormat.CSV, out);
+
+        assertEquals(CreditExportService.CSV_HEADER + "\n", out.toString(StandardCharsets.UTF_8));
+        verify(creditService, never()).toCreditDetails(any());
+    }
+
+    @Test
+    @DisplayName("Should neutralise free-text CSV fields that a spreadsheet would run as a formula")
+    void csvField_formulaInjection() {
+        // Act & Assert
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", CreditExportService.csvField("=HYPERLINK(\"http://x\")"));
+        assertEquals("'+1+1", CreditExportService.csvField("+1+1"));
+        assertEquals("'-2+3", CreditExportService.csvField("-2+3"));
+        assertEquals("'@SUM(A1)", CreditExportService.csvField("@SUM(A1)"));
+        assertEquals("'\tcmd", CreditExportService.csvField("\tcmd"));
+        assertEquals("\"'\rcmd\"", CreditExportService.csvField("\rcmd"));
+        assertEquals("Working Capital", CreditExportService.csvField("Working Capital"));
+        assertEquals("-1500.0", CreditExportService.csvField(-1500.0));
+    }
+}
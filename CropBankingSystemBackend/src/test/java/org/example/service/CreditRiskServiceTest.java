@@ -0,0 +1,80 @@
+package org.example.service;
+
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.model.client.ClientOn;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditStatus;
+import org.example.model.credit.RiskScore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreditRiskServiceTest {
+
+    private final CreditRiskService service = new CreditRiskService(Duration.ofMinutes(10), 100);
+
+    private final ClientOn client = ClientOn.builder().id("client-001").annualTurnover(1_000_000.0)
+            .industry("Technology").documentsSubmitted(true).build();
+
+    // @func helper method
+    private static Credit credit(String id, CreditStatus status) {
+        return Credit.builder().id(id).clientId("client-001").requestAmount(250_000.0).tenureMonths(24)
+                .status(status).build();
+    }
+
+    // @func helper method, one lookup completed with the given client and exposure
+    private Map<String, RiskScore> score(List<Credit> credits, ClientOn client, double exposure) {
+        CreditRiskService.Lookup lookup = service.lookup(credits);
+        return lookup.isComplete() ? lookup.scores()
+                : lookup.complete(Map.of(client.getId(), client), Map.of(client.getId(), exposure));
+    }
+
+    @Test
+    @DisplayName("Should score PENDING credits only and serve them from the cache afterwards")
+    void lookup_cachesPendingScores() {
+        List<Credit> credits = List.of(credit("c1", CreditStatus.PENDING), credit("c2", CreditStatus.APPROVED));
+
+        Map<String, RiskScore> first = score(credits, client, 0);
+        CreditRiskService.Lookup second = service.lookup(credits);
+
+        assertEquals(Map.of("c1", first.get("c1")), first);
+        assertTrue(second.isComplete());
+        assertEquals(first, second.scores());
+    }
+
+    @Test
+    @DisplayName("Should rescore a client's credits after a client update or a decision event")
+    void events_evictClient() {
+        List<Credit> credits = List.of(credit("c1", CreditStatus.PENDING));
+        double before = score(credits, client, 0).get("c1").score();
+
+        service.onClientEvent(ClientEvent.builder().eventType("CLIENT_UPDATED").clientId("client-001").build());
+        assertFalse(service.lookup(credits).isComplete());
+        double withExposure = score(credits, client, 500_000).get("c1").score();
+
+        service.onCreditEvent(CreditEvent.builder().eventType("CREATED").clientId("client-001").build());
+        assertTrue(service.lookup(credits).isComplete());
+        service.onCreditEvent(CreditEvent.builder().eventType("STATUS_UPDATED").clientId("client-001").build());
+        assertFalse(service.lookup(credits).isComplete());
+
+        assertEquals(before + 10, withExposure, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should not cache a score computed from inputs read before the client was evicted")
+    void complete_afterEviction_notCached() {
+        List<Credit> credits = List.of(credit("c1", CreditStatus.PENDING));
+        CreditRiskService.Lookup stale = service.lookup(credits);
+
+        service.evict("client-001");
+        stale.complete(Map.of(client.getId(), client), Map.of());
+
+        assertFalse(service.lookup(credits).isComplete());
+    }
+}
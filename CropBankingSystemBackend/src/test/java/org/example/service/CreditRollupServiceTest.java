@@ -0,0 +1,258 @@
+package org.example.service;
+
+import org.example.exception.InvalidQueryException;
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.model.Role;
+import org.example.model.client.ClientOn;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditStatus;
+import org.example.model.stats.CreditRollup;
+import org.example.model.stats.CreditRollupQuery;
+import org.example.model.stats.CreditRollupRow;
+import org.example.repository.inmemory.InMemoryClientRepository;
+import org.example.repository.inmemory.InMemoryCreditRepository;
+import org.example.repository.inmemory.InMemoryCreditRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreditRollupServiceTest {
+
+    private static final Instant MARCH = Instant.parse("2026-03-15T10:00:00Z");
+    private static final Instant APRIL = Instant.parse("2026-04-02T10:00:00Z");
+
+    private final InMemoryCreditRepository creditRepository = new InMemoryCreditRepository();
+    private final InMemoryClientRepository clientRepository = new InMemoryClientRepository();
+    private final InMemoryCreditRollupRepository creditRollupRepository =
+            new InMemoryCreditRollupRepository(creditRepository, clientRepository);
+
+    private CreditRollupService creditRollupService;
+
+    @BeforeEach
+    void setUp() {
+        creditRollupService = new CreditRollupService();
+        ReflectionTestUtils.setField(creditRollupService, "creditRollupRepository", creditRollupRepository);
+        ReflectionTestUtils.setField(creditRollupService, "creditRepository", creditRepository);
+        ReflectionTestUtils.setField(creditRollupService, "clientRepository", clientRepository);
+        ReflectionTestUtils.setField(creditRollupService, "rebuildLease", Duration.ofMinutes(30));
+    }
+
+    // @func helper method, another node's service over the same repositories
+    private CreditRollupService node(InMemoryCreditRollupRepository rollups) {
+        CreditRollupService node = new CreditRollupService();
+        ReflectionTestUtils.setField(node, "creditRollupRepository", rollups);
+        ReflectionTestUtils.setField(node, "creditRepository", creditRepository);
+        ReflectionTestUtils.setField(node, "clientRepository", clientRepository);
+        ReflectionTestUtils.setField(node, "rebuildLease", Duration.ofMinutes(30));
+        return node;
+    }
+
+    // @func helper method
+    private ClientOn client(String industry, String rmId) {
+        return clientRepository.save(ClientOn.builder().companyName("Acme " + industry).industry(industry)
+                .rmId(rmId).build());
+    }
+
+    // @func helper method, a stored credit and its CREATED event
+    private Credit created(ClientOn client, double amount, Instant createdAt) {
+        Credit credit = creditRepository.save(Credit.builder().clientId(client.getId()).submittedBy(client.getRmId())
+                .requestAmount(amount).status(CreditStatus.PENDING).createdAt(createdAt).build());
+        creditRollupService.onCreditEvent(CreditEvent.builder().eventType("CREATED").creditId(credit.getId())
+                .status(CreditStatus.PENDING).build());
+        return credit;
+    }
+
+    // @func helper method, the decision as CreditService makes it (read, set, save), then its event
+    private void decide(Credit credit, CreditStatus status) {
+        Credit stored = creditRepository.findById(credit.getId()).orElseThrow();
+        stored.setStatus(status);
+        creditRepository.save(stored);
+        creditRollupService.onCreditEvent(CreditEvent.builder().eventType("STATUS_UPDATED")
+                .creditId(credit.getId()).previousStatus("PENDING").status(status).build());
+    }
+
+    // @func helper method
+    private List<CreditRollupRow> report(String groupBy) {
+        return creditRollupService.report(CreditRollupQuery.builder().from(YearMonth.of(2026, 1))
+                .to(YearMonth.of(2026, 12)).groupBy(groupBy).build(), "admin-1", Role.ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should count a credit once however often its events are delivered, and move it on a decision")
+    void onCreditEvent_idempotent() {
+        // Arrange
+        ClientOn client = client("Technology", "rm-001");
+        Credit credit = created(client, 100_000, MARCH);
+        created(client, 50_000, APRIL);
+
+        // Act
+        creditRollupService.onCreditEvent(CreditEvent.builder().eventType("CREATED").creditId(credit.getId()).build());
+        decide(credit, CreditStatus.APPROVED);
+        creditRollupService.onCreditEvent(CreditEvent.builder().eventType("STATUS_UPDATED")
+                .creditId(credit.getId()).status(CreditStatus.APPROVED).build());
+        creditRollupService.onCreditEvent(CreditEvent.builder().eventType("CREATED").build()); // pre-v3, no id
+
+        // Assert
+        assertEquals(List.of(
+                new CreditRollupRow("2026-03", CreditStatus.APPROVED, null, null, 1, 100_000),
+                new CreditRollupRow("2026-04", CreditStatus.PENDING, null, null, 1, 50_000)), report(null));
+        assertEquals(CreditRollup.keyOf("2026-03", CreditStatus.APPROVED, "Technology", "rm-001"),
+                creditRepository.findById(credit.getId()).orElseThrow().getRollupKey());
+    }
+
+    @Test
+    @DisplayName("Should move a client's credits to the new industry when the client's industry changes")
+    void onClientEvent_industryChange() {
+        // Arrange
+        ClientOn client = client("Technology", "rm-001");
+        created(client, 100_000, MARCH);
+        created(client, 200_000, APRIL);
+        created(client("Healthcare", "rm-002"), 300_000, MARCH);
+        client.setIndustry("Energy");
+        clientRepository.save(client);
+
+        // Act
+        ClientEvent event = ClientEvent.builder().eventType("CLIENT_UPDATED").clientId(client.getId())
+                .previousIndustry("Technology").industry("Energy").build();
+        creditRollupService.onClientEvent(event);
+        creditRollupService.onClientEvent(event);
+
+        // Assert
+        assertEquals(List.of(
+                new CreditRollupRow(null, null, "Energy", null, 2, 300_000),
+                new CreditRollupRow(null, null, "Healthcare", null, 1, 300_000)), report("industry"));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the same buckets the events built, and drop buckets no credit belongs in")
+    void rebuild_matchesIncremental() {
+        // Arrange
+        ClientOn tech = client("Technology", "rm-001");
+        ClientOn health = client("Healthcare", "rm-002");
+        created(tech, 100_000, MARCH);
+        decide(created(tech, 200_000, MARCH), CreditStatus.REJECTED);
+        decide(created(health, 300_000, APRIL), CreditStatus.APPROVED);
+        created(health, 400_000, APRIL);
+        List<CreditRollupRow> incremental = report("month,status,industry,rm");
+        creditRollupRepository.increment(CreditRollup.bucket("2026-05", CreditStatus.PENDING, "Retail", "rm-003"),
+                1, 10.0, Instant.now().minusSeconds(60));
+
+        // Act
+        creditRollupService.rebuild();
+
+        // Assert
+        assertEquals(4, incremental.size());
+        assertEquals(incremental, report("month,status,industry,rm"));
+        assertEquals(4, creditRollupRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should keep every bucket when two nodes rebuild at once and the older run writes its buckets last")
+    void rebuild_interleavedNodes() {
+        // Arrange
+        ClientOn tech = client("Technology", "rm-001");
+        created(tech, 100_000, MARCH);
+        decide(created(tech, 200_000, APRIL), CreditStatus.APPROVED);
+        List<CreditRollupRow> expected = report("month,status,industry,rm");
+        CreditRollupService[] nodes = new CreditRollupService[2];
+        Runnable[] heldBack = new Runnable[1];
+        // node A stamps first, but its buckets are written only once node B has written its own and is about to
+        // remove stale buckets: the interleaving that deleted every bucket when both removed by stamp alone
+        InMemoryCreditRollupRepository rollups = new InMemoryCreditRollupRepository(creditRepository, clientRepository) {
+            @Override
+            public void rebuildFromCredits(Instant stamp) {
+                if (heldBack[0] == null) {
+                    heldBack[0] = () -> super.rebuildFromCredits(stamp);
+                    pause();
+                    nodes[1].rebuild();
+                    return;
+                }
+                super.rebuildFromCredits(stamp);
+            }
+
+            @Override
+            public void removeStale(Instant stamp) {
+                Runnable older = heldBack[0];
+                if (older != null) {
+                    heldBack[0] = () -> { };
+                    older.run();
+                }
+                super.removeStale(stamp);
+            }
+        };
+        nodes[0] = node(rollups);
+        nodes[1] = node(rollups);
+        ReflectionTestUtils.setField(creditRollupService, "creditRollupRepository", rollups);
+
+        // Act
+        nodes[0].rebuild();
+
+        // Assert
+        assertEquals(2, expected.size());
+        assertEquals(expected, report("month,status,industry,rm"));
+        assertEquals(2, rollups.count());
+    }
+
+    // @func helper method, lets the clock move so the two runs get different stamps
+    private static void pause() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("Should filter and group reports, and pin RMs to their own credits")
+    void report_filtersAndScope() {
+        // Arrange
+        created(client("Technology", "rm-001"), 100_000, MARCH);
+        created(client("Technology", "rm-002"), 200_000, MARCH);
+        decide(created(client("Healthcare", "rm-001"), 300_000, APRIL), CreditStatus.APPROVED);
+
+        // Act
+        List<CreditRollupRow> march = creditRollupService.report(CreditRollupQuery.builder()
+                .from(YearMonth.of(2026, 3)).to(YearMonth.of(2026, 3)).groupBy("rm").build(), "admin-1", Role.ADMIN);
+        List<CreditRollupRow> mine = creditRollupService.report(CreditRollupQuery.builder()
+                .from(YearMonth.of(2026, 1)).to(YearMonth.of(2026, 12)).rmId("rm-002").groupBy("status, month")
+                .build(), "rm-001", Role.RELATIONSHIP_MANAGER);
+        List<CreditRollupRow> approved = creditRollupService.report(CreditRollupQuery.builder()
+                .from(YearMonth.of(2026, 1)).to(YearMonth.of(2026, 12)).status(CreditStatus.APPROVED)
+                .industry("Healthcare").groupBy("industry").build(), "analyst-1", Role.ANALYST);
+
+        // Assert
+        assertEquals(List.of(
+                new CreditRollupRow(null, null, null, "rm-001", 1, 100_000),
+                new CreditRollupRow(null, null, null, "rm-002", 1, 200_000)), march);
+        assertEquals(List.of(
+                new CreditRollupRow("2026-03", CreditStatus.PENDING, null, null, 1, 100_000),
+                new CreditRollupRow("2026-04", CreditStatus.APPROVED, null, null, 1, 300_000)), mine);
+        assertEquals(List.of(new CreditRollupRow(null, null, "Healthcare", null, 1, 300_000)), approved);
+    }
+
+    @Test
+    @DisplayName("Should reject reversed or oversized month ranges and unknown groupBy fields")
+    void report_invalidQuery() {
+        // Arrange
+        CreditRollupQuery reversed = CreditRollupQuery.builder()
+                .from(YearMonth.of(2026, 5)).to(YearMonth.of(2026, 4)).build();
+        CreditRollupQuery oversized = CreditRollupQuery.builder()
+                .from(YearMonth.of(2010, 1)).to(YearMonth.of(2026, 1)).build();
+        CreditRollupQuery unknown = CreditRollupQuery.builder().groupBy("month,purpose").build();
+
+        // Act & Assert
+        assertThrows(InvalidQueryException.class, () -> creditRollupService.report(reversed, "admin-1", Role.ADMIN));
+        assertThrows(InvalidQueryException.class, () -> creditRollupService.report(oversized, "admin-1", Role.ADMIN));
+        assertThrows(InvalidQueryException.class, () -> creditRollupService.report(unknown, "admin-1", Role.ADMIN));
+        assertTrue(creditRollupService.report(new CreditRollupQuery(), "admin-1", Role.ADMIN).isEmpty());
+    }
+}
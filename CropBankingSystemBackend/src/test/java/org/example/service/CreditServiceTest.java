@@ -1,12 +1,15 @@
 package org.example.service;
 
+import org.example.exception.CreditLeasedException;
 import org.example.exception.CreditNotFoundException;
+import org.example.exception.InvalidQueryException;
 import org.example.kafka.events.CreditEvent;
 import org.example.kafka.producer.KafkaEventProducer;
 import org.example.model.Role;
 import org.example.model.User;
 import org.example.model.client.ClientOn;
 import org.example.model.credit.*;
+import org.example.model.stats.GroupTotal;
 import org.example.repository.ClientRepository;
 import org.example.repository.CreditRepository;
 import org.example.repository.UserRepository;
@@ -17,15 +20,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +52,12 @@ class CreditServiceTest {
         @Mock
         private KafkaEventProducer kafkaEventProducer;
 
+        @Mock
+        private ListVersions listVersions;
+
+        @Spy
+        private CreditRiskService creditRiskService = new CreditRiskService(Duration.ofMinutes(10), 100);
+
         @InjectMocks
         private CreditService creditService;
 
@@ -144,8 +159,8 @@ class CreditServiceTest {
                 // Arrange
                 List<Credit> mockCredits = Arrays.asList(mockCredit);
                 when(creditRepository.findAll()).thenReturn(mockCredits);
-                when(clientRepository.findById("client-001")).thenReturn(Optional.of(mockClient));
-                when(userRepository.findById("rm-001")).thenReturn(Optional.of(mockUser));
+                when(clientRepository.findAllById(List.of("client-001"))).thenReturn(List.of(mockClient));
+                when(userRepository.findAllById(List.of("rm-001"))).thenReturn(List.of(mockUser));
 
                 // Act
                 List<CreditAllDetails> result = creditService.getCredits("analyst-001", true);
@@ -158,14 +173,41 @@ class CreditServiceTest {
                 verify(creditRepository, times(1)).findAll();
         }
 
+        @Test
+        @DisplayName("Should score PENDING credits once from client inputs and approved exposure")
+        void getCredits_asAnalyst_scoresPendingOnce() {
+                // Arrange: turnover 2M, half of it already approved; one pending and one decided credit
+                mockClient.setAnnualTurnover(2_000_000.0);
+                mockClient.setIndustry("Technology");
+                mockClient.setDocumentsSubmitted(true);
+                Credit decided = Credit.builder().id("credit-002").clientId("client-001").submittedBy("rm-001")
+                                .requestAmount(1_000_000.0).tenureMonths(12).status(CreditStatus.APPROVED).build();
+                when(creditRepository.findAll()).thenReturn(List.of(mockCredit, decided));
+                when(clientRepository.findAllById(List.of("client-001"))).thenReturn(List.of(mockClient));
+                when(userRepository.findAllById(List.of("rm-001"))).thenReturn(List.of(mockUser));
+                when(creditRepository.approvedTotalsByClient(List.of("client-001")))
+                                .thenReturn(List.of(new GroupTotal("client-001", 1, 1_000_000.0)));
+
+                // Act
+                List<CreditAllDetails> first = creditService.getCredits("analyst-001", true);
+                List<CreditAllDetails> second = creditService.getCredits("analyst-001", true);
+
+                // Assert: 35 * 0.25 debt + 20 * 0.5 exposure + 15 * 0.1 tenure + 15 * 0.4 industry
+                assertEquals(26.3, first.get(0).getRiskScore());
+                assertEquals(RiskGrade.B, first.get(0).getRiskGrade());
+                assertNull(first.get(1).getRiskScore());
+                assertEquals(first.get(0).getRiskScore(), second.get(0).getRiskScore());
+                verify(creditRepository, times(1)).approvedTotalsByClient(any());
+        }
+
         @Test
         @DisplayName("Should get only RM's credits for RM role")
         void getCredits_asRM() {
                 // Arrange
                 List<Credit> mockCredits = Arrays.asList(mockCredit);
                 when(creditRepository.findBySubmittedBy("rm-001")).thenReturn(mockCredits);
-                when(clientRepository.findById("client-001")).thenReturn(Optional.of(mockClient));
-                when(userRepository.findById("rm-001")).thenReturn(Optional.of(mockUser));
+                when(clientRepository.findAllById(List.of("client-001"))).thenReturn(List.of(mockClient));
+                when(userRepository.findAllById(List.of("rm-001"))).thenReturn(List.of(mockUser));
 
                 // Act
                 List<CreditAllDetails> result = creditService.getCredits("rm-001", false);
@@ -176,6 +218,107 @@ class CreditServiceTest {
                 verify(creditRepository, times(1)).findBySubmittedBy("rm-001");
         }
 
+        @Test
+        @DisplayName("Should resolve names for 10k credits with a bounded number of queries")
+        @SuppressWarnings("unchecked")
+        void getCredits_asAnalyst_batchesLookups() {
+                // Arrange: 10k credits spread over 2,500 clients and 40 RMs
+                List<Credit> credits = new ArrayList<>();
+                for (int i = 0; i < 10_000; i++) {
+                        credits.add(Credit.builder()
+                                        .id("credit-" + i)
+                                        .clientId("client-" + (i % 2_500))
+                                        .submittedBy("rm-" + (i % 40))
+                                        .requestAmount(1000.0)
+                                        .status(CreditStatus.PENDING)
+                                        .build());
+                }
+                when(creditRepository.findAll()).thenReturn(credits);
+                when(clientRepository.findAllById(any())).thenAnswer(invocation -> {
+                        List<ClientOn> clients = new ArrayList<>();
+                        for (String id : (Iterable<String>) invocation.getArgument(0)) {
+                                clients.add(ClientOn.builder().id(id).companyName("Co " + id).build());
+                        }
+                        return clients;
+                });
+                when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+                        List<User> users = new ArrayList<>();
+                        for (String id : (Iterable<String>) invocation.getArgument(0)) {
+                                users.add(User.builder().id(id).username("user " + id).build());
+                        }
+                        return users;
+                });
+
+                // Act
+                List<CreditAllDetails> result = creditService.getCredits("analyst-001", true);
+
+                // Assert: 1 credit scan + ceil(2500 / 1000) client batches + 1 RM batch
+                assertEquals(10_000, result.size());
+                assertEquals("Co client-7", result.get(7).getClientName());
+                assertEquals("user rm-7", result.get(7).getRmName());
+                verify(creditRepository, times(1)).findAll();
+                verify(clientRepository, times(3)).findAllById(any());
+                verify(userRepository, times(1)).findAllById(any());
+                verify(clientRepository, never()).findById(any());
+                verify(userRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should pin RM queries to own credits and return a cursor when more rows exist")
+        void queryCredits_asRM_returnsNextCursor() {
+                // Arrange: limit 2, repository returns limit + 1 rows
+                Credit second = Credit.builder().id("65a000000000000000000002").clientId("client-001")
+                                .submittedBy("rm-001").status(CreditStatus.PENDING)
+                                .createdAt(Instant.ofEpochMilli(2_000)).build();
+                Credit third = Credit.builder().id("65a000000000000000000001").clientId("client-001")
+                                .submittedBy("rm-001").status(CreditStatus.PENDING)
+                                .createdAt(Instant.ofEpochMilli(1_000)).build();
+                CreditQuery query = CreditQuery.builder().submittedBy("someone-else").limit(2).build();
+
+                when(creditRepository.findPage(query, null, 3)).thenReturn(List.of(mockCredit, second, third));
+                when(clientRepository.findAllById(any())).thenReturn(List.of(mockClient));
+                when(userRepository.findAllById(any())).thenReturn(List.of(mockUser));
+
+                // Act
+                CreditPage page = creditService.queryCredits(query, "rm-001", false);
+
+                // Assert
+                assertEquals("rm-001", query.getSubmittedBy());
+                assertEquals(2, page.items().size());
+                CreditCursor next = CreditCursor.decode(page.nextCursor());
+                assertEquals(Instant.ofEpochMilli(2_000), next.createdAt());
+                assertEquals("65a000000000000000000002", next.id());
+        }
+
+        @Test
+        @DisplayName("Should return no cursor on the last page and pass the decoded cursor through")
+        void queryCredits_lastPage() {
+                // Arrange
+                CreditCursor after = new CreditCursor(Instant.ofEpochMilli(5_000), "65a000000000000000000009");
+                CreditQuery query = CreditQuery.builder().status(CreditStatus.PENDING).cursor(after.encode()).build();
+                when(creditRepository.findPage(query, after, 51)).thenReturn(List.of(mockCredit));
+                when(clientRepository.findAllById(any())).thenReturn(List.of(mockClient));
+                when(userRepository.findAllById(any())).thenReturn(List.of(mockUser));
+
+                // Act
+                CreditPage page = creditService.queryCredits(query, "analyst-001", true);
+
+                // Assert
+                assertEquals(1, page.items().size());
+                assertNull(page.nextCursor());
+                assertNull(query.getSubmittedBy());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void queryCredits_invalidCursor() {
+                CreditQuery query = CreditQuery.builder().cursor("not-a-cursor").build();
+
+                assertThrows(InvalidQueryException.class,
+                                () -> creditService.queryCredits(query, "analyst-001", true));
+                verify(creditRepository, never()).findPage(any(), any(), anyInt());
+        }
+
         @Test
         @DisplayName("Should get credit by ID successfully")
         void getCreditById_success() {
@@ -210,19 +353,19 @@ class CreditServiceTest {
                 decision.setStatus("APPROVED");
                 decision.setRemarks("All documents verified");
 
-                when(creditRepository.findById("credit-001")).thenReturn(Optional.of(mockCredit));
-                when(creditRepository.save(any(Credit.class))).thenReturn(mockCredit);
+                when(creditRepository.decide(eq("credit-001"), eq(CreditStatus.APPROVED), eq("All documents verified"),
+                                eq("analyst-001"), any(Instant.class))).thenReturn(mockCredit);
 
                 // Act
-                String result = creditService.updateCreditDecision("credit-001", decision);
+                String result = creditService.updateCreditDecision("credit-001", decision, "analyst-001");
 
                 // Assert
                 assertEquals("Updated credit successfully", result);
                 assertEquals(CreditStatus.APPROVED, mockCredit.getStatus());
                 assertEquals("All documents verified", mockCredit.getRemarks());
 
-                // Verify credit was saved
-                verify(creditRepository, times(1)).save(mockCredit);
+                // Verify the decision was one conditional update, not a read and a full save
+                verify(creditRepository, never()).save(any(Credit.class));
 
                 // Verify Kafka event was published
                 ArgumentCaptor<CreditEvent> eventCaptor = ArgumentCaptor.forClass(CreditEvent.class);
@@ -234,6 +377,9 @@ class CreditServiceTest {
                 assertEquals(CreditStatus.APPROVED, capturedEvent.getStatus());
                 assertEquals("All documents verified", capturedEvent.getComments());
                 assertNotNull(capturedEvent.getTimestamp());
+
+                // Verify the client's risk scores are dropped (its approved exposure moved)
+                verify(creditRiskService, times(1)).inputsChanged("client-001");
         }
 
         @Test
@@ -244,20 +390,64 @@ class CreditServiceTest {
                 decision.setStatus("REJECTED");
                 decision.setRemarks("Insufficient documentation");
 
-                when(creditRepository.findById("credit-001")).thenReturn(Optional.of(mockCredit));
-                when(creditRepository.save(any(Credit.class))).thenReturn(mockCredit);
+                when(creditRepository.decide(eq("credit-001"), eq(CreditStatus.REJECTED),
+                                eq("Insufficient documentation"), eq("analyst-001"), any(Instant.class)))
+                                .thenReturn(mockCredit);
 
                 // Act
-                String result = creditService.updateCreditDecision("credit-001", decision);
+                String result = creditService.updateCreditDecision("credit-001", decision, "analyst-001");
 
                 // Assert
                 assertEquals("Updated credit successfully", result);
                 assertEquals(CreditStatus.REJECTED, mockCredit.getStatus());
                 assertEquals("Insufficient documentation", mockCredit.getRemarks());
-                verify(creditRepository, times(1)).save(mockCredit);
                 verify(kafkaEventProducer, times(1)).publishCreditEvent(any(CreditEvent.class));
         }
 
+        @Test
+        @DisplayName("Should publish the credit's actual prior status when a decision is revised")
+        void updateCreditDecision_revisedDecision() {
+                // Arrange
+                CreditDecision decision = new CreditDecision();
+                decision.setStatus("REJECTED");
+                decision.setRemarks("Collateral withdrawn");
+                mockCredit.setStatus(CreditStatus.APPROVED);
+
+                when(creditRepository.decide(anyString(), any(CreditStatus.class), anyString(), anyString(),
+                                any(Instant.class))).thenReturn(mockCredit);
+
+                // Act
+                creditService.updateCreditDecision("credit-001", decision, "analyst-001");
+
+                // Assert
+                ArgumentCaptor<CreditEvent> eventCaptor = ArgumentCaptor.forClass(CreditEvent.class);
+                verify(kafkaEventProducer, times(1)).publishCreditEvent(eventCaptor.capture());
+                assertEquals("APPROVED", eventCaptor.getValue().getPreviousStatus());
+                assertEquals(CreditStatus.REJECTED, eventCaptor.getValue().getStatus());
+        }
+
+        @Test
+        @DisplayName("Should refuse to decide a credit another analyst holds a live claim on")
+        void updateCreditDecision_claimedByOther() {
+                // Arrange
+                CreditDecision decision = new CreditDecision();
+                decision.setStatus("APPROVED");
+                decision.setRemarks("Approved");
+                mockCredit.setLeasedBy("analyst-002");
+                mockCredit.setLeaseExpiresAt(Instant.now().plusSeconds(600));
+
+                when(creditRepository.decide(anyString(), any(CreditStatus.class), anyString(), anyString(),
+                                any(Instant.class))).thenReturn(null);
+                when(creditRepository.findById("credit-001")).thenReturn(Optional.of(mockCredit));
+
+                // Act & Assert
+                CreditLeasedException exception = assertThrows(CreditLeasedException.class,
+                                () -> creditService.updateCreditDecision("credit-001", decision, "analyst-001"));
+                assertTrue(exception.getMessage().contains(mockCredit.getLeaseExpiresAt().toString()));
+                verify(creditRepository, never()).save(any(Credit.class));
+                verify(kafkaEventProducer, never()).publishCreditEvent(any(CreditEvent.class));
+        }
+
         @Test
         @DisplayName("Should throw exception when updating non-existent credit")
         void updateCreditDecision_notFound() {
@@ -266,12 +456,70 @@ class CreditServiceTest {
                 decision.setStatus("APPROVED");
                 decision.setRemarks("Approved");
 
+                when(creditRepository.decide(anyString(), any(CreditStatus.class), anyString(), anyString(),
+                                any(Instant.class))).thenReturn(null);
                 when(creditRepository.findById("non-existent")).thenReturn(Optional.empty());
 
                 // Act & Assert
                 assertThrows(CreditNotFoundException.class,
-                                () -> creditService.updateCreditDecision("non-existent", decision));
+                                () -> creditService.updateCreditDecision("non-existent", decision, "analyst-001"));
                 verify(creditRepository, never()).save(any(Credit.class));
                 verify(kafkaEventProducer, never()).publishCreditEvent(any(CreditEvent.class));
         }
-}
\ No newline at end of file
+
+        @Test
+        @DisplayName("Should apply bulk decisions to PENDING credits only and report the rest")
+        void decideCredits_mixedOutcomes() {
+                // Arrange
+                Credit pending = Credit.builder().id("credit-001").clientId("client-001").submittedBy("rm-001")
+                                .status(CreditStatus.PENDING).build();
+                Credit decided = Credit.builder().id("credit-002").clientId("client-002").submittedBy("rm-001")
+                                .status(CreditStatus.REJECTED).build();
+
+                // @desc simulates the conditional bulkWrite: only the PENDING credit matches
+                doAnswer(invocation -> {
+                        pending.setStatus(CreditStatus.APPROVED);
+                        pending.setRemarks("Approved in bulk");
+                        pending.setDecisionBatchId(invocation.getArgument(1));
+                        return null;
+                }).when(creditRepository).decidePending(anyList(), anyString(), anyString(), any());
+                Credit claimed = Credit.builder().id("credit-005").clientId("client-002").submittedBy("rm-001")
+                                .status(CreditStatus.PENDING).leasedBy("analyst-002")
+                                .leaseExpiresAt(Instant.now().plusSeconds(600)).build();
+                when(creditRepository.findAllById(any())).thenReturn(List.of(pending, decided, claimed));
+
+                List<CreditDecisionItem> decisions = List.of(
+                                new CreditDecisionItem("credit-001", "APPROVED", "Approved in bulk"),
+                                new CreditDecisionItem("credit-002", "APPROVED", "Approved in bulk"),
+                                new CreditDecisionItem("credit-404", "REJECTED", "Missing"),
+                                new CreditDecisionItem("credit-001", "REJECTED", "Duplicate"),
+                                new CreditDecisionItem("credit-003", "PENDING", "Not a decision"),
+                                new CreditDecisionItem("credit-005", "REJECTED", "Someone else's"));
+
+                // Act
+                CreditDecisionReport report = creditService.decideCredits(decisions, "analyst-001");
+
+                // Assert
+                assertEquals(1, report.updated());
+                assertEquals(2, report.conflicts());
+                assertEquals(List.of(CreditDecisionResult.Outcome.UPDATED, CreditDecisionResult.Outcome.CONFLICT,
+                                CreditDecisionResult.Outcome.NOT_FOUND, CreditDecisionResult.Outcome.INVALID,
+                                CreditDecisionResult.Outcome.INVALID, CreditDecisionResult.Outcome.CONFLICT),
+                                report.results().stream().map(CreditDecisionResult::outcome).toList());
+                assertEquals(CreditStatus.REJECTED, report.results().get(1).status());
+                assertEquals("Credit is claimed by another analyst", report.results().get(5).message());
+
+                ArgumentCaptor<List<CreditDecisionItem>> appliedCaptor = ArgumentCaptor.forClass(List.class);
+                verify(creditRepository).decidePending(appliedCaptor.capture(), anyString(), eq("analyst-001"), any());
+                assertEquals(List.of("credit-001", "credit-002", "credit-404", "credit-005"),
+                                appliedCaptor.getValue().stream().map(CreditDecisionItem::getId).toList());
+
+                ArgumentCaptor<List<CreditEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+                verify(kafkaEventProducer, times(1)).publishCreditEvents(eventsCaptor.capture());
+                assertEquals(1, eventsCaptor.getValue().size());
+                CreditEvent event = eventsCaptor.getValue().get(0);
+                assertEquals("PENDING", event.getPreviousStatus());
+                assertEquals(CreditStatus.APPROVED, event.getStatus());
+                verify(creditRepository, never()).save(any(Credit.class));
+        }
+}
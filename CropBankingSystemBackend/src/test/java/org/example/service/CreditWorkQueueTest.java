@@ -0,0 +1,214 @@
+package org.example.service;
+
+import org.example.exception.CreditLeasedException;
+import org.example.kafka.events.CreditEvent;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditAllDetails;
+import org.example.model.credit.CreditClaim;
+import org.example.model.credit.CreditStatus;
+import org.example.model.credit.WorkQueuePriority;
+import org.example.repository.inmemory.InMemoryCreditRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CreditWorkQueueTest {
+
+    // @desc one Mongo collection shared by every node's queue
+    private final InMemoryCreditRepository creditRepository = new InMemoryCreditRepository();
+
+    @Mock
+    private CreditService creditService;
+
+    private CreditWorkQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        // @desc risk score stands in as amount / 10,000, enough to give RISK its own order
+        when(creditService.toCreditDetails(anyList())).thenAnswer(invocation -> {
+            List<Credit> credits = invocation.getArgument(0);
+            return credits.stream().map(credit -> CreditAllDetails.builder()
+                    .id(credit.getId())
+                    .requestAmount(credit.getRequestAmount())
+                    .status(credit.getStatus())
+                    .riskScore(credit.getStatus() == CreditStatus.PENDING ? risk(credit) : null)
+                    .build()).toList();
+        });
+        queue = node();
+    }
+
+    // @func helper method, another application node over the same repository
+    private CreditWorkQueue node() {
+        CreditWorkQueue node = new CreditWorkQueue(Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(node, "creditRepository", creditRepository);
+        ReflectionTestUtils.setField(node, "creditService", creditService);
+        return node;
+    }
+
+    // @func helper method, reverses the amount order for every credit but the largest
+    private static double risk(Credit credit) {
+        return credit.getRequestAmount() >= 900_000 ? 50 : 100 - credit.getRequestAmount() / 10_000;
+    }
+
+    // @func helper method
+    private Credit pending(double amount, long epochSecond) {
+        return creditRepository.save(Credit.builder().clientId("client-001").submittedBy("rm-001")
+                .requestAmount(amount).status(CreditStatus.PENDING)
+                .createdAt(Instant.ofEpochSecond(epochSecond)).build());
+    }
+
+    // @func helper method
+    private static List<Double> amounts(CreditClaim claim) {
+        return claim.items().stream().map(CreditAllDetails::getRequestAmount).toList();
+    }
+
+    @Test
+    @DisplayName("Should hand out PENDING credits in age, amount or risk order")
+    void claim_priorityOrder() {
+        // Arrange
+        pending(300_000, 1_700_000_002L);
+        pending(100_000, 1_700_000_000L);
+        pending(950_000, 1_700_000_001L);
+        creditRepository.save(Credit.builder().requestAmount(5_000_000.0).status(CreditStatus.APPROVED)
+                .createdAt(Instant.ofEpochSecond(1_600_000_000L)).build());
+        queue.rebuild();
+
+        // Act
+        CreditClaim byAge = queue.claim("analyst-age", 3, WorkQueuePriority.AGE);
+        queue.rebuild(); // documents still carry the leases, so nothing is free
+        CreditClaim none = queue.claim("analyst-late", 3, WorkQueuePriority.AGE);
+        CreditWorkQueue other = node();
+        for (Credit credit : creditRepository.findAll()) {
+            if (credit.getStatus() == CreditStatus.PENDING) {
+                assertTrue(creditRepository.releaseClaim(credit.getId(), "analyst-age"));
+            }
+        }
+        other.rebuild();
+        CreditClaim byAmount = other.claim("analyst-amount", 3, WorkQueuePriority.AMOUNT);
+        other.reconcile();
+        for (CreditAllDetails credit : byAmount.items()) {
+            other.release(credit.getId(), "analyst-amount");
+        }
+        CreditClaim byRisk = other.claim("analyst-risk", 3, WorkQueuePriority.RISK);
+
+        // Assert
+        assertEquals(3, queue.size());
+        assertEquals(List.of(100_000.0, 950_000.0, 300_000.0), amounts(byAge));
+        assertNotNull(byAge.leaseExpiresAt());
+        assertTrue(none.items().isEmpty());
+        assertNull(none.leaseExpiresAt());
+        assertEquals(List.of(950_000.0, 300_000.0, 100_000.0), amounts(byAmount));
+        assertEquals(List.of(100_000.0, 300_000.0, 950_000.0), amounts(byRisk));
+    }
+
+    @Test
+    @DisplayName("Should never lease a credit held by another analyst, and offer it again once the lease expires")
+    void claim_leasesAcrossNodes() {
+        // Arrange
+        Credit first = pending(100_000, 1_700_000_000L);
+        Credit second = pending(200_000, 1_700_000_001L);
+        Credit expired = pending(300_000, 1_700_000_002L);
+        creditRepository.claimPending(expired.getId(), "analyst-gone", Instant.EPOCH, Instant.EPOCH.plusSeconds(900));
+        CreditWorkQueue other = node();
+        queue.rebuild();
+        other.rebuild();
+
+        // Act
+        CreditClaim mine = queue.claim("analyst-1", 1, WorkQueuePriority.AGE);
+        CreditClaim theirs = other.claim("analyst-2", 3, WorkQueuePriority.AGE);
+        CreditClaim left = other.claim("analyst-3", 3, WorkQueuePriority.AGE);
+
+        // Assert
+        assertEquals(1, mine.items().size());
+        assertEquals(2, theirs.items().size());
+        Set<String> claimed = new HashSet<>();
+        mine.items().forEach(credit -> claimed.add(credit.getId()));
+        theirs.items().forEach(credit -> claimed.add(credit.getId()));
+        assertEquals(Set.of(first.getId(), second.getId(), expired.getId()), claimed);
+        assertTrue(left.items().isEmpty());
+        assertThrows(CreditLeasedException.class, () -> other.release(mine.items().get(0).getId(), "analyst-2"));
+    }
+
+    @Test
+    @DisplayName("Should index created credits on the next claim and drop decided ones")
+    void events_moveIndex() {
+        // Arrange
+        Credit decided = pending(100_000, 1_700_000_000L);
+        queue.rebuild();
+        Credit created = pending(200_000, 1_700_000_001L);
+        decided.setStatus(CreditStatus.APPROVED);
+        creditRepository.save(decided);
+
+        // Act
+        queue.onCreditEvent(CreditEvent.builder().eventType("CREATED").creditId(created.getId()).build());
+        queue.onCreditEvent(CreditEvent.builder().eventType("STATUS_UPDATED").creditId(decided.getId())
+                .status(CreditStatus.APPROVED).build());
+        queue.onCreditEvent(CreditEvent.builder().eventType("CREATED").build()); // pre-v3 producer, no id
+        CreditClaim claim = queue.claim("analyst-1", 5, WorkQueuePriority.AGE);
+
+        // Assert
+        assertEquals(List.of(200_000.0), amounts(claim));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    @DisplayName("Should give every credit to exactly one of many concurrent claimers on two nodes")
+    void claim_concurrentAnalysts() throws Exception {
+        // Arrange
+        for (int i = 0; i < 200; i++) {
+            pending(100_000 + i, 1_700_000_000L + i);
+        }
+        List<CreditWorkQueue> nodes = List.of(queue, node());
+        nodes.forEach(CreditWorkQueue::rebuild);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            CreditWorkQueue node = nodes.get(t % 2);
+            String analyst = "analyst-" + t;
+            WorkQueuePriority priority = WorkQueuePriority.values()[t % 3];
+            results.add(pool.submit(() -> {
+                List<String> ids = new ArrayList<>();
+                CreditClaim claim;
+                do {
+                    claim = node.claim(analyst, 7, priority);
+                    claim.items().forEach(credit -> ids.add(credit.getId()));
+                } while (!claim.items().isEmpty());
+                return ids;
+            }));
+        }
+        List<String> all = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            all.addAll(result.get(30, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(200, all.size());
+        assertEquals(200, new HashSet<>(all).size());
+    }
+}
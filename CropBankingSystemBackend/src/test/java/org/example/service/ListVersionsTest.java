@@ -0,0 +1,80 @@
+package org.example.service;
+
+import org.example.kafka.events.ClientEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListVersionsTest {
+
+    private final AtomicLong now = new AtomicLong(900_000); // the start of a 30s window
+    private final ListVersions listVersions = new ListVersions(Duration.ofSeconds(30), now::get);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should move the RM's client and credit ETags on a client event, leaving other RMs alone")
+    void onClientEvent_bumpsRmScopedLists() {
+        // Arrange
+        String clients = listVersions.etag(ListVersions.clients("rm-001"));
+        String credits = listVersions.etag(ListVersions.credits("rm-001"));
+        String allCredits = listVersions.etag(ListVersions.ALL_CREDITS);
+        String otherRm = listVersions.etag(ListVersions.clients("rm-002"));
+
+        // Act
+        listVersions.onClientEvent(ClientEvent.builder().eventType("CLIENT_UPDATED").onboardedBy("rm-001").build());
+
+        // Assert
+        assertNotEquals(clients, listVersions.etag(ListVersions.clients("rm-001")));
+        assertNotEquals(credits, listVersions.etag(ListVersions.credits("rm-001")));
+        assertNotEquals(allCredits, listVersions.etag(ListVersions.ALL_CREDITS));
+        assertEquals(otherRm, listVersions.etag(ListVersions.clients("rm-002")));
+        assertNotEquals(listVersions.etag(ListVersions.clients("rm-002")),
+                listVersions.etag(ListVersions.credits("rm-002")));
+    }
+
+    @Test
+    @DisplayName("Should keep the old ETag until the writing transaction commits")
+    void usersChanged_waitsForCommit() {
+        // Arrange
+        String before = listVersions.etag(ListVersions.USERS);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        listVersions.usersChanged();
+
+        // Assert
+        assertEquals(before, listVersions.etag(ListVersions.USERS));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNotEquals(before, listVersions.etag(ListVersions.USERS));
+    }
+
+    @Test
+    @DisplayName("Should stop matching an old ETag once the max-staleness window has passed, even with no event")
+    void etag_boundedStaleness() {
+        // Arrange
+        String before = listVersions.etag(ListVersions.ALL_CREDITS);
+
+        // Act
+        now.addAndGet(29_000);
+        String sameWindow = listVersions.etag(ListVersions.ALL_CREDITS);
+        now.addAndGet(1_000);
+        String nextWindow = listVersions.etag(ListVersions.ALL_CREDITS);
+
+        // Assert
+        assertEquals(before, sameWindow);
+        assertNotEquals(before, nextWindow);
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.service;
+
+import org.example.model.User;
+import org.example.model.client.ClientOn;
+import org.example.model.credit.Credit;
+import org.example.model.credit.CreditAllDetails;
+import org.example.model.credit.CreditStatus;
+import org.example.repository.ReactiveClientRepository;
+import org.example.repository.ReactiveCreditRepository;
+import org.example.repository.ReactiveUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCreditServiceTest {
+
+    @Mock
+    private ReactiveCreditRepository creditRepository;
+
+    @Mock
+    private ReactiveClientRepository clientRepository;
+
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Spy
+    private CreditRiskService creditRiskService = new CreditRiskService(Duration.ofMinutes(10), 100);
+
+    @InjectMocks
+    private ReactiveCreditService reactiveCreditService;
+
+    // @func helper method
+    private static Credit credit(int i) {
+        return Credit.builder()
+                .id("credit-" + i)
+                .clientId("client-" + (i % 7))
+                .submittedBy("rm-" + (i % 3))
+                .requestAmount(1_000.0 + i)
+                .status(CreditStatus.PENDING)
+                .build();
+    }
+
+    // @func helper method, answers findAllById with one entity per requested id; no client has approved credits
+    private void stubLookups() {
+        when(creditRepository.approvedTotalsByClient(any())).thenReturn(Flux.empty());
+        when(clientRepository.findAllById(any(Iterable.class))).thenAnswer(invocation -> Flux.fromStream(
+                StreamSupport.stream(((Iterable<String>) invocation.getArgument(0)).spliterator(), false)
+                        .map(id -> ClientOn.builder().id(id).companyName("Company " + id).build())));
+        when(userRepository.findAllById(any(Iterable.class))).thenAnswer(invocation -> Flux.fromStream(
+                StreamSupport.stream(((Iterable<String>) invocation.getArgument(0)).spliterator(), false)
+                        .map(id -> User.builder().id(id).username("user " + id).build())));
+    }
+
+    @Test
+    @DisplayName("Analyst listing should keep cursor order across batches and resolve names per batch")
+    void getCredits_analyst_ordersAndEnriches() {
+        // Arrange
+        int total = 2 * ReactiveCreditService.ENRICH_BATCH_SIZE + 50;
+        when(creditRepository.findAll()).thenReturn(Flux.range(0, total).map(ReactiveCreditServiceTest::credit));
+        stubLookups();
+
+        // Act
+        List<CreditAllDetails> result = reactiveCreditService.getCredits("analyst-1", true).collectList().block();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(IntStream.range(0, total).mapToObj(i -> "credit-" + i).toList(),
+                result.stream().map(CreditAllDetails::getId).toList());
+        assertEquals("Company client-3", result.get(10).getClientName());
+        assertEquals("user rm-1", result.get(10).getRmName());
+        assertNotNull(result.get(10).getRiskGrade()); // every credit here is PENDING
+        verify(clientRepository, times(3)).findAllById(any(Iterable.class));
+        verify(creditRepository, never()).findBySubmittedBy(any());
+    }
+
+    @Test
+    @DisplayName("RM listing should only read the RM's own submissions")
+    void getCredits_rm_ownOnly() {
+        // Arrange
+        when(creditRepository.findBySubmittedBy("rm-1")).thenReturn(Flux.just(credit(1), credit(4)));
+        stubLookups();
+
+        // Act & Assert
+        StepVerifier.create(reactiveCreditService.getCredits("rm-1", false))
+                .assertNext(dto -> assertEquals("credit-1", dto.getId()))
+                .assertNext(dto -> assertEquals("credit-4", dto.getId()))
+                .verifyComplete();
+        verify(creditRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("A slow subscriber should bound how many credits are pulled from the cursor")
+    void getCredits_backpressure() {
+        // Arrange
+        AtomicLong requested = new AtomicLong();
+        when(creditRepository.findAll()).thenReturn(Flux.range(0, 100_000)
+                .doOnRequest(n -> requested.updateAndGet(r -> r + n < 0 ? Long.MAX_VALUE : r + n))
+                .map(ReactiveCreditServiceTest::credit));
+        stubLookups();
+        List<String> received = new ArrayList<>();
+
+        // Act
+        StepVerifier.create(reactiveCreditService.getCredits("analyst-1", true), 1)
+                .consumeNextWith(dto -> received.add(dto.getId()))
+                .thenCancel()
+                .verify();
+
+        // Assert
+        assertEquals(List.of("credit-0"), received);
+        assertTrue(requested.get() <= (long) ReactiveCreditService.ENRICH_BATCH_SIZE
+                        * (ReactiveCreditService.ENRICH_CONCURRENCY + 1),
+                "pulled " + requested.get() + " credits for one item of demand");
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.service;
+
+import org.example.model.credit.RiskGrade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskScoringEngineTest {
+
+    @Test
+    @DisplayName("Should weight each input and saturate ratios, with missing turnover as the worst case")
+    void score_weights() {
+        RiskScoringEngine.Batch batch = new RiskScoringEngine.Batch(4);
+        // half a year's turnover, 5 years, no exposure, steady industry, documents in
+        batch.set(0, 500_000.0, 60, 1_000_000.0, 0, "Healthcare", true);
+        // same credit, but the client already owes a full year's turnover and has no documents
+        batch.set(1, 500_000.0, 60, 1_000_000.0, 2_000_000, "Healthcare", false);
+        // no turnover on record, unknown industry, tenure missing
+        batch.set(2, 10_000.0, null, null, 0, "Shipping", true);
+        // industry match ignores case and padding
+        batch.set(3, 0.0, 0, 1_000_000.0, 0, " HEALTHCARE ", true);
+
+        double[] scores = RiskScoringEngine.score(batch);
+
+        assertEquals(35 * 0.5 + 15 * 0.5 + 15 * 0.2, scores[0], 1e-9);
+        assertEquals(scores[0] + 20 + 15, scores[1], 1e-9);
+        assertEquals(35 + 15 + 15 * 0.5, scores[2], 1e-9);
+        assertEquals(15 * 0.2, scores[3], 1e-9);
+        assertEquals(RiskGrade.B, RiskGrade.of(scores[0]));
+        assertEquals(RiskGrade.D, RiskGrade.of(scores[1]));
+    }
+
+    @Test
+    @DisplayName("Should give the same scores in row order when a large batch is split across threads")
+    void score_parallelMatchesSequential() {
+        int size = 3 * RiskScoringEngine.PARALLEL_CHUNK + 17;
+        RiskScoringEngine.Batch batch = new RiskScoringEngine.Batch(size);
+        SplittableRandom random = new SplittableRandom(42);
+        String[] industries = {"Technology", "Retail", "Energy", null};
+        for (int i = 0; i < size; i++) {
+            batch.set(i, random.nextDouble(1_000_000), random.nextInt(1, 180), random.nextDouble(2_000_000),
+                    random.nextDouble(500_000), industries[i % industries.length], random.nextBoolean());
+        }
+
+        double[] parallel = RiskScoringEngine.score(batch);
+
+        for (int i = 0; i < size; i += RiskScoringEngine.PARALLEL_CHUNK - 1) {
+            RiskScoringEngine.Batch single = new RiskScoringEngine.Batch(1);
+            single.requestAmount[0] = batch.requestAmount[i];
+            single.tenureMonths[0] = batch.tenureMonths[i];
+            single.annualTurnover[0] = batch.annualTurnover[i];
+            single.exposure[0] = batch.exposure[i];
+            single.industryFactor[0] = batch.industryFactor[i];
+            single.documentsSubmitted[0] = batch.documentsSubmitted[i];
+            assertEquals(RiskScoringEngine.score(single)[0], parallel[i], "row " + i);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.service;
+
+import org.example.kafka.events.ClientEvent;
+import org.example.kafka.events.CreditEvent;
+import org.example.kafka.events.UserEvent;
+import org.example.model.Role;
+import org.example.model.credit.CreditStatus;
+import org.example.model.stats.DashboardStats;
+import org.example.model.stats.GroupTotal;
+import org.example.repository.ClientRepository;
+import org.example.repository.CreditRepository;
+import org.example.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+
+    @Mock
+    private CreditRepository creditRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private StatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        when(creditRepository.totalsByStatus()).thenReturn(List.of(
+                new GroupTotal("PENDING", 2, 300000.0),
+                new GroupTotal("APPROVED", 1, 500000.0)));
+        when(creditRepository.countBySubmittedBy()).thenReturn(List.of(new GroupTotal("rm-001", 3, null)));
+        when(clientRepository.countByIndustry()).thenReturn(List.of(
+                new GroupTotal("Technology", 2, null),
+                new GroupTotal("Healthcare", 1, null)));
+        when(clientRepository.countByRmId()).thenReturn(List.of(new GroupTotal("rm-001", 3, null)));
+        when(userRepository.countByRole()).thenReturn(List.of(
+                new GroupTotal("ADMIN", 1, null),
+                new GroupTotal("RELATIONSHIP_MANAGER", 2, null)));
+
+        statsService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rebuild all counters from the Mongo aggregations")
+    void rebuild_fromAggregations() {
+        // Act
+        DashboardStats stats = statsService.snapshot("admin-1", Role.ADMIN);
+
+        // Assert
+        assertEquals(3L, stats.totalCredits());
+        assertEquals(Map.of(CreditStatus.PENDING, 2L, CreditStatus.APPROVED, 1L, CreditStatus.REJECTED, 0L),
+                stats.creditsByStatus());
+        assertEquals(800000.0, stats.totalRequestedAmount());
+        assertEquals(3L, stats.totalClients());
+        assertEquals(Map.of("Technology", 2L, "Healthcare", 1L), stats.clientsByIndustry());
+        assertEquals(3L, stats.totalUsers());
+        assertEquals(2L, stats.usersByRole().get(Role.RELATIONSHIP_MANAGER));
+        assertNull(stats.myClients());
+    }
+
+    @Test
+    @DisplayName("Should move counters incrementally on credit, client and user events")
+    void events_updateCounters() {
+        // Act
+        statsService.onCreditEvent(CreditEvent.builder()
+                .eventType("CREATED").status(CreditStatus.PENDING).amount(100000.0).actionBy("rm-001").build());
+        statsService.onCreditEvent(CreditEvent.builder()
+                .eventType("STATUS_UPDATED").previousStatus("PENDING").status(CreditStatus.REJECTED).build());
+        statsService.onClientEvent(ClientEvent.builder()
+                .eventType("CLIENT_UPDATED").industry("Healthcare").previousIndustry("Technology").build());
+        statsService.onUserEvent(UserEvent.builder().eventType("USER_REGISTERED").role(Role.ANALYST).build());
+        statsService.onUserEvent(UserEvent.builder().eventType("USER_STATUS_UPDATED").role(Role.ADMIN).build());
+
+        // Assert
+        DashboardStats stats = statsService.snapshot("admin-1", Role.ADMIN);
+        assertEquals(4L, stats.totalCredits());
+        assertEquals(2L, stats.creditsByStatus().get(CreditStatus.PENDING));
+        assertEquals(1L, stats.creditsByStatus().get(CreditStatus.REJECTED));
+        assertEquals(900000.0, stats.totalRequestedAmount());
+        assertEquals(Map.of("Technology", 1L, "Healthcare", 2L), stats.clientsByIndustry());
+        assertEquals(4L, stats.totalUsers());
+        assertEquals(1L, stats.usersByRole().get(Role.ANALYST));
+        assertEquals(1L, stats.usersByRole().get(Role.ADMIN));
+    }
+
+    @Test
+    @DisplayName("Should stop journaling and keep the live counters moving when a rebuild's aggregation fails")
+    void rebuild_failedAggregation() {
+        // Arrange
+        when(clientRepository.countByIndustry()).thenThrow(new DataAccessResourceFailureException("primary stepped down"));
+
+        // Act
+        assertThrows(DataAccessResourceFailureException.class, () -> statsService.rebuild());
+        statsService.onCreditEvent(CreditEvent.builder().eventType("CREATED").status(CreditStatus.PENDING)
+                .amount(100000.0).timestamp(LocalDateTime.now()).build());
+
+        // Assert
+        assertNull(ReflectionTestUtils.getField(statsService, "journal"));
+        assertEquals(4L, statsService.snapshot("admin-1", Role.ADMIN).totalCredits());
+    }
+
+    @Test
+    @DisplayName("Should keep an event that arrives during a rebuild and skip one the rebuild already counted")
+    void rebuild_eventsDuringSwap() {
+        // Arrange
+        LocalDateTime beforeRebuild = LocalDateTime.now().minusSeconds(1);
+        when(creditRepository.totalsByStatus()).thenAnswer(invocation -> {
+            // committed after this aggregation read the credits, so only the replay counts it
+            statsService.onCreditEvent(CreditEvent.builder().eventType("CREATED").status(CreditStatus.PENDING)
+                    .amount(100000.0).timestamp(LocalDateTime.now()).build());
+            return List.of(new GroupTotal("PENDING", 2, 300000.0), new GroupTotal("APPROVED", 1, 500000.0));
+        });
+
+        // Act
+        statsService.rebuild();
+        // stamped before the rebuild's snapshot and already in its aggregation, e.g. redelivered after the swap
+        statsService.onCreditEvent(CreditEvent.builder().eventType("CREATED").status(CreditStatus.PENDING)
+                .amount(50000.0).timestamp(beforeRebuild).build());
+        statsService.onCreditEvent(CreditEvent.builder().eventType("STATUS_UPDATED").previousStatus("PENDING")
+                .status(CreditStatus.APPROVED).timestamp(LocalDateTime.now()).build());
+
+        // Assert
+        DashboardStats stats = statsService.snapshot("admin-1", Role.ADMIN);
+        assertEquals(4L, stats.totalCredits());
+        assertEquals(2L, stats.creditsByStatus().get(CreditStatus.PENDING));
+        assertEquals(2L, stats.creditsByStatus().get(CreditStatus.APPROVED));
+        assertEquals(900000.0, stats.totalRequestedAmount());
+    }
+
+    @Test
+    @DisplayName("Should scope the snapshot to the caller's role")
+    void snapshot_scopedByRole() {
+        // Act
+        DashboardStats rm = statsService.snapshot("rm-001", Role.RELATIONSHIP_MANAGER);
+        DashboardStats otherRm = statsService.snapshot("rm-002", Role.RELATIONSHIP_MANAGER);
+        DashboardStats analyst = statsService.snapshot("analyst-1", Role.ANALYST);
+
+        // Assert
+        assertEquals(3L, rm.myClients());
+        assertEquals(3L, rm.myCreditRequests());
+        assertNull(rm.totalCredits());
+        assertEquals(0L, otherRm.myClients());
+        assertEquals(3L, analyst.totalCredits());
+        assertNull(analyst.usersByRole());
+        assertNull(analyst.totalUsers());
+    }
+}
@@ -1,12 +1,17 @@
 package org.example.service;
 
+import org.example.exception.InvalidQueryException;
 import org.example.exception.UserNotFoundException;
 import org.example.kafka.events.UserEvent;
 import org.example.kafka.producer.KafkaEventProducer;
 import org.example.model.Role;
 import org.example.model.User;
 import org.example.model.UserAdminList;
+import org.example.model.UserCursor;
+import org.example.model.UserPage;
+import org.example.model.UserQuery;
 import org.example.repository.UserRepository;
+import org.example.security.PrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +20,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +29,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +43,12 @@ class UserServiceTest {
     @Mock
     private KafkaEventProducer kafkaEventProducer;
 
+    @Mock
+    private ListVersions listVersions;
+
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -50,52 +66,96 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("Should get all users")
+    @DisplayName("Should get all users from the projected directory, without a limit")
     void getAllUsers_success() {
         // Arrange
-        User user2 = User.builder()
-                .id("user-002")
-                .username("jane.smith")
-                .email("jane@example.com")
-                .role(Role.ANALYST)
-                .active(true)
-                .build();
-
-        List<User> mockUsers = Arrays.asList(mockUser, user2);
-        when(userRepository.findAll()).thenReturn(mockUsers);
+        List<UserAdminList> mockUsers = Arrays.asList(
+                new UserAdminList("user-002", "jane.smith", "jane@example.com", Role.ANALYST, true),
+                new UserAdminList("user-001", "john.doe", "john@example.com", Role.RELATIONSHIP_MANAGER, true));
+        when(userRepository.findDirectoryPage(any(UserQuery.class), isNull(), eq(0))).thenReturn(mockUsers);
 
         // Act
         List<UserAdminList> result = userService.getAllUsers();
 
         // Assert
         assertEquals(2, result.size());
-        assertEquals("john.doe", result.get(0).username());
-        assertEquals("jane.smith", result.get(1).username());
-        verify(userRepository, times(1)).findAll();
+        assertEquals("jane.smith", result.get(0).username());
+        assertEquals("john.doe", result.get(1).username());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should return a full page with a cursor on the last username")
+    void searchUsers_nextPage() {
+        // Arrange
+        UserQuery query = UserQuery.builder().role(Role.ANALYST).limit(2).build();
+        when(userRepository.findDirectoryPage(eq(query), isNull(), eq(3))).thenReturn(List.of(
+                new UserAdminList("u1", "alice", "alice@example.com", Role.ANALYST, true),
+                new UserAdminList("u2", "bob", "bob@example.com", Role.ANALYST, true),
+                new UserAdminList("u3", "carol", "carol@example.com", Role.ANALYST, false)));
+
+        // Act
+        UserPage page = userService.searchUsers(query);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertEquals("username", query.getSort());
+        assertEquals(new UserCursor("username", "bob"), UserCursor.decode(page.nextCursor(), "username"));
+    }
+
+    @Test
+    @DisplayName("Should seek after the cursor and end the listing on a short page")
+    void searchUsers_lastPage() {
+        // Arrange
+        String cursor = new UserCursor("email", "bob@example.com").encode();
+        UserQuery query = UserQuery.builder().sort("email").cursor(cursor).build();
+        when(userRepository.findDirectoryPage(eq(query), eq(new UserCursor("email", "bob@example.com")), eq(51)))
+                .thenReturn(List.of(new UserAdminList("u3", "carol", "carol@example.com", Role.ANALYST, true)));
+
+        // Act
+        UserPage page = userService.searchUsers(query);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown sort and a cursor issued for another sort")
+    void searchUsers_invalid() {
+        // Arrange
+        UserQuery unknownSort = UserQuery.builder().sort("password").build();
+        UserQuery otherSort = UserQuery.builder().sort("email")
+                .cursor(new UserCursor("username", "bob").encode()).build();
+
+        // Act & Assert
+        assertThrows(InvalidQueryException.class, () -> userService.searchUsers(unknownSort));
+        assertThrows(InvalidQueryException.class, () -> userService.searchUsers(otherSort));
+        verify(userRepository, never()).findDirectoryPage(any(), any(), anyInt());
     }
 
     @Test
-    @DisplayName("Should get current user by email")
+    @DisplayName("Should get current user summary by email")
     void getCurrentUser_success() {
         // Arrange
-        when(userRepository.findUserByEmail("john@example.com"))
-                .thenReturn(Optional.of(mockUser));
+        when(userRepository.findSummaryByEmail("john@example.com")).thenReturn(Optional.of(
+                new UserAdminList("user-001", "john.doe", "john@example.com", Role.RELATIONSHIP_MANAGER, true)));
 
         // Act
-        User result = userService.getCurrentUser("john@example.com");
+        UserAdminList result = userService.getCurrentUser("john@example.com");
 
         // Assert
         assertNotNull(result);
-        assertEquals("john.doe", result.getUsername());
-        assertEquals("john@example.com", result.getEmail());
-        verify(userRepository, times(1)).findUserByEmail("john@example.com");
+        assertEquals("john.doe", result.username());
+        assertEquals("john@example.com", result.email());
+        verify(userRepository, never()).findUserByEmail(any());
     }
 
     @Test
     @DisplayName("Should throw UserNotFoundException when user not found by email")
     void getCurrentUser_notFound() {
         // Arrange
-        when(userRepository.findUserByEmail("nonexistent@example.com"))
+        when(userRepository.findSummaryByEmail("nonexistent@example.com"))
                 .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -131,6 +191,9 @@ class UserServiceTest {
         assertEquals(Role.RELATIONSHIP_MANAGER, capturedEvent.getRole());
         assertEquals("john@example.com", capturedEvent.getEmail());
         assertNotNull(capturedEvent.getTimestamp());
+
+        // Verify the admin user list ETag moves
+        verify(listVersions, times(1)).usersChanged();
     }
 
     @Test
@@ -147,13 +210,34 @@ class UserServiceTest {
         assertEquals("User deactivated successfully", result);
         assertFalse(mockUser.getActive());
 
-        // Verify user was saved
+        // Verify user was saved and the cached principal dropped
         verify(userRepository, times(1)).save(mockUser);
+        verify(principalCache, times(1)).evict("john@example.com");
 
         // Verify Kafka event was published
         verify(kafkaEventProducer, times(1)).publishUserEvent(any(UserEvent.class));
     }
 
+    @Test
+    @DisplayName("Should keep the cached principal until the status change commits")
+    void updateStatus_evictsAfterCommit() {
+        // Arrange
+        when(userRepository.findById("user-001")).thenReturn(Optional.of(mockUser));
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            userService.updateStatus("user-001", false);
+
+            // Assert
+            verify(principalCache, never()).evict(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(principalCache, times(1)).evict("john@example.com");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     @DisplayName("Should throw UserNotFoundException when updating non-existent user")
     void updateStatus_userNotFound() {
@@ -163,6 +247,7 @@ class UserServiceTest {
         // Act & Assert
         assertThrows(UserNotFoundException.class, () -> userService.updateStatus("non-existent", true));
         verify(userRepository, never()).save(any(User.class));
+        verify(principalCache, never()).evict(any());
         verify(kafkaEventProducer, never()).publishUserEvent(any(UserEvent.class));
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import { MatCardModule } from '@angular/material/card';
 import { MatChipsModule } from '@angular/material/chips';
 import { StatCardComponent } from '../../shared/components/stat-card/stat-card.component';
 import { UserService } from '../../core/services/user.service';
+import { StatsService } from '../../core/services/stats.service';
 import { User } from '../../core/models/user.model';
 import { UserStats } from '../../core/models/user-stats.model';
 import { ToastrService } from 'ngx-toastr';
@@ -31,23 +32,42 @@ export class UserTableComponent implements OnInit {
   users: User[] = [];
   userStats: UserStats = { total: 0, admin: 0, rm: 0, analyst: 0 };
   displayedColumns: string[] = ['username', 'role', 'email', 'active', 'actions'];
+  nextCursor: string | null = null;
   loading = false;
+  loadingMore = false;
 
   constructor(
     private userService: UserService,
+    private statsService: StatsService,
     private toastr: ToastrService
   ) {}
 
   ngOnInit(): void {
     this.loadUsers();
+    this.loadStats();
   }
 
+  loadStats(): void {
+    this.statsService.getStats().subscribe({
+      next: (stats) => {
+        const byRole = stats.usersByRole;
+        this.userStats = {
+          total: stats.totalUsers ?? 0,
+          admin: byRole?.ADMIN ?? 0,
+          rm: byRole?.RELATIONSHIP_MANAGER ?? 0,
+          analyst: byRole?.ANALYST ?? 0
+        };
+      }
+    });
+  }
+
+  // first page only; the rest is fetched on demand so large directories stay quick to open
   loadUsers(): void {
     this.loading = true;
-    this.userService.getAllUsers().subscribe({
-      next: (users) => {
-        this.users = users;
-        this.userStats = this.userService.calculateUserStats(users);
+    this.userService.searchUsers().subscribe({
+      next: (page) => {
+        this.users = page.items;
+        this.nextCursor = page.nextCursor;
         this.loading = false;
       },
       error: (err) => {
@@ -58,6 +78,25 @@ export class UserTableComponent implements OnInit {
     });
   }
 
+  loadMore(): void {
+    if (!this.nextCursor) {
+      return;
+    }
+    this.loadingMore = true;
+    this.userService.searchUsers(this.nextCursor).subscribe({
+      next: (page) => {
+        this.users = [...this.users, ...page.items];
+        this.nextCursor = page.nextCursor;
+        this.loadingMore = false;
+      },
+      error: (err) => {
+        console.error('Failed to load users:', err);
+        this.toastr.error('Failed to load users', 'Error');
+        this.loadingMore = false;
+      }
+    });
+  }
+
   toggleUserStatus(user: User): void {
     const newStatus = !user.active;
     
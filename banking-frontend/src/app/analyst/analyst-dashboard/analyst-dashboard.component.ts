@@ -9,10 +9,13 @@ import { MatDialog, MatDialogModule } from '@angular/material/dialog';
 import { MatTooltipModule } from '@angular/material/tooltip';
 import { ToastrService } from 'ngx-toastr';
 import { CreditService, CreditRequestWithClient, CreditStats } from '../../rm/services/credit.service';
+import { StatsService } from '../../core/services/stats.service';
 import { StatCardComponent } from '../../shared/components/stat-card/stat-card.component';
 import { CreditDetailsModalComponent } from '../../shared/components/credit-details-modal/credit-details-modal.component';
 import { UpdateStatusModalComponent } from '../../shared/components/update-status-modal/update-status-modal.component';
 
+const CLAIM_BATCH = 10;
+
 @Component({
   selector: 'app-analyst-dashboard',
   standalone: true,
@@ -32,25 +35,46 @@ import { UpdateStatusModalComponent } from '../../shared/components/update-statu
 export class AnalystDashboardComponent implements OnInit {
   creditRequests: CreditRequestWithClient[] = [];
   stats: CreditStats = { total: 0, approved: 0, pending: 0, rejected: 0 };
-  displayedColumns: string[] = ['clientName', 'rmName', 'requestAmount', 'tenureMonths', 'purpose', 'details', 'status', 'actions'];
+  displayedColumns: string[] = ['clientName', 'rmName', 'requestAmount', 'tenureMonths', 'risk', 'purpose', 'details', 'status', 'actions'];
   loading = false;
+  sortByRisk = false;
+  // credits this analyst holds from the work queue; null while showing every request
+  claimed: CreditRequestWithClient[] | null = null;
+  leaseExpiresAt: string | null = null;
+  private loadedRequests: CreditRequestWithClient[] = [];
 
   constructor(
     private creditService: CreditService,
+    private statsService: StatsService,
     private toastr: ToastrService,
     private dialog: MatDialog
   ) {}
 
   ngOnInit(): void {
     this.loadCreditRequests();
+    this.loadStats();
+  }
+
+  loadStats(): void {
+    this.statsService.getStats().subscribe({
+      next: (stats) => {
+        const byStatus = stats.creditsByStatus;
+        this.stats = {
+          total: stats.totalCredits ?? 0,
+          approved: byStatus?.APPROVED ?? 0,
+          pending: byStatus?.PENDING ?? 0,
+          rejected: byStatus?.REJECTED ?? 0
+        };
+      }
+    });
   }
 
   loadCreditRequests(): void {
     this.loading = true;
     this.creditService.getAllCreditRequests().subscribe({
       next: (requests) => {
-        this.creditRequests = requests;
-        this.stats = this.creditService.calculateCreditStats(requests);
+        this.loadedRequests = requests;
+        this.applyOrder();
         this.loading = false;
       },
       error: (err) => {
@@ -61,6 +85,62 @@ export class AnalystDashboardComponent implements OnInit {
     });
   }
 
+  // riskiest PENDING first, scored by the backend; decided requests keep their order at the end
+  toggleRiskSort(): void {
+    this.sortByRisk = !this.sortByRisk;
+    this.applyOrder();
+  }
+
+  // leases the next batch of PENDING credits (riskiest or oldest first) so no other analyst decides them meanwhile
+  claimNext(): void {
+    this.creditService.claimCredits(CLAIM_BATCH, this.sortByRisk ? 'risk' : 'age').subscribe({
+      next: (claim) => {
+        if (claim.items.length === 0) {
+          this.toastr.info('No unclaimed pending requests left', 'Work queue');
+          return;
+        }
+        this.claimed = claim.items;
+        this.leaseExpiresAt = claim.leaseExpiresAt;
+        this.applyOrder();
+      },
+      error: (err) => {
+        console.error('Failed to claim credit requests:', err);
+        this.toastr.error(err.error?.message || 'Failed to claim credit requests', 'Error');
+      }
+    });
+  }
+
+  showAllRequests(): void {
+    this.claimed = null;
+    this.leaseExpiresAt = null;
+    this.applyOrder();
+  }
+
+  private applyOrder(): void {
+    if (this.claimed) {
+      this.creditRequests = this.claimed;
+      return;
+    }
+    if (!this.sortByRisk) {
+      this.creditRequests = this.loadedRequests;
+      return;
+    }
+    this.creditRequests = [...this.loadedRequests].sort(
+      (a, b) => (b.riskScore ?? -1) - (a.riskScore ?? -1)
+    );
+  }
+
+  getRiskClass(grade?: string): string {
+    switch (grade) {
+      case 'A':
+      case 'B': return 'risk-low';
+      case 'C': return 'risk-medium';
+      case 'D':
+      case 'E': return 'risk-high';
+      default: return '';
+    }
+  }
+
   openDetailsModal(credit: CreditRequestWithClient): void {
     this.dialog.open(CreditDetailsModalComponent, {
       width: '600px',
@@ -76,7 +156,11 @@ export class AnalystDashboardComponent implements OnInit {
 
     dialogRef.afterClosed().subscribe(result => {
       if (result) {
+        if (this.claimed) {
+          this.claimed = this.claimed.filter(c => c.id !== credit.id);
+        }
         this.loadCreditRequests(); // Refresh data
+        this.loadStats();
       }
     });
   }
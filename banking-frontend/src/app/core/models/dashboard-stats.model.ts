@@ -0,0 +1,13 @@
+// src/app/core/models/dashboard-stats.model.ts
+// @desc GET /api/stats; only the sections the caller's role may see are present
+export interface DashboardStats {
+  totalCredits?: number;
+  creditsByStatus?: { PENDING: number; APPROVED: number; REJECTED: number };
+  totalRequestedAmount?: number;
+  totalClients?: number;
+  clientsByIndustry?: Record<string, number>;
+  totalUsers?: number;
+  usersByRole?: { ADMIN: number; RELATIONSHIP_MANAGER: number; ANALYST: number };
+  myClients?: number;
+  myCreditRequests?: number;
+}
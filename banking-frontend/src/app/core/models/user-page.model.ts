@@ -0,0 +1,8 @@
+// src/app/core/models/user-page.model.ts
+import { User } from './user.model';
+
+// @desc one keyset page of the admin user directory; nextCursor is null on the last page
+export interface UserPage {
+  items: User[];
+  nextCursor: string | null;
+}
@@ -0,0 +1,22 @@
+import { Injectable } from '@angular/core';
+import { HttpClient } from '@angular/common/http';
+import { Observable } from 'rxjs';
+
+import { DashboardStats } from '../models/dashboard-stats.model';
+import { environment } from '../../../environments/environment';
+
+@Injectable({
+  providedIn: 'root'
+})
+
+// @desc Dashboard counters maintained by the backend, so no full list has to be fetched to count
+export class StatsService {
+
+  private apiUrl = `${environment.apiUrl}/stats`;
+
+  constructor(private http: HttpClient) {}
+
+  getStats(): Observable<DashboardStats> {
+    return this.http.get<DashboardStats>(this.apiUrl);
+  }
+}
@@ -79,6 +79,21 @@ describe('UserService', () => {
     });
   });
 
+  describe('searchUsers', () => {
+    it('should request a page after the given cursor', () => {
+      service.searchUsers('abc', 20).subscribe(page => {
+        expect(page.items.length).toBe(3);
+        expect(page.nextCursor).toBeNull();
+      });
+
+      const req = httpMock.expectOne(r => r.url === `${service['apiUrl']}/admin/users/search`);
+      expect(req.request.method).toBe('GET');
+      expect(req.request.params.get('cursor')).toBe('abc');
+      expect(req.request.params.get('limit')).toBe('20');
+      req.flush({ items: mockUsers, nextCursor: null });
+    });
+  });
+
   describe('calculateUserStats', () => {
     it('should calculate user statistics correctly', () => {
       const stats = service.calculateUserStats(mockUsers);
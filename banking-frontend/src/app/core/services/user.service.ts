@@ -4,6 +4,7 @@ import { BehaviorSubject, Observable } from 'rxjs';
 import { tap } from 'rxjs/operators';
 
 import { User } from '../models/user.model';
+import { UserPage } from '../models/user-page.model';
 import { UserStats } from '../models/user-stats.model';
 import { Roles } from '../enums/roles';
 import { environment } from '../../../environments/environment';
@@ -34,6 +35,15 @@ export class UserService {
     return this.http.get<User[]>(`${this.apiUrl}/admin/users`);
   }
 
+  // Admin: one page of the user directory, sorted by username; pass nextCursor for the following page
+  searchUsers(cursor?: string | null, limit = 50): Observable<UserPage> {
+    const params: Record<string, string> = { limit: limit.toString() };
+    if (cursor) {
+      params['cursor'] = cursor;
+    }
+    return this.http.get<UserPage>(`${this.apiUrl}/admin/users/search`, { params });
+  }
+
   // User statistics
   calculateUserStats(users: User[]): UserStats {
     return {
@@ -8,7 +8,7 @@ import { MatChipsModule } from '@angular/material/chips';
 import { MatDialogModule } from '@angular/material/dialog';
 import { StatCardComponent } from '../../shared/components/stat-card/stat-card.component';
 import { RmService, Client, ClientStats } from '../services/rm.service';
-import { CreditService } from '../services/credit.service';
+import { StatsService } from '../../core/services/stats.service';
 import { ToastrService } from 'ngx-toastr';
 import { MatDialog } from '@angular/material/dialog';
 import { CreditRequestModalComponent } from '../../shared/components/credit-request-modal/credit-request-modal.component';
@@ -64,7 +64,7 @@ export class RmDashboardComponent {
 
   constructor(
     private rmService: RmService,
-    private creditService: CreditService,
+    private statsService: StatsService,
     private toastr: ToastrService,
     private dialog: MatDialog
   ) {}
@@ -92,17 +92,11 @@ export class RmDashboardComponent {
   }
 
   loadStats(): void {
-    // Clients count
-    this.rmService.getAllClients().subscribe({
-      next: (clients) => {
-        this.stats.totalClients = clients.length;
-      }
-    });
-
-    // Credit requests count
-    this.creditService.getAllCreditRequests().subscribe({
-      next: (credits) => {
-        this.stats.totalCreditRequests = credits.length;
+    // Own clients + credit requests, counted server-side
+    this.statsService.getStats().subscribe({
+      next: (stats) => {
+        this.stats.totalClients = stats.myClients ?? 0;
+        this.stats.totalCreditRequests = stats.myCreditRequests ?? 0;
       }
     });
   }
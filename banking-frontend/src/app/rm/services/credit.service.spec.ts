@@ -154,6 +154,32 @@ describe('CreditService', () => {
     });
   });
 
+  describe('claimCredits', () => {
+    it('should claim credits with count and priority as query params', () => {
+      const claim = { items: [mockCreditRequests[0]], leaseExpiresAt: '2026-10-18T10:15:00Z' };
+
+      service.claimCredits(10, 'risk').subscribe(response => {
+        expect(response).toEqual(claim);
+      });
+
+      const req = httpMock.expectOne(r => r.url === `${service['apiUrl']}/claims`);
+      expect(req.request.method).toBe('POST');
+      expect(req.request.params.get('count')).toBe('10');
+      expect(req.request.params.get('priority')).toBe('risk');
+      req.flush(claim);
+    });
+
+    it('should release a claim', () => {
+      service.releaseClaim('1').subscribe(response => {
+        expect(response).toBe('Released credit claim successfully');
+      });
+
+      const req = httpMock.expectOne(`${service['apiUrl']}/1/claim`);
+      expect(req.request.method).toBe('DELETE');
+      req.flush('Released credit claim successfully');
+    });
+  });
+
   describe('calculateCreditStats', () => {
     it('should calculate credit statistics correctly', () => {
       const stats = service.calculateCreditStats(mockCreditRequests);
@@ -20,6 +20,8 @@ export interface CreditRequestWithClient extends CreditRequest {
   industry?: string;
   rmName?: string;
   rmEmail?: string;
+  riskScore?: number;  // PENDING only, 0-100, higher is riskier
+  riskGrade?: 'A' | 'B' | 'C' | 'D' | 'E';
 }
 
 export interface CreditDecision {
@@ -27,6 +29,14 @@ export interface CreditDecision {
   remarks: string;
 }
 
+// credits leased to the calling analyst; nobody else can decide them before leaseExpiresAt
+export interface CreditClaim {
+  items: CreditRequestWithClient[];
+  leaseExpiresAt: string | null;
+}
+
+export type ClaimPriority = 'age' | 'amount' | 'risk';
+
 export interface CreateCreditRequest {
   clientId: string;
   requestAmount: number;
@@ -80,6 +90,18 @@ export class CreditService {
     );
   }
 
+  // Analyst only: lease up to `count` PENDING credits from the work queue
+  claimCredits(count: number, priority: ClaimPriority): Observable<CreditClaim> {
+    return this.http.post<CreditClaim>(`${this.apiUrl}/claims`, null, {
+      params: { count, priority }
+    });
+  }
+
+  // Analyst only: hand a claimed credit back before its lease runs out
+  releaseClaim(creditId: string): Observable<string> {
+    return this.http.delete(`${this.apiUrl}/${creditId}/claim`, { responseType: 'text' });
+  }
+
   calculateCreditStats(credits: CreditRequestWithClient[]): CreditStats {
     return {
       total: credits.length,
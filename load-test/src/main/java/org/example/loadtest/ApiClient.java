@@ -0,0 +1,96 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+// @desc thin JSON-over-HTTP wrapper around the JDK client. Requests are sent asynchronously, so the number
+// of requests in flight is not limited by a thread pool on this side. Reactive endpoints are served on their own
+// port (reactiveBaseUrl).
+public class ApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI baseUrl;
+    private final URI reactiveBaseUrl;
+    private final Duration timeout;
+
+    public ApiClient(URI baseUrl, URI reactiveBaseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.reactiveBaseUrl = reactiveBaseUrl;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public HttpRequest get(String path, String token) {
+        return builder(baseUrl, path, token).GET().build();
+    }
+
+    public HttpRequest get(String path, String token, String accept) {
+        return builder(baseUrl, path, token).header("Accept", accept).GET().build();
+    }
+
+    public HttpRequest getReactive(String path, String token, String accept) {
+        return builder(reactiveBaseUrl, path, token).header("Accept", accept).GET().build();
+    }
+
+    public HttpRequest post(String path, String token, Object body) {
+        return builder(baseUrl, path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+                .build();
+    }
+
+    public CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    // @desc setup only (login, seeding); the measured traffic always goes through send()
+    public HttpResponse<String> sendAndWait(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Request to " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during " + request.uri(), e);
+        }
+    }
+
+    public JsonNode parse(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response is not JSON: " + body, e);
+        }
+    }
+
+    public String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    // @func helper method
+    private HttpRequest.Builder builder(URI base, String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+// @desc logged-in sessions per role. Setup logs in as the seeded admin (DataIntializer), registers the load-test
+// RMs and analysts (already existing ones are reused), logs them in and makes sure every RM owns a client.
+public final class Fixtures {
+
+    static final String PASSWORD = "LoadTest#2024";
+    static final List<String> INDUSTRIES = List.of("Technology", "Retail", "Manufacturing", "Energy", "Healthcare");
+
+    // @desc clientIds are the RM's clients at setup time; credit requests are submitted against them
+    public record Session(String role, String token, List<String> clientIds) {
+    }
+
+    private final Session admin;
+    private final List<Session> rms;
+    private final List<Session> analysts;
+
+    Fixtures(Session admin, List<Session> rms, List<Session> analysts) {
+        this.admin = admin;
+        this.rms = rms;
+        this.analysts = analysts;
+    }
+
+    public static Fixtures create(ApiClient api, LoadConfig config) {
+        Session admin = new Session("ADMIN", login(api, config.adminEmail(), config.adminPassword()), List.of());
+
+        List<Session> rms = new ArrayList<>();
+        for (int i = 1; i <= config.rms(); i++) {
+            String email = register(api, admin.token(), "loadtest_rm_" + i, "RELATIONSHIP_MANAGER");
+            String token = login(api, email, PASSWORD);
+            rms.add(new Session("RELATIONSHIP_MANAGER", token, ensureClient(api, token, i)));
+        }
+
+        List<Session> analysts = new ArrayList<>();
+        for (int i = 1; i <= config.analysts(); i++) {
+            String email = register(api, admin.token(), "loadtest_analyst_" + i, "ANALYST");
+            analysts.add(new Session("ANALYST", login(api, email, PASSWORD), List.of()));
+        }
+        return new Fixtures(admin, rms, analysts);
+    }
+
+    public Session admin() {
+        return admin;
+    }
+
+    public Session anyRm(RandomGenerator random) {
+        return rms.get(random.nextInt(rms.size()));
+    }
+
+    public Session anyAnalyst(RandomGenerator random) {
+        return analysts.get(random.nextInt(analysts.size()));
+    }
+
+    static String login(ApiClient api, String email, String password) {
+        HttpResponse<String> response = api.sendAndWait(api.post("/api/auth/login", null,
+                Map.of("email", email, "password", password)));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode()
+                    + " " + response.body());
+        }
+        return api.parse(response.body()).get("token").asText();
+    }
+
+    // @desc 409 (email already exists) means an earlier run created the user; its password is the same
+    private static String register(ApiClient api, String adminToken, String username, String role) {
+        String email = username.replace('_', '.') + "@loadtest.example.com";
+        HttpResponse<String> response = api.sendAndWait(api.post("/api/auth/register", adminToken,
+                Map.of("username", username, "email", email, "password", PASSWORD, "role", role)));
+        if (response.statusCode() != 201 && response.statusCode() != 409) {
+            throw new IllegalStateException("Register failed for " + email + ": " + response.statusCode()
+                    + " " + response.body());
+        }
+        return email;
+    }
+
+    // @func helper method
+    private static List<String> ensureClient(ApiClient api, String token, int rm) {
+        List<String> ids = clientIds(api, token);
+        if (ids.isEmpty()) {
+            api.sendAndWait(api.post("/api/rm/clients/", token, newClient("Seed Co " + rm, INDUSTRIES.get(0))));
+            ids = clientIds(api, token);
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Could not create a seed client for load-test RM " + rm);
+        }
+        return ids;
+    }
+
+    // @func helper method
+    private static List<String> clientIds(ApiClient api, String token) {
+        HttpResponse<String> response = api.sendAndWait(api.get("/api/rm/clients/", token));
+        List<String> ids = new ArrayList<>();
+        for (JsonNode client : api.parse(response.body())) {
+            ids.add(client.get("id").asText());
+        }
+        return List.copyOf(ids);
+    }
+
+    static Map<String, Object> newClient(String companyName, String industry) {
+        return Map.of(
+                "companyName", companyName,
+                "industry", industry,
+                "address", "1 Load Test Road",
+                "primaryContact", Map.of("name", "Load Tester", "email", "contact@loadtest.example.com",
+                        "phone", "9876543210"),
+                "annualTurnover", 2_500_000.0,
+                "documentsSubmitted", true);
+    }
+}
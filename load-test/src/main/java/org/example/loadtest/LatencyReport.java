@@ -0,0 +1,121 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// @desc per-operation results of the measured window. responseTime runs from the scheduled start of a request
+// (what a user waiting on it sees, queueing on this side included); serviceTime from the moment it was sent.
+// queued counts arrivals that found the in-flight cap reached and waited for a slot before being sent.
+public final class LatencyReport {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    static final class Stats {
+        final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder queued = new LongAdder();
+    }
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final Duration window;
+
+    public LatencyReport(Operation[] operations, Duration window) {
+        for (Operation operation : operations) {
+            stats.put(operation, new Stats());
+        }
+        this.window = window;
+    }
+
+    public void record(Operation operation, long responseNanos, long serviceNanos, boolean success) {
+        Stats s = stats.get(operation);
+        s.responseTime.recordValue(clamp(responseNanos));
+        s.serviceTime.recordValue(clamp(serviceNanos));
+        if (!success) {
+            s.errors.increment();
+        }
+    }
+
+    // @desc the in-flight cap was hit; the request waits for a slot, and its response time includes that wait
+    public void queued(Operation operation) {
+        stats.get(operation).queued.increment();
+    }
+
+    // @desc still waiting for a slot when the run ended: an error whose response time is at least the wait so far
+    public void unanswered(Operation operation, long waitedNanos) {
+        Stats s = stats.get(operation);
+        s.responseTime.recordValue(clamp(waitedNanos));
+        s.errors.increment();
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nMeasured window: %ds, latencies in ms from the scheduled start (service time p99 in brackets)%n",
+                window.toSeconds());
+        out.printf("%-20s %8s %8s %7s %7s %9s %9s %9s %9s %11s%n",
+                "operation", "count", "req/s", "errors", "queued", "p50", "p95", "p99", "max", "[svc p99]");
+        stats.forEach((operation, s) -> {
+            Histogram h = s.responseTime;
+            out.printf("%-20s %8d %8.1f %7d %7d %9.1f %9.1f %9.1f %9.1f %11.1f%n",
+                    operation.name(), h.getTotalCount(), throughput(h), s.errors.sum(), s.queued.sum(),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(95)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getMaxValue()),
+                    millis(s.serviceTime.getValueAtPercentile(99)));
+        });
+    }
+
+    public void writeJson(Path path) throws IOException {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        stats.forEach((operation, s) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("role", operation.role());
+            entry.put("count", s.responseTime.getTotalCount());
+            entry.put("throughputPerSecond", throughput(s.responseTime));
+            entry.put("errors", s.errors.sum());
+            entry.put("queued", s.queued.sum());
+            entry.put("responseTimeMs", percentiles(s.responseTime));
+            entry.put("serviceTimeMs", percentiles(s.serviceTime));
+            operations.put(operation.name(), entry);
+        });
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("windowSeconds", window.toSeconds());
+        root.put("operations", operations);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), root);
+    }
+
+    // @func helper method
+    private Map<String, Double> percentiles(Histogram h) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("p50", millis(h.getValueAtPercentile(50)));
+        values.put("p95", millis(h.getValueAtPercentile(95)));
+        values.put("p99", millis(h.getValueAtPercentile(99)));
+        values.put("max", millis(h.getMaxValue()));
+        return values;
+    }
+
+    // @func helper method
+    private double throughput(Histogram h) {
+        return h.getTotalCount() / (window.toMillis() / 1000.0);
+    }
+
+    // @func helper method
+    private static long clamp(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    // @func helper method
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
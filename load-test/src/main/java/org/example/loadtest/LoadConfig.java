@@ -0,0 +1,73 @@
+package org.example.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// @desc command line options, all in --name=value form; every option has a default
+public record LoadConfig(URI baseUrl,
+                         URI reactiveBaseUrl,
+                         double ratePerSecond,
+                         Duration warmup,
+                         Duration duration,
+                         WorkloadMix mix,
+                         int rms,
+                         int analysts,
+                         String adminEmail,
+                         String adminPassword,
+                         int maxInFlight,
+                         Duration requestTimeout,
+                         String out) {
+
+    static final String DEFAULT_MIX =
+            "CREATE_CLIENT=10,SEARCH_CLIENTS=20,SUBMIT_CREDIT=15,LIST_CREDITS=30,DECIDE_CREDITS=10,LIST_USERS=15";
+
+    public static LoadConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadConfig config = new LoadConfig(
+                URI.create(options.getOrDefault("base-url", "http://localhost:8888")),
+                URI.create(options.getOrDefault("reactive-base-url", "http://localhost:8889")),
+                Double.parseDouble(options.getOrDefault("rate", "50")),
+                parseDuration(options.getOrDefault("warmup", "10s")),
+                parseDuration(options.getOrDefault("duration", "60s")),
+                WorkloadMix.parse(options.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(options.getOrDefault("rms", "5")),
+                Integer.parseInt(options.getOrDefault("analysts", "2")),
+                options.getOrDefault("admin-email", "adminOne@gmail.com"),
+                options.getOrDefault("admin-password", "admin123"),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "5000")),
+                parseDuration(options.getOrDefault("timeout", "30s")),
+                options.get("out"));
+
+        if (config.ratePerSecond() <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (config.rms() < 1 || config.analysts() < 1) {
+            throw new IllegalArgumentException("--rms and --analysts must be at least 1");
+        }
+        return config;
+    }
+
+    // @desc "90s", "2m", "500ms" or plain seconds
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.loadtest;
+
+import java.nio.file.Path;
+
+// @desc entry point: seed users, run the open-loop schedule, print (and optionally write) the report
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        ApiClient api = new ApiClient(config.baseUrl(), config.reactiveBaseUrl(), config.requestTimeout());
+
+        System.out.printf("Seeding %d RMs and %d analysts against %s%n",
+                config.rms(), config.analysts(), config.baseUrl());
+        Fixtures fixtures = Fixtures.create(api, config);
+
+        System.out.printf("Running %.1f req/s: %ds warmup + %ds measured%n",
+                config.ratePerSecond(), config.warmup().toSeconds(), config.duration().toSeconds());
+        LatencyReport report = new OpenLoopRunner(api, fixtures, config).run();
+
+        report.print(System.out);
+        if (config.out() != null) {
+            report.writeJson(Path.of(config.out()));
+            System.out.println("Wrote " + config.out());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.loadtest;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// @desc open-loop (fixed arrival rate) driver. Request i is due at start + i / rate whether or not earlier ones
+// have answered, and its latency is taken from that due time, not from when it was actually sent. A closed loop
+// (or timing from the send) stops issuing work while the server stalls and so never samples the stall: the
+// coordinated omission that makes tail percentiles look far better than what users see. For the same reason an
+// arrival that finds maxInFlight requests outstanding is not skipped: it waits in a FIFO queue for a free slot, and
+// that wait is part of its response time.
+public final class OpenLoopRunner {
+
+    // @desc one scheduled request; random is its own split, since it may be sent from an HTTP client thread
+    private record Arrival(Operation operation, long due, boolean measured, SplittableRandom random) {
+    }
+
+    private final ApiClient api;
+    private final Fixtures fixtures;
+    private final LoadConfig config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Arrival> waiting = new ConcurrentLinkedQueue<>();
+
+    public OpenLoopRunner(ApiClient api, Fixtures fixtures, LoadConfig config) {
+        this.api = api;
+        this.fixtures = fixtures;
+        this.config = config;
+    }
+
+    // @desc requests due in the warmup are sent but not recorded
+    public LatencyReport run() {
+        LatencyReport report = new LatencyReport(config.mix().operations(), config.duration());
+        SplittableRandom random = new SplittableRandom();
+        long intervalNanos = (long) (1_000_000_000L / config.ratePerSecond());
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due - end >= 0) {
+                break;
+            }
+            sleepUntil(due);
+            Arrival arrival = new Arrival(config.mix().next(random), due, due - measureFrom >= 0, random.split());
+            if (arrival.measured() && inFlight.get() >= config.maxInFlight()) {
+                report.queued(arrival.operation());
+            }
+            waiting.add(arrival);
+            dispatch(report);
+        }
+
+        awaitInFlight(report, config.requestTimeout().plusSeconds(5));
+        return report;
+    }
+
+    static boolean isSuccess(int status) {
+        return (status >= 200 && status < 300) || status == 304;
+    }
+
+    // @desc sends waiting arrivals, oldest first, while there is a free slot; called on every arrival and completion
+    private void dispatch(LatencyReport report) {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= config.maxInFlight()) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Arrival arrival = waiting.poll();
+            if (arrival == null) {
+                inFlight.decrementAndGet(); // another thread took it; look again, one may have been added meanwhile
+                continue;
+            }
+            send(arrival, report);
+        }
+    }
+
+    // @func helper method
+    private void send(Arrival arrival, LatencyReport report) {
+        long sent = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> response;
+        try {
+            response = arrival.operation().start(api, fixtures, arrival.random());
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((res, error) -> {
+            long done = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (arrival.measured()) {
+                report.record(arrival.operation(), done - arrival.due(), done - sent,
+                        error == null && isSuccess(res.statusCode()));
+            }
+            dispatch(report);
+        });
+    }
+
+    // @func helper method, parks in short steps so a late wake-up is not rounded up to a whole interval
+    private static void sleepUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(remaining, 1_000_000L));
+        }
+    }
+
+    // @desc arrivals still waiting for a slot at the deadline never got an answer; they are recorded as errors with
+    // the time they had waited so far, so a backlog cannot drop out of the percentiles
+    private void awaitInFlight(LatencyReport report, Duration limit) {
+        long deadline = System.nanoTime() + limit.toNanos();
+        while ((inFlight.get() > 0 || !waiting.isEmpty()) && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(10_000_000L);
+        }
+        int unsent = 0;
+        Arrival arrival;
+        while ((arrival = waiting.poll()) != null) {
+            unsent++;
+            if (arrival.measured()) {
+                report.unanswered(arrival.operation(), System.nanoTime() - arrival.due());
+            }
+        }
+        if (inFlight.get() > 0 || unsent > 0) {
+            System.err.println(inFlight.get() + " requests still in flight and " + unsent
+                    + " never sent after " + limit.toSeconds() + "s");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
+
+// @desc one user action each. The future completes with the last response of the action; DECIDE_CREDITS is an
+// analyst claiming a batch from the work queue and deciding it, so its latency covers both calls.
+public enum Operation {
+
+    CREATE_CLIENT("RELATIONSHIP_MANAGER") {
+        @Override
+        CompletableFuture<HttpResponse<String>> start(ApiClient api, Fixtures fixtures, RandomGenerator random) {
+            String industry = Fixtures.INDUSTRIES.get(random.nextInt(Fixtures.INDUSTRIES.size()));
+            String companyName = "Load Test Co " + Long.toHexString(random.nextLong());
+            return api.send(api.post("/api/rm/clients/", fixtures.anyRm(random).token(),
+                    Fixtures.newClient(companyName, industry)));
+        }
+    },
+
+    SEARCH_CLIENTS("RELATIONSHIP_MANAGER") {
+        @Override
+        CompletableFuture<HttpResponse<String>> start(ApiClient api, Fixtures fixtures, RandomGenerator random) {
+            String industry = Fixtures.INDUSTRIES.get(random.nextInt(Fixtures.INDUSTRIES.size()));
+            return api.send(api.get("/api/rm/clients/search?industry=" + industry, fixtures.anyRm(random).token()));
+        }
+    },
+
+    SUBMIT_CREDIT("RELATIONSHIP_MANAGER") {
+        @Override
+        CompletableFuture<HttpResponse<String>> start(ApiClient api, Fixtures fixtures, RandomGenerator random) {
+            Fixtures.Session rm = fixtures.anyRm(random);
+            String clientId = rm.clientIds().get(random.nextInt(rm.clientIds().size()));
+            return api.send(api.post("/api/credit-requests/", rm.token(), Map.of(
+                    "clientId", clientId,
+                    "requestAmount", 100_000.0 + random.nextInt(900_000),
+                    "tenureMonths", 12 * (1 + random.nextInt(5)),
+                    "purpose", "Working capital")));
+        }
+    },
+
+    LIST_CREDITS("ANALYST") {
+        @Override
+        CompletableFuture<HttpResponse<String>> start(ApiClient api, Fixtures fixtures, RandomGenerator random) {
+            return api.send(api.get("/api/credit-requests/", fixtures.anyAnalyst(random).token()));
+        }
+    },
+
+    // @desc same listing as LIST_CREDITS from the reactive server (--reactive-base-url), as one JSON array like
+    // LIST_CREDITS so the two differ only in the server model (NDJSON flushes every item, see the README)
+    LIST_CREDITS_REACTIVE("ANALYST") {
+        @Override
+        CompletableFuture<HttpResponse<String>> start(ApiClient api, Fixtures fixtures, RandomGenerator random) {
+            return api.send(api.getReactive("/api/credit-requests/reactive/", fixtures.anyAnalyst(random).token(),
+                    "application/json"));
+        }
+    },
+
+    DECIDE_CREDITS("ANALYST") {
+        @Override
+        CompletableFuture<HttpResponse<String>> start(ApiClient api, Fixtures fixtures, RandomGenerator random) {
+            String token = fixtures.anyAnalyst(random).token();
+            boolean approve = random.nextBoolean();
+            return api.send(api.post("/api/credit-requests/claims?priority=age&count=" + DECISION_BATCH, token, Map.of()))
+                    .thenCompose(queue -> {
+                        if (queue.statusCode() != 200) {
+                            return CompletableFuture.completedFuture(queue);
+                        }
+                        List<Map<String, String>> decisions = new ArrayList<>();
+                        for (JsonNode credit : api.parse(queue.body()).path("items")) {
+                            decisions.add(Map.of(
+                                    "id", credit.get("id").asText(),
+                                    "status", approve ? "APPROVED" : "REJECTED",
+                                    "remarks", "Load test decision"));
+                        }
+                        if (decisions.isEmpty()) {
+                            return CompletableFuture.completedFuture(queue); // nothing left to claim, the claim was the work
+                        }
+                        return api.send(api.post("/api/credit-requests/decisions", token,
+                                Map.of("decisions", decisions)));
+                    });
+        }
+    },
+
+    LIST_USERS("ADMIN") {
+        @Override
+        CompletableFuture<HttpResponse<String>> start(ApiClient api, Fixtures fixtures, RandomGenerator random) {
+            return api.send(api.get("/api/admin/users/search?limit=50", fixtures.admin().token()));
+        }
+    };
+
+    static final int DECISION_BATCH = 20;
+
+    private final String role;
+
+    Operation(String role) {
+        this.role = role;
+    }
+
+    public String role() {
+        return role;
+    }
+
+    abstract CompletableFuture<HttpResponse<String>> start(ApiClient api, Fixtures fixtures, RandomGenerator random);
+
+    public static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.name().equals(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + name);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLoopRunnerTest {
+
+    private HttpServer server;
+
+    // @desc a backend that takes 100 ms per request
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "[]".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Arrivals over the in-flight cap wait for a slot and are timed from their due time, not dropped")
+    void run_queuesOverCapArrivals(@TempDir Path dir) throws IOException {
+        // Arrange
+        // 20 arrivals in 1s, sent one at a time against 100 ms each, so the last ones wait about a second
+        URI baseUrl = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        LoadConfig config = new LoadConfig(baseUrl, baseUrl, 20, Duration.ZERO, Duration.ofSeconds(1),
+                WorkloadMix.parse("LIST_USERS=1"), 1, 1, "admin", "admin", 1, Duration.ofSeconds(30), null);
+        Fixtures.Session admin = new Fixtures.Session("ADMIN", "token", List.of());
+        ApiClient api = new ApiClient(baseUrl, baseUrl, config.requestTimeout());
+
+        // Act
+        LatencyReport report = new OpenLoopRunner(api, new Fixtures(admin, List.of(), List.of()), config).run();
+        Path json = dir.resolve("report.json");
+        report.writeJson(json);
+
+        // Assert
+        JsonNode listUsers = new ObjectMapper().readTree(json.toFile()).path("operations").path("LIST_USERS");
+        assertEquals(20, listUsers.path("count").asLong());
+        assertEquals(0, listUsers.path("errors").asLong());
+        assertTrue(listUsers.path("queued").asLong() > 0);
+        assertTrue(listUsers.path("responseTimeMs").path("max").asDouble() > 500);
+        assertTrue(listUsers.path("serviceTimeMs").path("p99").asDouble() < 500);
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadMixTest {
+
+    @Test
+    @DisplayName("Operations are picked in proportion to their weights")
+    void next_followsWeights() {
+        // Arrange
+        WorkloadMix mix = WorkloadMix.parse("LIST_CREDITS=3, CREATE_CLIENT=1, LIST_USERS=0");
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        // Act
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(2, counts.size());
+        assertEquals(30_000, counts.get(Operation.LIST_CREDITS), 600);
+        assertEquals(10_000, counts.get(Operation.CREATE_CLIENT), 600);
+        assertArrayEquals(new Operation[]{Operation.CREATE_CLIENT, Operation.LIST_CREDITS}, mix.operations());
+    }
+
+    @Test
+    @DisplayName("Unknown operations and empty mixes are rejected")
+    void parse_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("deleteEverything=1"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("LIST_USERS=0"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("LIST_USERS"));
+    }
+
+    @Test
+    @DisplayName("Options fall back to defaults and durations accept ms, s and m")
+    void loadConfig_parse() {
+        // Act
+        LoadConfig config = LoadConfig.parse(new String[]{"--rate=200", "--duration=2m", "--warmup=500ms"});
+
+        // Assert
+        assertEquals(200, config.ratePerSecond());
+        assertEquals(Duration.ofMinutes(2), config.duration());
+        assertEquals(Duration.ofMillis(500), config.warmup());
+        assertEquals("http://localhost:8888", config.baseUrl().toString());
+        assertEquals("http://localhost:8889", config.reactiveBaseUrl().toString());
+        assertEquals(6, config.mix().operations().length);
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[]{"--rate=0"}));
+    }
+}